@@ -210,6 +210,16 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private int ecReconstructStripeWritePoolLimit = 10 * 3;
 
+  @Config(key = "ozone.client.ec.stripe.parallel.read.enabled",
+      defaultValue = "false",
+      description = "When enabled, a read covering a whole EC stripe reads" +
+          " the data cells of the stripe from the datanodes in parallel," +
+          " using the stripe read pool (see" +
+          " ozone.client.ec.reconstruct.stripe.read.pool.limit)." +
+          " Otherwise, the cells are read one after another.",
+      tags = ConfigTag.CLIENT)
+  private boolean ecStripeParallelReadEnabled = false;
+
   @Config(key = "ozone.client.checksum.combine.mode",
       defaultValue = "COMPOSITE_CRC",
       description = "The combined checksum type [MD5MD5CRC / COMPOSITE_CRC] "
@@ -488,6 +498,14 @@ public int getEcReconstructStripeWritePoolLimit() {
     return ecReconstructStripeWritePoolLimit;
   }
 
+  public boolean isEcStripeParallelReadEnabled() {
+    return ecStripeParallelReadEnabled;
+  }
+
+  public void setEcStripeParallelReadEnabled(boolean enabled) {
+    this.ecStripeParallelReadEnabled = enabled;
+  }
+
   public void setFsDefaultBucketLayout(String bucketLayout) {
     if (!bucketLayout.isEmpty()) {
       this.fsDefaultBucketLayout = bucketLayout;
@@ -54,6 +54,14 @@
  * accessing same container frequently will be through the same connection
  * without reestablishing connection. But the connection will be closed if
  * not being used for a period of time.
+ * <p>
+ * Up to {@link ScmClientConfig#getConnectionsPerPipeline()} clients are cached
+ * for each pipeline.  The first idle client is acquired, so that the clients
+ * opened during a burst are not accessed afterwards and expire once idle.
+ * When all of them are in use, another client is created if the pool is not full,
+ * otherwise the client in use by the least number of callers is acquired.
+ * Acquiring and releasing clients do not lock:
+ * a client evicted concurrently is not acquired (see {@link XceiverClientSpi#tryIncrementReference()}).
  */
 public class XceiverClientManager extends XceiverClientCreator {
   private static final Logger LOG =
@@ -61,6 +69,7 @@ public class XceiverClientManager extends XceiverClientCreator {
 
   private final Cache<String, XceiverClientSpi> clientCache;
   private final CacheMetrics cacheMetrics;
+  private final int connectionsPerPipeline;
 
   private static XceiverClientMetrics metrics;
 
@@ -82,6 +91,7 @@ public XceiverClientManager(ConfigurationSource conf,
     Preconditions.checkNotNull(clientConf);
     Preconditions.checkNotNull(conf);
     long staleThresholdMs = clientConf.getStaleThreshold(MILLISECONDS);
+    this.connectionsPerPipeline = Math.max(1, clientConf.getConnectionsPerPipeline());
 
     this.clientCache = CacheBuilder.newBuilder()
         .recordStats()
@@ -93,11 +103,10 @@ public XceiverClientManager(ConfigurationSource conf,
             public void onRemoval(
                 RemovalNotification<String, XceiverClientSpi>
                   removalNotification) {
-              synchronized (clientCache) {
-                // Mark the entry as evicted
-                XceiverClientSpi info = removalNotification.getValue();
-                info.setEvicted();
-              }
+              // Mark the entry as evicted
+              XceiverClientSpi info = removalNotification.getValue();
+              info.setEvicted();
+              getXceiverClientMetrics().incClientsEvicted();
             }
           }).build();
 
@@ -123,10 +132,13 @@ public XceiverClientSpi acquireClient(Pipeline pipeline,
     Preconditions.checkArgument(!pipeline.getNodes().isEmpty(),
         NO_REPLICA_FOUND);
 
-    synchronized (clientCache) {
-      XceiverClientSpi info = getClient(pipeline, topologyAware);
-      info.incrementReference();
-      return info;
+    final String key = getPipelineCacheKey(pipeline, topologyAware);
+    for (;;) {
+      final XceiverClientSpi info = getLeastUsedClient(pipeline, key);
+      if (info.tryIncrementReference()) {
+        return info;
+      }
+      // The client has just been evicted, get another one.
     }
   }
 
@@ -134,14 +146,13 @@ public XceiverClientSpi acquireClient(Pipeline pipeline,
   public void releaseClient(XceiverClientSpi client, boolean invalidateClient,
       boolean topologyAware) {
     Preconditions.checkNotNull(client);
-    synchronized (clientCache) {
-      client.decrementReference();
-      if (invalidateClient) {
-        Pipeline pipeline = client.getPipeline();
-        String key = getPipelineCacheKey(pipeline, topologyAware);
-        XceiverClientSpi cachedClient = clientCache.getIfPresent(key);
-        if (cachedClient == client) {
-          clientCache.invalidate(key);
+    client.decrementReference();
+    if (invalidateClient) {
+      Pipeline pipeline = client.getPipeline();
+      String key = getPipelineCacheKey(pipeline, topologyAware);
+      for (int i = 0; i < connectionsPerPipeline; i++) {
+        if (clientCache.asMap().remove(getPoolKey(key, i), client)) {
+          break;
         }
       }
     }
@@ -149,17 +160,66 @@ public void releaseClient(XceiverClientSpi client, boolean invalidateClient,
 
   protected XceiverClientSpi getClient(Pipeline pipeline, boolean topologyAware)
       throws IOException {
+    // create different client different pipeline node based on
+    // network topology
+    return getClient(pipeline, getPipelineCacheKey(pipeline, topologyAware));
+  }
+
+  private XceiverClientSpi getClient(Pipeline pipeline, String key)
+      throws IOException {
     try {
-      // create different client different pipeline node based on
-      // network topology
-      String key = getPipelineCacheKey(pipeline, topologyAware);
-      return clientCache.get(key, () -> newClient(pipeline));
+      return clientCache.get(key, () -> {
+        getXceiverClientMetrics().incClientsCreated();
+        return newClient(pipeline);
+      });
     } catch (Exception e) {
       throw new IOException(
           "Exception getting XceiverClient: " + e, e);
     }
   }
 
+  /**
+   * @return the first idle pooled client of the pipeline.
+   *         If all the pooled clients are in use, create a new client if the pool is not full,
+   *         otherwise return the client used by the least number of callers.
+   *         The clients after the first idle client are not accessed,
+   *         so that they expire after {@link ScmClientConfig#getStaleThreshold(TimeUnit)}.
+   */
+  private XceiverClientSpi getLeastUsedClient(Pipeline pipeline, String key)
+      throws IOException {
+    if (connectionsPerPipeline == 1) {
+      return getClient(pipeline, key);
+    }
+
+    XceiverClientSpi leastUsed = null;
+    int unused = -1;
+    for (int i = 0; i < connectionsPerPipeline; i++) {
+      final XceiverClientSpi client = clientCache.getIfPresent(getPoolKey(key, i));
+      if (client == null) {
+        if (unused < 0) {
+          unused = i;
+        }
+      } else if (client.getRefcount() == 0) {
+        return client;
+      } else if (leastUsed == null || client.getRefcount() < leastUsed.getRefcount()) {
+        leastUsed = client;
+      }
+    }
+
+    if (unused < 0) {
+      return leastUsed;
+    }
+    if (leastUsed != null) {
+      getXceiverClientMetrics().incClientsCreatedForBusyPool();
+    }
+    return getClient(pipeline, getPoolKey(key, unused));
+  }
+
+  /** The first client of a pipeline uses the pipeline key, so the key is the same as without pooling. */
+  private static String getPoolKey(String pipelineKey, int index) {
+    return index == 0 ? pipelineKey : pipelineKey + "#" + index;
+  }
+
   private String getPipelineCacheKey(Pipeline pipeline,
                                      boolean topologyAware) {
     String key = pipeline.getId().getId().toString() + pipeline.getType();
@@ -271,6 +331,19 @@ public static class ScmClientConfig {
     )
     private long staleThreshold;
 
+    @Config(key = "connections.per.pipeline",
+        defaultValue = "1",
+        tags = {OZONE, PERFORMANCE},
+        description =
+            "The maximum number of connections cached for each pipeline (or"
+                + " for each datanode of a pipeline for topology aware reads"
+                + " and EC). Another connection is opened only when all the"
+                + " connections of the pipeline are in use, so that many"
+                + " threads reading from the same datanodes do not share a"
+                + " single connection and its flow-control window."
+    )
+    private int connectionsPerPipeline = 1;
+
     public long getStaleThreshold(TimeUnit unit) {
       return unit.convert(staleThreshold, MILLISECONDS);
     }
@@ -288,6 +361,14 @@ public void setStaleThreshold(long threshold) {
       this.staleThreshold = threshold;
     }
 
+    public int getConnectionsPerPipeline() {
+      return connectionsPerPipeline;
+    }
+
+    public void setConnectionsPerPipeline(int connectionsPerPipeline) {
+      this.connectionsPerPipeline = connectionsPerPipeline;
+    }
+
   }
 
   /**
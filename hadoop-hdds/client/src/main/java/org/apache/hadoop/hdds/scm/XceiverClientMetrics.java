@@ -48,6 +48,9 @@ public class XceiverClientMetrics implements MetricsSource {
   private @Metric MutableCounterLong totalOps;
   private @Metric MutableCounterLong ecReconstructionTotal;
   private @Metric MutableCounterLong ecReconstructionFailsTotal;
+  private @Metric MutableCounterLong clientsCreated;
+  private @Metric MutableCounterLong clientsEvicted;
+  private @Metric MutableCounterLong clientsCreatedForBusyPool;
   private EnumMap<ContainerProtos.Type, MutableCounterLong> pendingOpsArray;
   private EnumMap<ContainerProtos.Type, MutableCounterLong> opsArray;
   private EnumMap<ContainerProtos.Type, PerformanceMetrics> containerOpsLatency;
@@ -112,6 +115,24 @@ public void incECReconstructionFailsTotal() {
     ecReconstructionFailsTotal.incr();
   }
 
+  public void incClientsCreated() {
+    clientsCreated.incr();
+  }
+
+  public void incClientsEvicted() {
+    clientsEvicted.incr();
+  }
+
+  /** A client is created since all the pooled clients of a pipeline are in use. */
+  public void incClientsCreatedForBusyPool() {
+    clientsCreatedForBusyPool.incr();
+  }
+
+  @VisibleForTesting
+  public long getClientsCreatedForBusyPool() {
+    return clientsCreatedForBusyPool.value();
+  }
+
   @VisibleForTesting
   public long getTotalOpCount() {
     return totalOps.value();
@@ -141,6 +162,9 @@ public void getMetrics(MetricsCollector collector, boolean b) {
     totalOps.snapshot(recordBuilder, true);
     ecReconstructionTotal.snapshot(recordBuilder, true);
     ecReconstructionFailsTotal.snapshot(recordBuilder, true);
+    clientsCreated.snapshot(recordBuilder, true);
+    clientsEvicted.snapshot(recordBuilder, true);
+    clientsCreatedForBusyPool.snapshot(recordBuilder, true);
 
     for (ContainerProtos.Type type : ContainerProtos.Type.values()) {
       pendingOpsArray.get(type).snapshot(recordBuilder, b);
@@ -21,6 +21,8 @@
 import com.google.common.collect.ImmutableMap;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -29,7 +31,11 @@
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSExceptionMessages;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.ContainerBlockID;
@@ -69,6 +75,10 @@ public class ECBlockInputStream extends BlockExtendedInputStream {
   private final List<DatanodeDetails> failedLocations = new ArrayList<>();
   private final int maxLocations;
   private final String string;
+  /** For reading the cells of a stripe in parallel; null if disabled. */
+  private final ExecutorService stripeReadExecutor;
+  /** The buffers of the cells read in parallel, allocated on demand. */
+  private ByteBuffer[] cellBuffers;
 
   private long position = 0;
   private boolean closed = false;
@@ -112,6 +122,22 @@ public ECBlockInputStream(ECReplicationConfig repConfig,
       Function<BlockID, BlockLocationInfo> refreshFunction,
       BlockInputStreamFactory streamFactory,
       OzoneClientConfig config) {
+    this(repConfig, blockInfo, xceiverClientFactory, refreshFunction,
+        streamFactory, config, null);
+  }
+
+  /**
+   * @param stripeReadExecutor if non-null, a read covering a whole stripe
+   *                           reads the data cells of the stripe in parallel
+   *                           using this executor.
+   */
+  public ECBlockInputStream(ECReplicationConfig repConfig,
+      BlockLocationInfo blockInfo,
+      XceiverClientFactory xceiverClientFactory,
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      BlockInputStreamFactory streamFactory,
+      OzoneClientConfig config,
+      ExecutorService stripeReadExecutor) {
     this.repConfig = repConfig;
     this.ecChunkSize = repConfig.getEcChunkSize();
     this.blockInfo = blockInfo;
@@ -123,6 +149,7 @@ public ECBlockInputStream(ECReplicationConfig repConfig,
     this.blockStreams =
         new BlockExtendedInputStream[repConfig.getRequiredNodes()];
     this.config = config;
+    this.stripeReadExecutor = stripeReadExecutor;
 
     this.stripeSize = (long)ecChunkSize * repConfig.getData();
     setBlockLocations(this.blockInfo.getPipeline());
@@ -364,6 +391,10 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
 
     int totalRead = 0;
     while (strategy.getTargetLength() > 0 && remaining() > 0) {
+      if (canReadStripeInParallel(strategy)) {
+        totalRead += readStripeInParallel(strategy);
+        continue;
+      }
       int currentIndex = currentStreamIndex();
       try {
         BlockExtendedInputStream stream = getOrOpenStream(currentIndex);
@@ -379,6 +410,108 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
     return totalRead;
   }
 
+  /**
+   * @return true if the next read starts at a stripe boundary and the buffer
+   * has space for the whole stripe, which has more than one cell.
+   */
+  private boolean canReadStripeInParallel(ByteReaderStrategy strategy) {
+    if (stripeReadExecutor == null || position % stripeSize != 0) {
+      return false;
+    }
+    final long stripeLength = Math.min(stripeSize, remaining());
+    return stripeLength > ecChunkSize
+        && strategy.getTargetLength() >= stripeLength;
+  }
+
+  /**
+   * Read the data cells of the current stripe from the internal
+   * BlockInputStreams in parallel, and then copy them into the strategy buffer.
+   * If any of the cells fails, a {@link BadDataLocationException} is thrown
+   * for the first failed cell after all the cell reads are completed,
+   * so that {@link #read(ByteBuffer)} can retry from a spare location.
+   * @return the number of bytes read.
+   */
+  private int readStripeInParallel(ByteReaderStrategy strategy)
+      throws IOException {
+    final long stripeLength = Math.min(stripeSize, remaining());
+    final int cells = (int) ((stripeLength - 1) / ecChunkSize + 1);
+    if (cellBuffers == null) {
+      cellBuffers = new ByteBuffer[repConfig.getData()];
+    }
+
+    final List<Future<?>> reads = new ArrayList<>(cells);
+    BadDataLocationException failure = null;
+    for (int i = 0; i < cells; i++) {
+      if (cellBuffers[i] == null) {
+        cellBuffers[i] = ByteBuffer.allocate(ecChunkSize);
+      }
+      final ByteBuffer buffer = cellBuffers[i];
+      buffer.clear();
+      buffer.limit((int) Math.min(ecChunkSize,
+          stripeLength - (long) i * ecChunkSize));
+      final BlockExtendedInputStream stream;
+      try {
+        stream = getOrOpenStream(i);
+        // position is at the stripe start, so the offset in the cell is 0.
+        seekStreamIfNecessary(stream, 0);
+      } catch (IOException e) {
+        failure = new BadDataLocationException(dataLocations[i], i, e);
+        break;
+      }
+      reads.add(stripeReadExecutor.submit(() -> readCell(stream, buffer)));
+    }
+
+    // wait for all the reads, so that no stream is in use after returning.
+    for (int i = 0; i < reads.size(); i++) {
+      try {
+        reads.get(i).get();
+      } catch (ExecutionException e) {
+        if (failure == null || failure.getFailedLocationIndex() > i) {
+          failure = new BadDataLocationException(dataLocations[i], i,
+              e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        for (Future<?> read : reads) {
+          read.cancel(true);
+        }
+        // the streams may be anywhere; seek them before the next read.
+        seeked = true;
+        throw new InterruptedIOException(this + ": interrupted reading stripe"
+            + " at position " + position);
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+
+    final CellInputStream in = new CellInputStream();
+    for (int i = 0; i < cells; i++) {
+      final ByteBuffer buffer = cellBuffers[i];
+      buffer.flip();
+      in.buffer = buffer;
+      strategy.readFromBlock(in, buffer.remaining());
+    }
+    position += stripeLength;
+    LOG.trace("{}: read stripe of {} bytes from {} cells in parallel",
+        this, stripeLength, cells);
+    return (int) stripeLength;
+  }
+
+  private Void readCell(BlockExtendedInputStream stream, ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      if (stream.read(buffer) == EOF) {
+        // The Block Stream reached EOF, but we did not expect it to, so the
+        // block might be corrupt.
+        throw new IOException("Expected to read " + buffer.remaining()
+            + " more bytes but got EOF from blockGroup "
+            + stream.getBlockID());
+      }
+    }
+    return null;
+  }
+
   @Override
   public synchronized long getLength() {
     return blockInfo.getLength();
@@ -454,6 +587,7 @@ private void checkOpen() throws IOException {
   public synchronized void close() {
     LOG.debug("{}: close", this);
     closeStreams();
+    cellBuffers = null;
     closed = true;
   }
 
@@ -483,6 +617,7 @@ protected void closeStream(int i) {
   @Override
   public synchronized void unbuffer() {
     LOG.trace("{}: unbuffer", this);
+    cellBuffers = null;
     for (BlockExtendedInputStream stream : blockStreams) {
       if (stream != null) {
         stream.unbuffer();
@@ -531,4 +666,38 @@ protected ContainerBlockID blockIdForDebug() {
   public String toString() {
     return string;
   }
+
+  /** An {@link InputStream} over a cell buffer read in parallel. */
+  private static final class CellInputStream extends InputStream
+      implements ByteBufferReadable {
+    private ByteBuffer buffer;
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : EOF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (!buffer.hasRemaining()) {
+        return EOF;
+      }
+      final int n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public int read(ByteBuffer target) {
+      if (!buffer.hasRemaining()) {
+        return EOF;
+      }
+      final int n = Math.min(target.remaining(), buffer.remaining());
+      final ByteBuffer slice = buffer.duplicate();
+      slice.limit(slice.position() + n);
+      target.put(slice);
+      buffer.position(buffer.position() + n);
+      return n;
+    }
+  }
 }
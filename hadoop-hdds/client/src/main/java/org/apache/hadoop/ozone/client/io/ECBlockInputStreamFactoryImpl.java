@@ -94,7 +94,8 @@ public BlockExtendedInputStream create(boolean missingLocations,
       // Otherwise create the more efficient non-reconstruction reader
       return new ECBlockInputStream((ECReplicationConfig)repConfig, blockInfo,
           xceiverFactory, refreshFunction, inputStreamFactory,
-          config);
+          config, config.isEcStripeParallelReadEnabled()
+              ? ecReconstructExecutorSupplier.get() : null);
     }
   }
 
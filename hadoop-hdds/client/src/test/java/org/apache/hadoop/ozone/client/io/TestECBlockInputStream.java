@@ -31,6 +31,8 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
@@ -508,6 +510,75 @@ public void testNoErrorIfSpareLocationToRead() throws IOException {
     }
   }
 
+  @Test
+  public void testParallelStripeRead() throws IOException {
+    repConfig = new ECReplicationConfig(3, 2, ECReplicationConfig.EcCodec.RS,
+        100);
+    // 2 full stripes and a partial stripe of 1.5 cells
+    BlockLocationInfo keyInfo =
+        ECStreamTestUtil.createKeyInfo(repConfig, 5, 750);
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try (ECBlockInputStream ecb = new ECBlockInputStream(repConfig,
+        keyInfo, null, null, streamFactory, clientConfig, executor)) {
+      // less than a stripe, so it is read sequentially
+      ByteBuffer buf = ByteBuffer.allocate(150);
+      assertEquals(150, ecb.read(buf));
+      validateBufferContents(buf, 0, 100, (byte) 0);
+      validateBufferContents(buf, 100, 150, (byte) 1);
+
+      // the rest of the stripe sequentially, then a stripe in parallel
+      buf = ByteBuffer.allocate(450);
+      assertEquals(450, ecb.read(buf));
+      validateBufferContents(buf, 0, 50, (byte) 1);
+      validateBufferContents(buf, 50, 150, (byte) 2);
+      validateBufferContents(buf, 150, 250, (byte) 0);
+      validateBufferContents(buf, 250, 350, (byte) 1);
+      validateBufferContents(buf, 350, 450, (byte) 2);
+
+      // the partial last stripe in parallel
+      buf = ByteBuffer.allocate(300);
+      assertEquals(150, ecb.read(buf));
+      validateBufferContents(buf, 0, 100, (byte) 0);
+      validateBufferContents(buf, 100, 150, (byte) 1);
+      assertEquals(750, ecb.getPos());
+      assertEquals(-1, ecb.read(buf));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testParallelStripeReadUsesSpareLocation() throws IOException {
+    repConfig = new ECReplicationConfig(3, 2, ECReplicationConfig.EcCodec.RS,
+        ONEMB);
+    Map<DatanodeDetails, Integer> datanodes = new LinkedHashMap<>();
+    for (int i = 1; i <= repConfig.getRequiredNodes(); i++) {
+      datanodes.put(MockDatanodeDetails.randomDatanodeDetails(), i);
+    }
+    // Add a second index = 2
+    datanodes.put(MockDatanodeDetails.randomDatanodeDetails(), 2);
+
+    BlockLocationInfo keyInfo =
+        ECStreamTestUtil.createKeyInfo(repConfig, 6 * ONEMB, datanodes);
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try (ECBlockInputStream ecb = new ECBlockInputStream(repConfig,
+        keyInfo, null, null, streamFactory, clientConfig, executor)) {
+      ByteBuffer buf = ByteBuffer.allocate(3 * ONEMB);
+      assertEquals(3 * ONEMB, ecb.read(buf));
+
+      // index 2 fails, so the stripe is read again using the spare location
+      streamFactory.getBlockStreams().get(1).setThrowException(true);
+      buf.clear();
+      assertEquals(3 * ONEMB, ecb.read(buf));
+      assertEquals(6 * ONEMB, ecb.getPos());
+      assertEquals(4, streamFactory.getBlockStreams().size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testEcPipelineRefreshFunction() {
     repConfig = new ECReplicationConfig(3, 2, ECReplicationConfig.EcCodec.RS,
@@ -37,8 +37,15 @@
  * A Client for the storageContainer protocol.
  */
 public abstract class XceiverClientSpi implements Closeable {
+  /** The bit of {@link #referenceCount} for the evicted state. */
+  private static final int EVICTED = 1 << 30;
+
+  /**
+   * The number of references, and the {@link #EVICTED} bit.
+   * Once evicted, no more references can be added,
+   * and the client is closed when the last reference is removed.
+   */
   private final AtomicInteger referenceCount;
-  private boolean isEvicted;
 
   /**
    * Validator for container command request/response.
@@ -51,35 +58,51 @@ public interface Validator extends
 
   public XceiverClientSpi() {
     this.referenceCount = new AtomicInteger(0);
-    this.isEvicted = false;
   }
 
-  void incrementReference() {
-    this.referenceCount.incrementAndGet();
+  /**
+   * Add a reference unless this client has been evicted.
+   * @return true iff the reference is added.
+   */
+  boolean tryIncrementReference() {
+    for (;;) {
+      final int current = referenceCount.get();
+      if ((current & EVICTED) != 0) {
+        return false;
+      }
+      if (referenceCount.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
   }
 
   void decrementReference() {
-    this.referenceCount.decrementAndGet();
-    cleanup();
+    // close the xceiverClient only if,
+    // 1) there is no refcount on the client
+    // 2) it has been evicted from the cache.
+    if (referenceCount.decrementAndGet() == EVICTED) {
+      close();
+    }
   }
 
   void setEvicted() {
-    isEvicted = true;
-    cleanup();
-  }
-
-  // close the xceiverClient only if,
-  // 1) there is no refcount on the client
-  // 2) it has been evicted from the cache.
-  private void cleanup() {
-    if (referenceCount.get() == 0 && isEvicted) {
-      close();
+    for (;;) {
+      final int current = referenceCount.get();
+      if ((current & EVICTED) != 0) {
+        return;
+      }
+      if (referenceCount.compareAndSet(current, current | EVICTED)) {
+        if (current == 0) {
+          close();
+        }
+        return;
+      }
     }
   }
 
   @VisibleForTesting
   public int getRefcount() {
-    return referenceCount.get();
+    return referenceCount.get() & ~EVICTED;
   }
 
   /**
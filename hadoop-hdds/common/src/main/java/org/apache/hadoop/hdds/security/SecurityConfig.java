@@ -117,6 +117,7 @@ public class SecurityConfig {
   private final long blockTokenExpiryDurationMs;
   private final boolean tokenSanityChecksEnabled;
   private final boolean containerTokenEnabled;
+  private final int verifiedTokenCacheSize;
   private final String certificateDir;
   private final String certificateFileName;
   private final boolean grpcTlsEnabled;
@@ -185,6 +186,9 @@ public SecurityConfig(ConfigurationSource configuration) {
     this.containerTokenEnabled = configuration.getBoolean(
         HDDS_CONTAINER_TOKEN_ENABLED,
         HDDS_CONTAINER_TOKEN_ENABLED_DEFAULT);
+    this.verifiedTokenCacheSize = configuration.getInt(
+        HddsConfigKeys.HDDS_TOKEN_VERIFIED_CACHE_SIZE,
+        HddsConfigKeys.HDDS_TOKEN_VERIFIED_CACHE_SIZE_DEFAULT);
 
     this.grpcTlsEnabled = configuration.getBoolean(HDDS_GRPC_TLS_ENABLED,
         HDDS_GRPC_TLS_ENABLED_DEFAULT);
@@ -537,6 +541,13 @@ public boolean isContainerTokenEnabled() {
     return this.containerTokenEnabled;
   }
 
+  /**
+   * The max number of verified tokens cached by a token verifier; 0 means no caching.
+   */
+  public int getVerifiedTokenCacheSize() {
+    return verifiedTokenCacheSize;
+  }
+
   /**
    * Returns true if TLS is enabled for gRPC services.
    *
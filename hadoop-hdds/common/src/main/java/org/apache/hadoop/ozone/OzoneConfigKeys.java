@@ -605,6 +605,11 @@ public final class OzoneConfigKeys {
 
   public static final String OZONE_AUDIT_LOG_DEBUG_CMD_LIST_OMAUDIT =
       "ozone.audit.log.debug.cmd.list.omaudit";
+  /** See org.apache.hadoop.ozone.audit.AuditQueueFullPolicy. */
+  public static final String OZONE_AUDIT_LOG_QUEUE_FULL_POLICY =
+      "ozone.audit.log.queue.full.policy";
+  public static final String OZONE_AUDIT_LOG_QUEUE_FULL_POLICY_DEFAULT =
+      "BLOCK";
 
   // Items listing page size for fs client sub-commands output
   public static final String
@@ -55,6 +55,7 @@
 import org.apache.hadoop.hdds.utils.ProtocolMessageMetrics;
 import org.apache.hadoop.ozone.audit.AuditAction;
 import org.apache.hadoop.ozone.audit.AuditEventStatus;
+import org.apache.hadoop.ozone.audit.AuditLogMetrics;
 import org.apache.hadoop.ozone.audit.AuditLogger;
 import org.apache.hadoop.ozone.audit.AuditLoggerType;
 import org.apache.hadoop.ozone.audit.AuditMarker;
@@ -149,11 +150,14 @@ public HddsDispatcher(ConfigurationSource config, ContainerSet contSet,
   @Override
   public void init() {
     protocolMetrics.register();
+    AuditLogMetrics.acquire();
   }
 
   @Override
   public void shutdown() {
     protocolMetrics.unregister();
+    AuditLogMetrics.release();
+    tokenVerifier.close();
   }
 
   /**
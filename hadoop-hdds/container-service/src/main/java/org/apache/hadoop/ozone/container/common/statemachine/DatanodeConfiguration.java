@@ -22,6 +22,7 @@
 import static org.apache.hadoop.hdds.conf.ConfigTag.DATANODE;
 import static org.apache.hadoop.hdds.conf.ConfigTag.MANAGEMENT;
 import static org.apache.hadoop.hdds.conf.ConfigTag.OZONE;
+import static org.apache.hadoop.hdds.conf.ConfigTag.PERFORMANCE;
 import static org.apache.hadoop.hdds.conf.ConfigTag.STORAGE;
 import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.CONFIG_PREFIX;
 
@@ -424,6 +425,45 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
 
   private boolean waitOnAllFollowers = WAIT_ON_ALL_FOLLOWERS_DEFAULT;
 
+  @Config(key = "ratis.statemachine.data.cache.off.heap",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, PERFORMANCE },
+      description = "Whether the leader datanode stores the write chunk data"
+          + " cached for the followers in direct buffers instead of the heap."
+          + " The cache is per pipeline and bounded by"
+          + " hdds.container.ratis.leader.pending.bytes.limit."
+          + " When enabled, size the JVM direct memory"
+          + " (-XX:MaxDirectMemorySize) for at least this limit times the"
+          + " number of pipelines led by the datanode, plus headroom:"
+          + " the evicted buffers are freed by the garbage collector, not"
+          + " on eviction, since the followers may still be reading them."
+  )
+  private boolean stateMachineDataCacheOffHeap = false;
+
+  @Config(key = "ratis.statemachine.apply.block.level.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, PERFORMANCE },
+      description = "Whether the transactions of a container are applied with"
+          + " block level dependencies instead of sequentially.  When enabled,"
+          + " the WriteChunk commits of different blocks in a container can be"
+          + " applied concurrently.  PutBlock and the other container level"
+          + " operations are still applied in order."
+  )
+  private boolean blockLevelApplyEnabled = false;
+
+  @Config(key = "container.put.block.group.commit.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, PERFORMANCE },
+      description = "Whether the concurrent PutBlock metadata updates of the"
+          + " schema v3 containers in a volume are committed to the shared"
+          + " RocksDB of the volume in a single write batch.  A PutBlock"
+          + " returns only after its update is committed."
+  )
+  private boolean putBlockGroupCommitEnabled = false;
+
   @Config(key = "container.schema.v3.enabled",
       defaultValue = "true",
       type = ConfigType.BOOLEAN,
@@ -799,6 +839,30 @@ public boolean waitOnAllFollowers() {
     return waitOnAllFollowers;
   }
 
+  public boolean isStateMachineDataCacheOffHeap() {
+    return stateMachineDataCacheOffHeap;
+  }
+
+  public void setStateMachineDataCacheOffHeap(boolean offHeap) {
+    this.stateMachineDataCacheOffHeap = offHeap;
+  }
+
+  public boolean isBlockLevelApplyEnabled() {
+    return blockLevelApplyEnabled;
+  }
+
+  public void setBlockLevelApplyEnabled(boolean enabled) {
+    this.blockLevelApplyEnabled = enabled;
+  }
+
+  public boolean isPutBlockGroupCommitEnabled() {
+    return putBlockGroupCommitEnabled;
+  }
+
+  public void setPutBlockGroupCommitEnabled(boolean enabled) {
+    this.putBlockGroupCommitEnabled = enabled;
+  }
+
   public void setWaitOnAllFollowers(boolean val) {
     this.waitOnAllFollowers = val;
   }
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server.ratis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.ratis.util.function.CheckedSupplier;
+
+/**
+ * Schedule the apply transaction tasks of a pipeline with block level dependencies,
+ * as opposed to {@link ContainerStateMachine.TaskQueueMap} which runs the tasks of a container sequentially.
+ * <p>
+ * The tasks of a container are ordered as follows:
+ * <ul>
+ *   <li>{@link Kind#CHUNK}: a WriteChunk commit without block data.
+ *       It runs after the previous tasks of the same block and the previous barrier.</li>
+ *   <li>{@link Kind#BLOCK}: a PutBlock, a PutSmallFile or a WriteChunk commit with block data.
+ *       It updates the container metadata, including the block commit sequence id,
+ *       so it also runs after the previous {@link Kind#BLOCK} tasks of the container.</li>
+ *   <li>{@link Kind#BARRIER}: any other command, e.g. CloseContainer.
+ *       It runs after all the previous tasks of the container
+ *       and all the later tasks of the container run after it.</li>
+ * </ul>
+ * As a result, the WriteChunk commits of different blocks in a container
+ * do not wait for the PutBlock of each other.
+ */
+class BlockTaskQueueMap {
+  /** The kind of a task, which determines its dependencies. */
+  enum Kind { CHUNK, BLOCK, BARRIER }
+
+  private final Map<Long, ContainerTasks> map = new HashMap<>();
+
+  /** The pending tasks of a container. */
+  private static final class ContainerTasks {
+    private CompletableFuture<?> lastBarrier = CompletableFuture.completedFuture(null);
+    private CompletableFuture<?> lastBlock = CompletableFuture.completedFuture(null);
+    /** Local block id -> the last task of the block. */
+    private final Map<Long, CompletableFuture<?>> lastTasks = new HashMap<>();
+    /** The tasks submitted after {@link #lastBarrier}. */
+    private final List<CompletableFuture<?>> sinceBarrier = new ArrayList<>();
+    private int pending;
+
+    CompletableFuture<?> getDependencies(Kind kind, long localId) {
+      switch (kind) {
+      case CHUNK:
+        return CompletableFuture.allOf(lastBarrier, lastTasks.getOrDefault(localId, lastBarrier));
+      case BLOCK:
+        return CompletableFuture.allOf(lastBarrier, lastBlock, lastTasks.getOrDefault(localId, lastBarrier));
+      default:
+        sinceBarrier.add(lastBarrier);
+        return CompletableFuture.allOf(sinceBarrier.toArray(new CompletableFuture<?>[0]));
+      }
+    }
+
+    void add(Kind kind, long localId, CompletableFuture<?> task) {
+      pending++;
+      if (kind == Kind.BARRIER) {
+        lastBarrier = task;
+        sinceBarrier.clear();
+        lastTasks.clear();
+        return;
+      }
+      sinceBarrier.removeIf(CompletableFuture::isDone);
+      sinceBarrier.add(task);
+      lastTasks.put(localId, task);
+      if (kind == Kind.BLOCK) {
+        lastBlock = task;
+      }
+    }
+
+    /** @return true iff the container has no pending tasks. */
+    boolean remove(long localId, CompletableFuture<?> task) {
+      lastTasks.remove(localId, task);
+      return --pending == 0;
+    }
+  }
+
+  static Kind getKind(ContainerCommandRequestProto request) {
+    switch (request.getCmdType()) {
+    case WriteChunk:
+      return request.getWriteChunk().hasBlock() ? Kind.BLOCK : Kind.CHUNK;
+    case PutBlock:
+    case PutSmallFile:
+      return Kind.BLOCK;
+    default:
+      return Kind.BARRIER;
+    }
+  }
+
+  static long getLocalId(ContainerCommandRequestProto request) {
+    switch (request.getCmdType()) {
+    case WriteChunk:
+      return request.getWriteChunk().getBlockID().getLocalID();
+    case PutBlock:
+      return request.getPutBlock().getBlockData().getBlockID().getLocalID();
+    case PutSmallFile:
+      return request.getPutSmallFile().getBlock().getBlockData().getBlockID().getLocalID();
+    default:
+      return -1;
+    }
+  }
+
+  synchronized CompletableFuture<ContainerCommandResponseProto> submit(
+      ContainerCommandRequestProto request,
+      CheckedSupplier<ContainerCommandResponseProto, Exception> task,
+      ExecutorService executor) {
+    final long containerId = request.getContainerID();
+    final Kind kind = getKind(request);
+    final long localId = getLocalId(request);
+    final ContainerTasks tasks = map.computeIfAbsent(containerId, id -> new ContainerTasks());
+
+    // run the task once the dependencies complete, whether or not they fail.
+    final CompletableFuture<ContainerCommandResponseProto> f = tasks.getDependencies(kind, localId)
+        .handle((r, e) -> null)
+        .thenApplyAsync(dummy -> {
+          try {
+            return task.get();
+          } catch (RuntimeException e) {
+            throw e;
+          } catch (Exception e) {
+            throw new CompletionException(e);
+          }
+        }, executor);
+    tasks.add(kind, localId, f);
+    // after the task is completed, remove the container if it has no pending tasks.
+    f.whenComplete((r, e) -> remove(containerId, localId, f));
+    return f;
+  }
+
+  private synchronized void remove(long containerId, long localId, CompletableFuture<?> task) {
+    final ContainerTasks tasks = map.get(containerId);
+    if (tasks != null && tasks.remove(localId, task)) {
+      map.remove(containerId);
+    }
+  }
+
+  synchronized int size() {
+    return map.size();
+  }
+}
@@ -27,6 +27,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.ratis.protocol.RaftGroupId;
 
@@ -65,6 +66,9 @@ public class CSMMetrics {
   private @Metric MutableCounterLong numDataCacheMiss;
   private @Metric MutableCounterLong numDataCacheHit;
   private @Metric MutableCounterLong numEvictedCacheCount;
+  private @Metric MutableGaugeLong dataCacheBytes;
+  private @Metric MutableGaugeLong dataCacheEntries;
+  private @Metric MutableCounterLong numReadStateMachineMissBytes;
   private @Metric MutableCounterLong pendingApplyTransactions;
 
   private @Metric MutableRate applyTransactionNs;
@@ -72,6 +76,7 @@ public class CSMMetrics {
   private @Metric MutableRate writeStateMachineQueueingLatencyNs;
   private @Metric MutableRate untilApplyTransactionNs;
   private @Metric MutableRate startTransactionCompleteNs;
+  private @Metric MutableRate readStateMachineMissNs;
 
   public CSMMetrics(RaftGroupId gid) {
     this.gid = gid;
@@ -247,6 +252,30 @@ public void incNumEvictedCacheCount() {
     numEvictedCacheCount.incr();
   }
 
+  public void incDataCache(long bytes) {
+    dataCacheBytes.incr(bytes);
+    dataCacheEntries.incr();
+  }
+
+  public void decDataCache(long bytes) {
+    dataCacheBytes.decr(bytes);
+    dataCacheEntries.decr();
+  }
+
+  long getDataCacheBytes() {
+    return dataCacheBytes.value();
+  }
+
+  long getDataCacheEntries() {
+    return dataCacheEntries.value();
+  }
+
+  /** Record a state machine data read from the disk due to a cache miss. */
+  public void recordReadStateMachineMiss(long bytes, long latencyNanos) {
+    numReadStateMachineMissBytes.incr(bytes);
+    readStateMachineMissNs.add(latencyNanos);
+  }
+
   public void incPendingApplyTransactions() {
     pendingApplyTransactions.incr();
   }
@@ -68,8 +68,6 @@
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerNotOpenException;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
-import org.apache.hadoop.hdds.utils.Cache;
-import org.apache.hadoop.hdds.utils.ResourceCache;
 import org.apache.hadoop.ozone.HddsDatanodeService;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
@@ -151,11 +149,13 @@ public class ContainerStateMachine extends BaseStateMachine {
   // keeps track of the containers created per pipeline
   private final Map<Long, Long> container2BCSIDMap;
   private final TaskQueueMap containerTaskQueues = new TaskQueueMap();
+  /** Non-null iff block level apply is enabled, in which case it is used instead of {@link #containerTaskQueues}. */
+  private final BlockTaskQueueMap blockTaskQueues;
   private final ExecutorService executor;
   private final List<ThreadPoolExecutor> chunkExecutors;
   private final Map<Long, Long> applyTransactionCompletionMap;
   private final Set<Long> unhealthyContainers;
-  private final Cache<Long, ByteString> stateMachineDataCache;
+  private final StateMachineDataCache stateMachineDataCache;
   private final AtomicBoolean stateMachineHealthy;
 
   private final Semaphore applyTransactionSemaphore;
@@ -267,14 +267,8 @@ public ContainerStateMachine(HddsDatanodeService hddsDatanodeService, RaftGroupI
         StorageUnit.BYTES);
     // cache with FIFO eviction, and if element not found, this needs
     // to be obtained from disk for slow follower
-    stateMachineDataCache = new ResourceCache<>(
-        (index, data) -> data.size(),
-        pendingRequestsBytesLimit,
-        (p) -> {
-          if (p.wasEvicted()) {
-            metrics.incNumEvictedCacheCount();
-          }
-        });
+    stateMachineDataCache = new StateMachineDataCache(pendingRequestsBytesLimit,
+        conf.getObject(DatanodeConfiguration.class).isStateMachineDataCacheOffHeap(), metrics);
 
     this.chunkExecutors = chunkExecutors;
 
@@ -301,6 +295,8 @@ public ContainerStateMachine(HddsDatanodeService hddsDatanodeService, RaftGroupI
 
     this.waitOnBothFollowers = conf.getObject(
         DatanodeConfiguration.class).waitOnAllFollowers();
+    this.blockTaskQueues = conf.getObject(DatanodeConfiguration.class).isBlockLevelApplyEnabled()
+        ? new BlockTaskQueueMap() : null;
 
     this.writeChunkWaitMaxNs = conf.getTimeDuration(ScmConfigKeys.HDDS_CONTAINER_RATIS_STATEMACHINE_WRITE_WAIT_INTERVAL,
         ScmConfigKeys.HDDS_CONTAINER_RATIS_STATEMACHINE_WRITE_WAIT_INTERVAL_NS_DEFAULT, TimeUnit.NANOSECONDS);
@@ -591,9 +587,6 @@ private CompletableFuture<Message> writeStateMachineData(
       if (server.getDivision(getGroupId()).getInfo().isLeader()) {
         stateMachineDataCache.put(entryIndex, write.getData());
       }
-    } catch (InterruptedException ioe) {
-      Thread.currentThread().interrupt();
-      return completeExceptionally(ioe);
     } catch (IOException ioe) {
       return completeExceptionally(ioe);
     }
@@ -833,6 +826,7 @@ private ByteString readStateMachineData(
     // the stateMachine data is not present in the stateMachine cache,
     // increment the stateMachine cache miss count
     metrics.incNumReadStateMachineMissCount();
+    final long startTime = Time.monotonicNowNanos();
     WriteChunkRequestProto writeChunkRequestProto =
         requestProto.getWriteChunk();
     ContainerProtos.ChunkInfo chunkInfo = writeChunkRequestProto.getChunkData();
@@ -883,6 +877,7 @@ private ByteString readStateMachineData(
         "read chunk len=%s does not match chunk expected len=%s for chunk:%s",
         data.size(), chunkInfo.getLen(), chunkInfo);
 
+    metrics.recordReadStateMachineMiss(data.size(), Time.monotonicNowNanos() - startTime);
     return data;
   }
 
@@ -1064,6 +1059,9 @@ private CompletableFuture<ContainerCommandResponseProto> applyTransaction(
             throw e;
           }
         };
+    if (blockTaskQueues != null) {
+      return blockTaskQueues.submit(request, task, executor);
+    }
     return containerTaskQueues.submit(containerId, task, executor);
   }
 
@@ -1227,7 +1225,7 @@ private void removeStateMachineDataIfMajorityFollowSync(long index) {
   }
 
   private void removeCacheDataUpTo(long index) {
-    stateMachineDataCache.removeIf(k -> k <= index);
+    stateMachineDataCache.removeUpTo(index);
   }
 
   private static <T> CompletableFuture<T> completeExceptionally(Exception e) {
@@ -1244,7 +1242,7 @@ public void notifyNotLeader(Collection<TransactionContext> pendingEntries) {
 
   @Override
   public CompletableFuture<Void> truncate(long index) {
-    stateMachineDataCache.removeIf(k -> k > index);
+    stateMachineDataCache.removeAfter(index);
     return CompletableFuture.completedFuture(null);
   }
 
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server.ratis;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.apache.hadoop.hdds.utils.Cache;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.com.google.protobuf.UnsafeByteOperations;
+
+/**
+ * The write chunk data of a {@link ContainerStateMachine}, i.e. of a pipeline,
+ * keyed by log index and bounded by the total size of the data in bytes.
+ * <p>
+ * When the size exceeds the limit, the entries are evicted in log index order.
+ * The oldest entries are evicted first since they are already received by the most followers:
+ * the committed entries are only needed by lagging followers,
+ * which then read the data from the disk.
+ * <p>
+ * When off-heap is enabled, the data is copied to direct buffers,
+ * so that the cached data does not add to the heap pressure.
+ * The direct buffers are released by the garbage collector once no longer referenced,
+ * since the data returned by {@link #get(Long)} may still be in use after it is evicted.
+ * Ratis does not tell when the appenders are done with the data,
+ * so the buffers can be neither pooled nor released on eviction.
+ * As a result, the direct memory in use may exceed the limit of the caches
+ * until the evicted buffers are collected.
+ */
+class StateMachineDataCache implements Cache<Long, ByteString> {
+  private final ConcurrentNavigableMap<Long, ByteString> entries = new ConcurrentSkipListMap<>();
+  private final AtomicLong size = new AtomicLong();
+  private final long limit;
+  private final boolean offHeap;
+  private final CSMMetrics metrics;
+
+  StateMachineDataCache(long limit, boolean offHeap, CSMMetrics metrics) {
+    this.limit = limit;
+    this.offHeap = offHeap;
+    this.metrics = Objects.requireNonNull(metrics, "metrics == null");
+  }
+
+  @Override
+  public ByteString get(Long index) {
+    Objects.requireNonNull(index, "index == null");
+    return entries.get(index);
+  }
+
+  @Override
+  public void put(Long index, ByteString data) {
+    Objects.requireNonNull(index, "index == null");
+    Objects.requireNonNull(data, "data == null");
+    final ByteString value = offHeap ? copyToDirectBuffer(data) : data;
+    final ByteString previous = entries.put(index, value);
+    added(value);
+    if (previous != null) {
+      removed(previous);
+    }
+    evict();
+  }
+
+  private void evict() {
+    while (size.get() > limit) {
+      final Map.Entry<Long, ByteString> first = entries.pollFirstEntry();
+      if (first == null) {
+        return;
+      }
+      removed(first.getValue());
+      metrics.incNumEvictedCacheCount();
+    }
+  }
+
+  @Override
+  public void remove(Long index) {
+    Objects.requireNonNull(index, "index == null");
+    final ByteString removed = entries.remove(index);
+    if (removed != null) {
+      removed(removed);
+    }
+  }
+
+  @Override
+  public void removeIf(Predicate<Long> predicate) {
+    Objects.requireNonNull(predicate, "predicate == null");
+    removeAll(entries, predicate);
+  }
+
+  /** Remove the entries with index &lt;= the given index. */
+  void removeUpTo(long index) {
+    removeAll(entries.headMap(index, true), k -> true);
+  }
+
+  /** Remove the entries with index &gt; the given index. */
+  void removeAfter(long index) {
+    removeAll(entries.tailMap(index, false), k -> true);
+  }
+
+  @Override
+  public void clear() {
+    removeAll(entries, k -> true);
+  }
+
+  private void removeAll(Map<Long, ByteString> map, Predicate<Long> predicate) {
+    for (Long index : map.keySet()) {
+      if (predicate.test(index)) {
+        remove(index);
+      }
+    }
+  }
+
+  long size() {
+    return size.get();
+  }
+
+  private void added(ByteString data) {
+    size.addAndGet(data.size());
+    metrics.incDataCache(data.size());
+  }
+
+  private void removed(ByteString data) {
+    size.addAndGet(-data.size());
+    metrics.decDataCache(data.size());
+  }
+
+  private static ByteString copyToDirectBuffer(ByteString data) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(data.size());
+    data.copyTo(buffer);
+    buffer.flip();
+    return UnsafeByteOperations.unsafeWrap(buffer.asReadOnlyBuffer());
+  }
+}
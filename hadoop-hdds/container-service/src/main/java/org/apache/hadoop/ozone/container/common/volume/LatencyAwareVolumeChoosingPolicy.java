@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.volume;
+
+import static org.apache.hadoop.ozone.container.common.volume.VolumeChoosingUtil.logIfSomeVolumesOutOfSpace;
+import static org.apache.hadoop.ozone.container.common.volume.VolumeChoosingUtil.throwDiskOutOfSpace;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import org.apache.hadoop.ozone.container.common.interfaces.VolumeChoosingPolicy;
+import org.apache.hadoop.util.DiskChecker.DiskOutOfSpaceException;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Volume choosing policy that steers new containers away from slow or busy volumes.
+ * <p>
+ * For each volume, the average I/O latency is computed from {@link VolumeIOStats}
+ * over each refresh interval and smoothed with an exponentially weighted moving average.
+ * A volume becomes hot when its latency exceeds {@link #HOT_ENTER_RATIO} times the median latency of the volumes,
+ * and it stays hot until its latency drops below {@link #HOT_EXIT_RATIO} times the median.
+ * The gap between the two ratios prevents a volume from flapping in and out of the hot state.
+ * <p>
+ * The Algorithm is as follows, Pick 2 random volumes from the non-hot volumes with enough space
+ * and then pick the volume with lower load,
+ * where the load is the latency multiplied by the number of pending I/O operations
+ * and the number of recently created containers.
+ * If all the volumes with enough space are hot, pick from all of them.
+ */
+public class LatencyAwareVolumeChoosingPolicy implements VolumeChoosingPolicy {
+
+  private static final Logger LOG = LoggerFactory.getLogger(
+      LatencyAwareVolumeChoosingPolicy.class);
+
+  static final double HOT_ENTER_RATIO = 3.0;
+  static final double HOT_EXIT_RATIO = 1.5;
+  /** The weight of the latest interval in the moving average. */
+  private static final double ALPHA = 0.3;
+  /** The minimum number of operations in an interval for a latency sample. */
+  private static final long MIN_OPS = 8;
+  /** Latency is measured in milliseconds, so a fast volume may have zero latency. */
+  private static final double MIN_LATENCY_MS = 1.0;
+  private static final long DEFAULT_REFRESH_INTERVAL_MS = 1000;
+
+  private final long refreshIntervalMs;
+  /** Storage directory -> {@link VolumeState}. */
+  private final Map<String, VolumeState> states = new HashMap<>();
+  private long lastRefreshTime;
+
+  public LatencyAwareVolumeChoosingPolicy() {
+    this(DEFAULT_REFRESH_INTERVAL_MS);
+  }
+
+  @VisibleForTesting
+  LatencyAwareVolumeChoosingPolicy(long refreshIntervalMs) {
+    this.refreshIntervalMs = refreshIntervalMs;
+    this.lastRefreshTime = Time.monotonicNow();
+  }
+
+  /** The I/O state of a volume, updated in each refresh interval. */
+  private static final class VolumeState {
+    private long lastOpCount;
+    private long lastIOTime;
+    /** The moving average latency in milliseconds; negative if there is no sample yet. */
+    private double latency = -1;
+    /** The number of containers created on the volume, decayed by half in each refresh interval. */
+    private double recentContainers;
+    private boolean hot;
+
+    void update(VolumeIOStats stats) {
+      final long opCount = stats.getReadOpCount() + stats.getWriteOpCount();
+      final long ioTime = stats.getTotalIOTime();
+      final long ops = opCount - lastOpCount;
+      if (ops >= MIN_OPS) {
+        final double sample = (double) (ioTime - lastIOTime) / ops;
+        latency = latency < 0 ? sample : ALPHA * sample + (1 - ALPHA) * latency;
+        lastOpCount = opCount;
+        lastIOTime = ioTime;
+      }
+      recentContainers /= 2;
+    }
+
+    void updateHot(double median) {
+      if (latency < 0) {
+        return;
+      }
+      final double base = Math.max(median, MIN_LATENCY_MS);
+      hot = latency > base * (hot ? HOT_EXIT_RATIO : HOT_ENTER_RATIO);
+    }
+
+    double getLoad(int pendingIOs) {
+      return Math.max(latency, MIN_LATENCY_MS) * (1 + pendingIOs + recentContainers);
+    }
+  }
+
+  @Override
+  public synchronized HddsVolume chooseVolume(List<HddsVolume> volumes,
+      long maxContainerSize) throws IOException {
+
+    // No volumes available to choose from
+    if (volumes.isEmpty()) {
+      throw new DiskOutOfSpaceException("No more available volumes");
+    }
+
+    refresh(volumes);
+
+    AvailableSpaceFilter filter = new AvailableSpaceFilter(maxContainerSize);
+
+    List<HddsVolume> volumesWithEnoughSpace = volumes.stream()
+        .filter(filter)
+        .collect(Collectors.toList());
+
+    if (volumesWithEnoughSpace.isEmpty()) {
+      throwDiskOutOfSpace(filter, LOG);
+    } else {
+      logIfSomeVolumesOutOfSpace(filter, LOG);
+    }
+
+    List<HddsVolume> candidates = volumesWithEnoughSpace.stream()
+        .filter(v -> !getState(v).hot)
+        .collect(Collectors.toList());
+    if (candidates.isEmpty()) {
+      LOG.debug("All volumes with enough space are hot: {}", volumesWithEnoughSpace);
+      candidates = volumesWithEnoughSpace;
+    }
+
+    int count = candidates.size();
+    HddsVolume selectedVolume = candidates.get(0);
+    if (count > 1) {
+      HddsVolume firstVolume = candidates.get(ThreadLocalRandom.current().nextInt(count));
+      HddsVolume secondVolume = candidates.get(ThreadLocalRandom.current().nextInt(count));
+
+      double firstLoad = getLoad(firstVolume);
+      double secondLoad = getLoad(secondVolume);
+      if (firstLoad == secondLoad) {
+        long firstAvailable = firstVolume.getCurrentUsage().getAvailable()
+            - firstVolume.getCommittedBytes();
+        long secondAvailable = secondVolume.getCurrentUsage().getAvailable()
+            - secondVolume.getCommittedBytes();
+        selectedVolume = firstAvailable < secondAvailable ? secondVolume : firstVolume;
+      } else {
+        selectedVolume = firstLoad < secondLoad ? firstVolume : secondVolume;
+      }
+    }
+    getState(selectedVolume).recentContainers++;
+    selectedVolume.incCommittedBytes(maxContainerSize);
+    return selectedVolume;
+  }
+
+  @VisibleForTesting
+  synchronized boolean isHot(HddsVolume volume) {
+    final VolumeState state = states.get(volume.getStorageDir().getPath());
+    return state != null && state.hot;
+  }
+
+  private VolumeState getState(HddsVolume volume) {
+    return states.computeIfAbsent(volume.getStorageDir().getPath(), k -> new VolumeState());
+  }
+
+  private double getLoad(HddsVolume volume) {
+    final VolumeIOStats stats = volume.getVolumeIOStats();
+    return getState(volume).getLoad(stats == null ? 0 : stats.getPendingIOs());
+  }
+
+  /** Update the volume states if the refresh interval has elapsed. */
+  private void refresh(List<HddsVolume> volumes) {
+    final long now = Time.monotonicNow();
+    if (now - lastRefreshTime < refreshIntervalMs) {
+      return;
+    }
+    lastRefreshTime = now;
+
+    // remove the states of the volumes no longer in the list, e.g. failed volumes.
+    states.keySet().retainAll(volumes.stream()
+        .map(v -> v.getStorageDir().getPath())
+        .collect(Collectors.toSet()));
+
+    for (HddsVolume volume : volumes) {
+      final VolumeIOStats stats = volume.getVolumeIOStats();
+      if (stats != null) {
+        getState(volume).update(stats);
+      }
+    }
+
+    final double[] latencies = states.values().stream()
+        .mapToDouble(s -> s.latency)
+        .filter(latency -> latency >= 0)
+        .sorted()
+        .toArray();
+    if (latencies.length == 0) {
+      return;
+    }
+    // use the lower median so that one slow volume out of two can be detected.
+    final double median = latencies[(latencies.length - 1) / 2];
+    for (Map.Entry<String, VolumeState> e : states.entrySet()) {
+      final VolumeState state = e.getValue();
+      final boolean wasHot = state.hot;
+      state.updateHot(median);
+      if (state.hot != wasHot) {
+        LOG.info("Volume {} is {} hot: latency {} ms, median latency {} ms",
+            e.getKey(), state.hot ? "now" : "no longer", state.latency, median);
+      }
+    }
+  }
+}
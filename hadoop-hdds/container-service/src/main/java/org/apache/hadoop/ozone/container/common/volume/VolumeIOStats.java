@@ -17,11 +17,13 @@
 
 package org.apache.hadoop.ozone.container.common.volume;
 
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.hadoop.metrics2.MetricsSystem;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
 import org.apache.hadoop.metrics2.lib.MutableQuantiles;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 
@@ -48,6 +50,10 @@ public class VolumeIOStats {
   private MutableRate writeTime;
   @Metric
   private MutableQuantiles[] writeLatencyQuantiles;
+  @Metric("Number of read and write operations in progress")
+  private MutableGaugeInt pendingIOs;
+  /** The total read and write time; unlike {@link #readTime}, it is not reset in each snapshot. */
+  private final LongAdder totalIOTime = new LongAdder();
 
   @Deprecated
   public VolumeIOStats() {
@@ -128,6 +134,7 @@ public void incWriteOpCount() {
    */
   public void incReadTime(long time) {
     readTime.add(time);
+    totalIOTime.add(time);
     for (MutableQuantiles q : readLatencyQuantiles) {
       q.add(time);
     }
@@ -139,6 +146,7 @@ public void incReadTime(long time) {
    */
   public void incWriteTime(long time) {
     writeTime.add(time);
+    totalIOTime.add(time);
     for (MutableQuantiles q : writeLatencyQuantiles) {
       q.add(time);
     }
@@ -192,6 +200,34 @@ public long getWriteTime() {
     return (long) writeTime.lastStat().total();
   }
 
+  /** Increment the number of read and write operations in progress. */
+  public void incPendingIOs() {
+    pendingIOs.incr();
+  }
+
+  /** Decrement the number of read and write operations in progress. */
+  public void decPendingIOs() {
+    pendingIOs.decr();
+  }
+
+  /**
+   * Returns the number of read and write operations in progress,
+   * i.e. the queue depth of the volume.
+   * @return int
+   */
+  public int getPendingIOs() {
+    return pendingIOs.value();
+  }
+
+  /**
+   * Returns the total time of the read and write operations on the volume
+   * since the volume was loaded.
+   * @return long
+   */
+  public long getTotalIOTime() {
+    return totalIOTime.sum();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
@@ -73,6 +73,7 @@
 import org.apache.hadoop.ozone.container.common.helpers.TokenHelper;
 import org.apache.hadoop.ozone.container.common.statemachine.StateContext;
 import org.apache.hadoop.security.token.Token;
+import org.apache.hadoop.util.Time;
 import org.apache.ratis.util.MemoizedSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -121,10 +122,20 @@ public ECReconstructionCoordinator(
       SecretKeySignerClient secretKeyClient, StateContext context,
       ECReconstructionMetrics metrics,
       String threadNamePrefix) throws IOException {
+    this(conf, certificateClient, secretKeyClient, context, metrics,
+        threadNamePrefix, new ElasticByteBufferPool());
+  }
+
+  @VisibleForTesting
+  ECReconstructionCoordinator(
+      ConfigurationSource conf, CertificateClient certificateClient,
+      SecretKeySignerClient secretKeyClient, StateContext context,
+      ECReconstructionMetrics metrics,
+      String threadNamePrefix, ByteBufferPool byteBufferPool) throws IOException {
     this.context = context;
     this.containerOperationClient = new ECContainerOperationClient(conf,
         certificateClient);
-    this.byteBufferPool = new ElasticByteBufferPool();
+    this.byteBufferPool = byteBufferPool;
     ozoneClientConfig = conf.getObject(OzoneClientConfig.class);
     this.ecReconstructReadExecutor = createThreadPoolExecutor(
         EC_RECONSTRUCT_STRIPE_READ_POOL_MIN_SIZE,
@@ -221,7 +232,8 @@ public void reconstructECContainerGroup(long containerID,
 
   }
 
-  private ECBlockOutputStream getECBlockOutputStream(
+  @VisibleForTesting
+  ECBlockOutputStream getECBlockOutputStream(
       BlockLocationInfo blockLocationInfo, DatanodeDetails datanodeDetails,
       ECReplicationConfig repConfig, int replicaIndex) throws IOException {
     StreamBufferArgs streamBufferArgs =
@@ -235,6 +247,18 @@ private ECBlockOutputStream getECBlockOutputStream(
         blockLocationInfo.getToken(), clientMetrics, streamBufferArgs, ecReconstructWriteExecutor);
   }
 
+  @VisibleForTesting
+  ECBlockReconstructedStripeInputStream getECBlockReconstructedStripeInputStream(
+      BlockLocationInfo blockLocationInfo, ECReplicationConfig repConfig,
+      OzoneClientConfig clientConfig) {
+    return new ECBlockReconstructedStripeInputStream(
+        repConfig, blockLocationInfo,
+        this.containerOperationClient.getXceiverClientManager(), null,
+        this.blockInputStreamFactory, byteBufferPool,
+        this.ecReconstructReadExecutor,
+        clientConfig);
+  }
+
   @VisibleForTesting
   public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
       ECReplicationConfig repConfig,
@@ -261,26 +285,28 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
     OzoneClientConfig clientConfig = this.ozoneClientConfig;
     clientConfig.setChecksumVerify(true);
     try (ECBlockReconstructedStripeInputStream sis
-        = new ECBlockReconstructedStripeInputStream(
-        repConfig, blockLocationInfo,
-        this.containerOperationClient.getXceiverClientManager(), null,
-        this.blockInputStreamFactory, byteBufferPool,
-        this.ecReconstructReadExecutor,
-        clientConfig)) {
+        = getECBlockReconstructedStripeInputStream(blockLocationInfo, repConfig, clientConfig)) {
 
       ECBlockOutputStream[] targetBlockStreams =
           new ECBlockOutputStream[toReconstructIndexes.size()];
       ECBlockOutputStream[] emptyBlockStreams =
           new ECBlockOutputStream[notReconstructIndexes.size()];
-      ByteBuffer[] bufs = new ByteBuffer[toReconstructIndexes.size()];
+      // Two sets of stripe buffers: a stripe is recovered into one set while
+      // the previous stripe is written from the other set.
+      ByteBuffer[][] bufs = new ByteBuffer[2][toReconstructIndexes.size()];
+      // The writes of the previous stripe, which may be in progress.
+      List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>>
+          pendingWrites = new ArrayList<>();
       try {
         // Create streams and buffers for all indexes that need reconstructed
         for (int i = 0; i < toReconstructIndexes.size(); i++) {
           int replicaIndex = toReconstructIndexes.get(i);
           DatanodeDetails datanodeDetails = targetMap.get(replicaIndex);
           targetBlockStreams[i] = getECBlockOutputStream(blockLocationInfo, datanodeDetails, repConfig, replicaIndex);
-          bufs[i] = byteBufferPool.getBuffer(false, repConfig.getEcChunkSize());
-          bufs[i].clear();
+          for (ByteBuffer[] stripe : bufs) {
+            stripe[i] = byteBufferPool.getBuffer(false, repConfig.getEcChunkSize());
+            stripe[i].clear();
+          }
         }
         // Then create a stream for all indexes that don't need reconstructed, but still need a stream to
         // write the empty block data to.
@@ -294,10 +320,13 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
           sis.setRecoveryIndexes(toReconstructIndexes.stream().map(i -> (i - 1))
               .collect(Collectors.toSet()));
           long length = safeBlockGroupLength;
+          int current = 0;
           while (length > 0) {
+            ByteBuffer[] stripe = bufs[current];
             int readLen;
+            long startNanos = Time.monotonicNowNanos();
             try {
-              readLen = sis.recoverChunks(bufs);
+              readLen = sis.recoverChunks(stripe);
               Set<Integer> failedIndexes = sis.getFailedIndexes();
               if (!failedIndexes.isEmpty()) {
                 // There was a problem reading some of the block indexes, but we
@@ -320,19 +349,20 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
                   blockDataGroup);
               throw e;
             }
-            // TODO: can be submitted in parallel
-            for (int i = 0; i < bufs.length; i++) {
-              if (bufs[i].remaining() != 0) {
-                // If the buffer is empty, we don't need to write it as it will cause
-                // an empty chunk to be added to the end of the block.
-                CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
-                    future = targetBlockStreams[i].write(bufs[i]);
-                checkFailures(targetBlockStreams[i], future);
-              }
-              bufs[i].clear();
+            metrics.addStripeRecoverTime(Time.monotonicNowNanos() - startNanos);
+
+            // The previous stripe was written while this stripe was recovered.
+            awaitWrites(targetBlockStreams, pendingWrites, bufs[1 - current]);
+            for (int i = 0; i < stripe.length; i++) {
+              // If the buffer is empty, we don't need to write it as it will
+              // cause an empty chunk to be added to the end of the block.
+              pendingWrites.add(stripe[i].remaining() != 0
+                  ? targetBlockStreams[i].write(stripe[i]) : null);
             }
             length -= readLen;
+            current = 1 - current;
           }
+          awaitWrites(targetBlockStreams, pendingWrites, bufs[1 - current]);
         }
         List<ECBlockOutputStream> allStreams = new ArrayList<>(Arrays.asList(targetBlockStreams));
         allStreams.addAll(Arrays.asList(emptyBlockStreams));
@@ -341,8 +371,24 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
           checkFailures(targetStream, targetStream.getCurrentPutBlkResponseFuture());
         }
       } finally {
-        for (ByteBuffer buf : bufs) {
-          byteBufferPool.putBuffer(buf);
+        // The buffers must not be reused while they are still being written.
+        for (CompletableFuture<?> write : pendingWrites) {
+          if (write != null) {
+            try {
+              write.get();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } catch (ExecutionException ignored) {
+              // the reconstruction has already failed
+            }
+          }
+        }
+        for (ByteBuffer[] stripe : bufs) {
+          for (ByteBuffer buf : stripe) {
+            if (buf != null) {
+              byteBufferPool.putBuffer(buf);
+            }
+          }
         }
         IOUtils.cleanupWithLogger(LOG, targetBlockStreams);
         IOUtils.cleanupWithLogger(LOG, emptyBlockStreams);
@@ -350,6 +396,26 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
     }
   }
 
+  /**
+   * Wait for the given writes of a stripe, and then clear the stripe buffers
+   * for reuse.
+   */
+  private void awaitWrites(ECBlockOutputStream[] targetBlockStreams,
+      List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>>
+          writes, ByteBuffer[] stripe) throws IOException {
+    long startNanos = Time.monotonicNowNanos();
+    for (int i = 0; i < writes.size(); i++) {
+      if (writes.get(i) != null) {
+        checkFailures(targetBlockStreams[i], writes.get(i));
+      }
+    }
+    writes.clear();
+    for (ByteBuffer buf : stripe) {
+      buf.clear();
+    }
+    metrics.addStripeWriteWaitTime(Time.monotonicNowNanos() - startNanos);
+  }
+
   private void logBlockGroupDetails(BlockLocationInfo blockLocationInfo,
       ECReplicationConfig repConfig, BlockData[] blockDataGroup) {
     LOG.info("Block group details for {}. " +
@@ -23,6 +23,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.ozone.OzoneConsts;
 
 /**
@@ -39,6 +40,10 @@ public final class ECReconstructionMetrics {
   private @Metric MutableCounterLong blockGroupReconstructionFailsTotal;
   private @Metric MutableCounterLong reconstructionTotal;
   private @Metric MutableCounterLong reconstructionFailsTotal;
+  @Metric(about = "Time to read and decode a stripe")
+  private MutableRate stripeRecoverTimeNs;
+  @Metric(about = "Time blocked waiting for the writes of the previous stripe")
+  private MutableRate stripeWriteWaitTimeNs;
 
   private ECReconstructionMetrics() {
   }
@@ -70,6 +75,14 @@ public void incReconstructionFailsTotal() {
     reconstructionFailsTotal.incr();
   }
 
+  public void addStripeRecoverTime(long nanos) {
+    stripeRecoverTimeNs.add(nanos);
+  }
+
+  public void addStripeWriteWaitTime(long nanos) {
+    stripeWriteWaitTimeNs.add(nanos);
+  }
+
   public long getReconstructionTotal() {
     return reconstructionTotal.value();
   }
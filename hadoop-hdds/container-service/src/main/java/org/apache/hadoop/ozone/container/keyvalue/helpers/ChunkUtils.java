@@ -150,6 +150,7 @@ private static void writeData(ChunkBuffer data, String filename,
 
     final long startTime = Time.monotonicNow();
     final long bytesWritten;
+    incPendingIOs(volume);
     try {
       bytesWritten = writer.applyAsLong(data);
     } catch (UncheckedIOException e) {
@@ -157,6 +158,8 @@ private static void writeData(ChunkBuffer data, String filename,
         onFailure(volume);
       }
       throw wrapInStorageContainerException(e.getCause());
+    } finally {
+      decPendingIOs(volume);
     }
 
     final long endTime = Time.monotonicNow();
@@ -199,6 +202,18 @@ private static long writeDataToChannel(FileChannel channel, ChunkBuffer data,
     }
   }
 
+  private static void incPendingIOs(HddsVolume volume) {
+    if (volume != null) {
+      volume.getVolumeIOStats().incPendingIOs();
+    }
+  }
+
+  private static void decPendingIOs(HddsVolume volume) {
+    if (volume != null) {
+      volume.getVolumeIOStats().decPendingIOs();
+    }
+  }
+
   @SuppressWarnings("checkstyle:parameternumber")
   public static ChunkBuffer readData(long len, int bufferCapacity,
       File file, long off, HddsVolume volume, int readMappedBufferThreshold, boolean mmapEnabled,
@@ -224,12 +239,15 @@ private static void readData(File file, long offset, long len,
     final long startTime = Time.monotonicNow();
     final long bytesRead;
 
+    incPendingIOs(volume);
     try (AutoCloseableLock ignoredLock = getFileReadLock(path);
          FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES)) {
       bytesRead = readMethod.apply(channel);
     } catch (Exception e) {
       onFailure(volume);
       throw wrapInStorageContainerException(e);
+    } finally {
+      decPendingIOs(volume);
     }
 
     // Increment volumeIO stats here.
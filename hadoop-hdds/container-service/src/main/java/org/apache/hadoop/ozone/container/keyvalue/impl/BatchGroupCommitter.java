@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+import org.apache.ratis.util.function.CheckedConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Group commit the write batches of a DB, e.g. the per volume DB of schema v3
+ * which is shared by all the containers in the volume.
+ * <p>
+ * The concurrent {@link #commit(CheckedConsumer)} calls are coalesced into a single write batch:
+ * the caller holding the commit lock commits the writes of all the pending calls at once,
+ * while the other callers wait for the lock.
+ * A call returns only after its writes are committed,
+ * so that the in-memory updates following the call are applied after the DB update as before.
+ * <p>
+ * The writes of a group must be independent of each other,
+ * i.e. the writes of a call must not depend on reading the uncommitted writes of another call in the same group.
+ * It holds for PutBlock since the PutBlocks of a container are applied sequentially.
+ * <p>
+ * When a group fails, the writes of the group are committed one by one again,
+ * so that a failed call does not fail the other calls in the group.
+ */
+class BatchGroupCommitter {
+  private static final Logger LOG = LoggerFactory.getLogger(BatchGroupCommitter.class);
+
+  /** The writes of a call and the future completed after they are committed. */
+  private static final class Writes {
+    private final CheckedConsumer<BatchOperation, IOException> writes;
+    private final CompletableFuture<Void> committed = new CompletableFuture<>();
+
+    private Writes(CheckedConsumer<BatchOperation, IOException> writes) {
+      this.writes = writes;
+    }
+  }
+
+  private final BatchOperationHandler batchHandler;
+  private final Lock commitLock = new ReentrantLock();
+  private List<Writes> pending = new ArrayList<>();
+
+  BatchGroupCommitter(BatchOperationHandler batchHandler) {
+    this.batchHandler = Objects.requireNonNull(batchHandler, "batchHandler == null");
+  }
+
+  /**
+   * Add the given writes to a batch and commit it, possibly together with the writes of the other calls.
+   * This method returns after the writes are committed.
+   */
+  void commit(CheckedConsumer<BatchOperation, IOException> writes) throws IOException {
+    final Writes w = new Writes(writes);
+    synchronized (this) {
+      pending.add(w);
+    }
+
+    commitLock.lock();
+    try {
+      // the writes may have been committed by the previous lock holder.
+      if (!w.committed.isDone()) {
+        final List<Writes> group;
+        synchronized (this) {
+          group = pending;
+          pending = new ArrayList<>();
+        }
+        commitGroup(group);
+      }
+    } finally {
+      commitLock.unlock();
+    }
+
+    try {
+      w.committed.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while committing", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException("Failed to commit", cause);
+    }
+  }
+
+  synchronized int getNumPending() {
+    return pending.size();
+  }
+
+  private void commitGroup(List<Writes> group) {
+    if (group.size() > 1) {
+      try (BatchOperation batch = batchHandler.initBatchOperation()) {
+        for (Writes w : group) {
+          w.writes.accept(batch);
+        }
+        batchHandler.commitBatchOperation(batch);
+        group.forEach(w -> w.committed.complete(null));
+        LOG.debug("Committed a group of {} write batches", group.size());
+        return;
+      } catch (Exception e) {
+        LOG.warn("Failed to commit a group of {} write batches, committing them one by one", group.size(), e);
+      }
+    }
+
+    for (Writes w : group) {
+      try (BatchOperation batch = batchHandler.initBatchOperation()) {
+        w.writes.accept(batch);
+        batchHandler.commitBatchOperation(batch);
+        w.committed.complete(null);
+      } catch (Exception e) {
+        w.committed.completeExceptionally(e);
+      }
+    }
+  }
+}
@@ -24,7 +24,10 @@
 import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
@@ -32,15 +35,19 @@
 import org.apache.hadoop.hdds.upgrade.HDDSLayoutFeature;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
+import org.apache.hadoop.ozone.container.metadata.DatanodeStore;
 import org.apache.hadoop.ozone.container.upgrade.VersionedDatanodeFeatures;
+import org.apache.ratis.util.function.CheckedConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,6 +70,8 @@ public class BlockManagerImpl implements BlockManager {
   private final int readMappedBufferThreshold;
   private final int readMappedBufferMaxCount;
   private final boolean readNettyChunkedNioFile;
+  /** The PutBlock group committer of each schema v3 DB; null if group commit is disabled. */
+  private final Map<DatanodeStore, BatchGroupCommitter> groupCommitters;
 
   /**
    * Constructs a Block Manager.
@@ -84,6 +93,12 @@ public BlockManagerImpl(ConfigurationSource conf) {
     this.readNettyChunkedNioFile = config.getBoolean(
         ScmConfigKeys.OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_DEFAULT);
+    this.groupCommitters = config.getObject(DatanodeConfiguration.class).isPutBlockGroupCommitEnabled()
+        ? Collections.synchronizedMap(new WeakHashMap<>()) : null;
+  }
+
+  private BatchGroupCommitter getGroupCommitter(DatanodeStore store) {
+    return groupCommitters.computeIfAbsent(store, s -> new BatchGroupCommitter(s.getBatchHandler()));
   }
 
   @Override
@@ -211,32 +226,27 @@ public long persistPutBlock(KeyValueContainer container,
       // for this block in the DB or not.
       long localID = data.getLocalID();
       boolean isBlockInCache = container.isBlockInPendingPutBlockCache(localID);
-      boolean incrBlockCount = false;
-
-      // update the blockData as well as BlockCommitSequenceId here
-      try (BatchOperation batch = db.getStore().getBatchHandler()
-          .initBatchOperation()) {
-        // If the block does not exist in the pendingPutBlockCache of the
-        // container, then check the DB to ascertain if it exists or not.
-        // If block exists in cache, blockCount should not be incremented.
-        if (!isBlockInCache) {
-          if (db.getStore().getBlockDataTable().get(
-              containerData.getBlockKey(localID)) == null) {
-            // Block does not exist in DB => blockCount needs to be
-            // incremented when the block is added into DB.
-            incrBlockCount = true;
-          }
+      // If the block does not exist in the pendingPutBlockCache of the
+      // container, then check the DB to ascertain if it exists or not.
+      // If block exists in cache, blockCount should not be incremented.
+      // Block does not exist in DB => blockCount needs to be
+      // incremented when the block is added into DB.
+      final boolean incrBlockCount = !isBlockInCache
+          && db.getStore().getBlockDataTable().get(containerData.getBlockKey(localID)) == null;
+
+      boolean incrementalEnabled = true;
+      if (!VersionedDatanodeFeatures.isFinalized(HDDSLayoutFeature.HBASE_SUPPORT)) {
+        if (isPartialChunkList(data)) {
+          throw new StorageContainerException("DataNode has not finalized " +
+              "upgrading to a version that supports incremental chunk list.", UNSUPPORTED_REQUEST);
         }
+        incrementalEnabled = false;
+      }
+      final boolean incremental = incrementalEnabled;
 
-        boolean incrementalEnabled = true;
-        if (!VersionedDatanodeFeatures.isFinalized(HDDSLayoutFeature.HBASE_SUPPORT)) {
-          if (isPartialChunkList(data)) {
-            throw new StorageContainerException("DataNode has not finalized " +
-                "upgrading to a version that supports incremental chunk list.", UNSUPPORTED_REQUEST);
-          }
-          incrementalEnabled = false;
-        }
-        db.getStore().putBlockByID(batch, incrementalEnabled, localID, data,
+      // update the blockData as well as BlockCommitSequenceId here
+      final CheckedConsumer<BatchOperation, IOException> writes = batch -> {
+        db.getStore().putBlockByID(batch, incremental, localID, data,
             containerData, endOfBlock);
         if (bcsId != 0) {
           db.getStore().getMetadataTable().putWithBatch(
@@ -256,8 +266,17 @@ public long persistPutBlock(KeyValueContainer container,
         if (incrBlockCount) {
           db.getStore().getMetadataTable().putWithBatch(batch, containerData.getBlockCountKey(), b.getCount() + 1);
         }
-
-        db.getStore().getBatchHandler().commitBatchOperation(batch);
+      };
+
+      if (groupCommitters != null && containerData.hasSchema(OzoneConsts.SCHEMA_V3)) {
+        // the DB is shared by the containers in the volume.
+        getGroupCommitter(db.getStore()).commit(writes);
+      } else {
+        try (BatchOperation batch = db.getStore().getBatchHandler()
+            .initBatchOperation()) {
+          writes.accept(batch);
+          db.getStore().getBatchHandler().commitBatchOperation(batch);
+        }
       }
 
       if (bcsId != 0) {
@@ -52,7 +52,7 @@ public BackgroundContainerDataScanner(ContainerScannerConfiguration conf,
     super(String.format(NAME_FORMAT, volume), conf.getDataScanInterval());
     this.controller = controller;
     this.volume = volume;
-    throttler = new HddsDataTransferThrottler(conf.getBandwidthPerVolume());
+    throttler = new HddsDataTransferThrottler(conf);
     canceler = new Canceler();
     this.metrics = ContainerDataScannerMetrics.create(volume.toString());
     this.metrics.setStorageDirectory(volume.toString());
@@ -100,9 +100,9 @@ public String toString() {
     return String.format(NAME_FORMAT, volume + ", " + volume.getStorageID());
   }
 
-  private class HddsDataTransferThrottler extends DataTransferThrottler {
-    HddsDataTransferThrottler(long bandwidthPerSec) {
-      super(bandwidthPerSec);
+  private class HddsDataTransferThrottler extends LoadAwareDataTransferThrottler {
+    HddsDataTransferThrottler(ContainerScannerConfiguration conf) {
+      super(volume, conf.getBandwidthPerVolume(), conf.getMinBandwidthPerVolume(), conf);
     }
 
     @Override
@@ -55,6 +55,14 @@ public class ContainerScannerConfiguration {
       "hdds.container.scrub.on.demand.volume.bytes.per.second";
   public static final String CONTAINER_SCAN_MIN_GAP =
       "hdds.container.scrub.min.gap";
+  public static final String VOLUME_MIN_BYTES_PER_SECOND_KEY =
+      "hdds.container.scrub.volume.min.bytes.per.second";
+  public static final String ON_DEMAND_VOLUME_MIN_BYTES_PER_SECOND_KEY =
+      "hdds.container.scrub.on.demand.volume.min.bytes.per.second";
+  public static final String LOAD_AWARE_MAX_PENDING_IO_KEY =
+      "hdds.container.scrub.load.aware.max.pending.io";
+  public static final String LOAD_AWARE_MAX_LATENCY_KEY =
+      "hdds.container.scrub.load.aware.max.latency";
 
   static final long CONTAINER_SCAN_MIN_GAP_DEFAULT =
       Duration.ofMinutes(15).toMillis();
@@ -67,6 +75,11 @@ public class ContainerScannerConfiguration {
   public static final long BANDWIDTH_PER_VOLUME_DEFAULT = OzoneConsts.MB * 5L;
   public static final long ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT =
       OzoneConsts.MB * 5L;
+  public static final long MIN_BANDWIDTH_PER_VOLUME_DEFAULT = OzoneConsts.MB / 2;
+  public static final long ON_DEMAND_MIN_BANDWIDTH_PER_VOLUME_DEFAULT =
+      OzoneConsts.MB * 2L;
+  public static final int LOAD_AWARE_MAX_PENDING_IO_DEFAULT = 8;
+  public static final long LOAD_AWARE_MAX_LATENCY_DEFAULT = 20;
 
   @Config(key = "enabled",
       type = ConfigType.BOOLEAN,
@@ -127,6 +140,56 @@ public class ContainerScannerConfiguration {
   private long onDemandBandwidthPerVolume
       = ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT;
 
+  @Config(key = "load.aware.enabled",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "false",
+      tags = {ConfigTag.STORAGE, ConfigTag.PERFORMANCE},
+      description = "Enable the scanners to yield to the client I/O on the"
+          + " same volume.  When the volume is busy, i.e. the number of"
+          + " pending I/O operations or the average I/O latency exceeds the"
+          + " configured limit, the scanner bandwidth of the volume drops to"
+          + " the minimum bandwidth and then recovers gradually.")
+  private boolean loadAwareEnabled = false;
+
+  @Config(key = "load.aware.max.pending.io",
+      type = ConfigType.INT,
+      defaultValue = "8",
+      tags = {ConfigTag.STORAGE, ConfigTag.PERFORMANCE},
+      description = "When load aware scanning is enabled, the volume is"
+          + " considered busy if it has more pending client I/O operations"
+          + " than this limit.")
+  private int loadAwareMaxPendingIOs = LOAD_AWARE_MAX_PENDING_IO_DEFAULT;
+
+  @Config(key = "load.aware.max.latency",
+      type = ConfigType.TIME,
+      defaultValue = "20ms",
+      tags = {ConfigTag.STORAGE, ConfigTag.PERFORMANCE},
+      description = "When load aware scanning is enabled, the volume is"
+          + " considered busy if the average latency of the client I/O"
+          + " operations exceeds this limit." +
+          " Unit could be defined with postfix (ns,ms,s,m,h,d).")
+  private long loadAwareMaxLatency = LOAD_AWARE_MAX_LATENCY_DEFAULT;
+
+  @Config(key = "volume.min.bytes.per.second",
+      type = ConfigType.LONG,
+      defaultValue = "524288",
+      tags = {ConfigTag.STORAGE, ConfigTag.PERFORMANCE},
+      description = "When load aware scanning is enabled, the minimum I/O"
+          + " bandwidth of the background scanner per volume when the volume"
+          + " is busy.")
+  private long minBandwidthPerVolume = MIN_BANDWIDTH_PER_VOLUME_DEFAULT;
+
+  @Config(key = "on.demand.volume.min.bytes.per.second",
+      type = ConfigType.LONG,
+      defaultValue = "2097152",
+      tags = {ConfigTag.STORAGE, ConfigTag.PERFORMANCE},
+      description = "When load aware scanning is enabled, the minimum I/O"
+          + " bandwidth of the on demand scanner per volume when the volume"
+          + " is busy.  It is higher than the background scanner by default"
+          + " since on demand scans are triggered by suspected corruption.")
+  private long onDemandMinBandwidthPerVolume
+      = ON_DEMAND_MIN_BANDWIDTH_PER_VOLUME_DEFAULT;
+
   @Config(key = "min.gap",
       defaultValue = "15m",
       type = ConfigType.TIME,
@@ -172,6 +235,30 @@ public void validate() {
           onDemandBandwidthPerVolume, ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT);
       onDemandBandwidthPerVolume = ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT;
     }
+    if (minBandwidthPerVolume <= 0) {
+      LOG.warn(VOLUME_MIN_BYTES_PER_SECOND_KEY +
+              " must be > 0 and was set to {}. Defaulting to {}",
+          minBandwidthPerVolume, MIN_BANDWIDTH_PER_VOLUME_DEFAULT);
+      minBandwidthPerVolume = MIN_BANDWIDTH_PER_VOLUME_DEFAULT;
+    }
+    if (onDemandMinBandwidthPerVolume <= 0) {
+      LOG.warn(ON_DEMAND_VOLUME_MIN_BYTES_PER_SECOND_KEY +
+              " must be > 0 and was set to {}. Defaulting to {}",
+          onDemandMinBandwidthPerVolume, ON_DEMAND_MIN_BANDWIDTH_PER_VOLUME_DEFAULT);
+      onDemandMinBandwidthPerVolume = ON_DEMAND_MIN_BANDWIDTH_PER_VOLUME_DEFAULT;
+    }
+    if (loadAwareMaxPendingIOs < 0) {
+      LOG.warn(LOAD_AWARE_MAX_PENDING_IO_KEY +
+              " must be >= 0 and was set to {}. Defaulting to {}",
+          loadAwareMaxPendingIOs, LOAD_AWARE_MAX_PENDING_IO_DEFAULT);
+      loadAwareMaxPendingIOs = LOAD_AWARE_MAX_PENDING_IO_DEFAULT;
+    }
+    if (loadAwareMaxLatency < 0) {
+      LOG.warn(LOAD_AWARE_MAX_LATENCY_KEY +
+              " must be >= 0 and was set to {}. Defaulting to {}",
+          loadAwareMaxLatency, LOAD_AWARE_MAX_LATENCY_DEFAULT);
+      loadAwareMaxLatency = LOAD_AWARE_MAX_LATENCY_DEFAULT;
+    }
   }
 
   public void setEnabled(boolean enabled) {
@@ -214,6 +301,30 @@ public long getOnDemandBandwidthPerVolume() {
     return onDemandBandwidthPerVolume;
   }
 
+  public boolean isLoadAwareEnabled() {
+    return loadAwareEnabled;
+  }
+
+  public void setLoadAwareEnabled(boolean loadAwareEnabled) {
+    this.loadAwareEnabled = loadAwareEnabled;
+  }
+
+  public int getLoadAwareMaxPendingIOs() {
+    return loadAwareMaxPendingIOs;
+  }
+
+  public long getLoadAwareMaxLatency() {
+    return loadAwareMaxLatency;
+  }
+
+  public long getMinBandwidthPerVolume() {
+    return minBandwidthPerVolume;
+  }
+
+  public long getOnDemandMinBandwidthPerVolume() {
+    return onDemandMinBandwidthPerVolume;
+  }
+
   public long getContainerScanMinGap() {
     return containerScanMinGap;
   }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.hadoop.hdfs.util.Canceler;
+import org.apache.hadoop.hdfs.util.DataTransferThrottler;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DataTransferThrottler} for the scanners of a volume
+ * which yields to the client I/O on the same volume.
+ * <p>
+ * The load of the volume is checked from its {@link VolumeIOStats} periodically.
+ * When the number of pending I/O operations or the average I/O latency exceeds the configured limit,
+ * the bandwidth drops to the minimum bandwidth of the scanner,
+ * which guarantees that the scan still makes progress.
+ * Otherwise, the bandwidth doubles in each period until it reaches the maximum bandwidth.
+ * <p>
+ * When {@link ContainerScannerConfiguration#isLoadAwareEnabled()} is false,
+ * this is the same as a {@link DataTransferThrottler} with the maximum bandwidth.
+ */
+class LoadAwareDataTransferThrottler extends DataTransferThrottler {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(LoadAwareDataTransferThrottler.class);
+
+  static final long CHECK_INTERVAL_MS = 1000;
+
+  private final HddsVolume volume;
+  private final boolean enabled;
+  private final long maxBandwidth;
+  private final long minBandwidth;
+  private final int maxPendingIOs;
+  private final long maxLatencyMs;
+
+  private long lastCheckTime;
+  private long lastOpCount;
+  private long lastIOTime;
+
+  LoadAwareDataTransferThrottler(HddsVolume volume, long maxBandwidth,
+      long minBandwidth, ContainerScannerConfiguration conf) {
+    super(maxBandwidth);
+    this.volume = volume;
+    this.enabled = conf.isLoadAwareEnabled() && maxBandwidth > 0
+        && volume != null && volume.getVolumeIOStats() != null;
+    this.maxBandwidth = maxBandwidth;
+    this.minBandwidth = Math.max(1, Math.min(minBandwidth, maxBandwidth));
+    this.maxPendingIOs = conf.getLoadAwareMaxPendingIOs();
+    this.maxLatencyMs = conf.getLoadAwareMaxLatency();
+    this.lastCheckTime = Time.monotonicNow();
+  }
+
+  @Override
+  public synchronized void throttle(long numOfBytes, Canceler canceler) {
+    if (enabled) {
+      checkLoad(Time.monotonicNow());
+    }
+    super.throttle(numOfBytes, canceler);
+  }
+
+  @VisibleForTesting
+  synchronized void checkLoad(long now) {
+    if (now - lastCheckTime < CHECK_INTERVAL_MS) {
+      return;
+    }
+    lastCheckTime = now;
+
+    final VolumeIOStats stats = volume.getVolumeIOStats();
+    final long opCount = stats.getReadOpCount() + stats.getWriteOpCount();
+    final long ioTime = stats.getTotalIOTime();
+    final long ops = opCount - lastOpCount;
+    final long latency = ops > 0 ? (ioTime - lastIOTime) / ops : 0;
+    lastOpCount = opCount;
+    lastIOTime = ioTime;
+
+    final int pendingIOs = stats.getPendingIOs();
+    final long bandwidth = getBandwidth();
+    final long newBandwidth;
+    if (pendingIOs > maxPendingIOs || latency > maxLatencyMs) {
+      newBandwidth = minBandwidth;
+    } else {
+      newBandwidth = bandwidth > maxBandwidth / 2 ? maxBandwidth : bandwidth * 2;
+    }
+    if (newBandwidth != bandwidth) {
+      LOG.debug("Volume {}: pendingIOs={}, latency={}ms, change scanner bandwidth from {} to {} bytes/s",
+          volume, pendingIOs, latency, bandwidth, newBandwidth);
+      setBandwidth(newBandwidth);
+    }
+  }
+}
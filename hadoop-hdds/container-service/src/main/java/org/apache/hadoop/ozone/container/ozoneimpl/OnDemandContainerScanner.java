@@ -27,6 +27,7 @@
 import org.apache.hadoop.hdfs.util.Canceler;
 import org.apache.hadoop.hdfs.util.DataTransferThrottler;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +42,9 @@ public final class OnDemandContainerScanner {
 
   private final ExecutorService scanExecutor;
   private final DataTransferThrottler throttler;
+  /** Volume -> throttler, used when load aware scanning is enabled. */
+  private final ConcurrentHashMap<HddsVolume, DataTransferThrottler> volumeThrottlers = new ConcurrentHashMap<>();
+  private final ContainerScannerConfiguration conf;
   private final Canceler canceler;
   private final ConcurrentHashMap
       .KeySetView<Long, Boolean> containerRescheduleCheckSet;
@@ -50,6 +54,7 @@ public final class OnDemandContainerScanner {
 
   public OnDemandContainerScanner(
       ContainerScannerConfiguration conf, ContainerController controller) {
+    this.conf = conf;
     throttler = new DataTransferThrottler(
         conf.getOnDemandBandwidthPerVolume());
     canceler = new Canceler();
@@ -115,7 +120,7 @@ private void performOnDemandScan(Container<?> container, ContainerScanHelper hel
     }
     try {
       if (helper.shouldScanData(container)) {
-        helper.scanData(container, throttler, canceler);
+        helper.scanData(container, getThrottler(container), canceler);
       } else {
         // for containers that qualify for metadata scan and not data scan,
         // like OPEN containers, trigger a metadata-only scan
@@ -131,6 +136,15 @@ private void performOnDemandScan(Container<?> container, ContainerScanHelper hel
     }
   }
 
+  private DataTransferThrottler getThrottler(Container<?> container) {
+    final HddsVolume volume = container.getContainerData().getVolume();
+    if (!conf.isLoadAwareEnabled() || volume == null) {
+      return throttler;
+    }
+    return volumeThrottlers.computeIfAbsent(volume, v -> new LoadAwareDataTransferThrottler(
+        v, conf.getOnDemandBandwidthPerVolume(), conf.getOnDemandMinBandwidthPerVolume(), conf));
+  }
+
   public OnDemandScannerMetrics getMetrics() {
     return metrics;
   }
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server.ratis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.ozone.container.ContainerTestHelper;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link BlockTaskQueueMap}.
+ */
+public class TestBlockTaskQueueMap {
+  private static final long CONTAINER_ID = 1;
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private Pipeline pipeline;
+  private final BlockTaskQueueMap queues = new BlockTaskQueueMap();
+  private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  public void setup() throws Exception {
+    pipeline = MockPipeline.createSingleNodePipeline();
+  }
+
+  @AfterEach
+  public void cleanup() {
+    executor.shutdownNow();
+  }
+
+  private ContainerCommandRequestProto writeChunk(BlockID blockID) throws Exception {
+    return ContainerTestHelper.getWriteChunkRequest(pipeline, blockID, 16);
+  }
+
+  private ContainerCommandRequestProto putBlock(BlockID blockID) throws Exception {
+    return ContainerTestHelper.getPutBlockRequest(writeChunk(blockID));
+  }
+
+  /** Submit a task which records its name after the given latch is released. */
+  private CompletableFuture<ContainerCommandResponseProto> submit(
+      ContainerCommandRequestProto request, String name, CountDownLatch latch) {
+    return queues.submit(request, () -> {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      events.add(name);
+      return null;
+    }, executor);
+  }
+
+  @Test
+  public void testGetKind() throws Exception {
+    final BlockID blockID = ContainerTestHelper.getTestBlockID(CONTAINER_ID);
+    assertEquals(BlockTaskQueueMap.Kind.CHUNK, BlockTaskQueueMap.getKind(writeChunk(blockID)));
+    assertEquals(BlockTaskQueueMap.Kind.BLOCK, BlockTaskQueueMap.getKind(putBlock(blockID)));
+    assertEquals(BlockTaskQueueMap.Kind.BARRIER,
+        BlockTaskQueueMap.getKind(ContainerTestHelper.getCloseContainer(pipeline, CONTAINER_ID)));
+    assertEquals(blockID.getLocalID(), BlockTaskQueueMap.getLocalId(putBlock(blockID)));
+  }
+
+  @Test
+  public void testChunksOfDifferentBlocksRunConcurrently() throws Exception {
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch released = new CountDownLatch(0);
+    final BlockID block1 = ContainerTestHelper.getTestBlockID(CONTAINER_ID);
+    final BlockID block2 = ContainerTestHelper.getTestBlockID(CONTAINER_ID);
+
+    final CompletableFuture<?> put1 = submit(putBlock(block1), "put1", blocked);
+    final CompletableFuture<?> chunk2 = submit(writeChunk(block2), "chunk2", released);
+    // the chunk of block2 does not wait for the PutBlock of block1
+    chunk2.get(10, TimeUnit.SECONDS);
+    assertFalse(put1.isDone());
+
+    blocked.countDown();
+    put1.get(10, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList("chunk2", "put1"), events);
+  }
+
+  @Test
+  public void testOrdering() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final BlockID block1 = ContainerTestHelper.getTestBlockID(CONTAINER_ID);
+    final BlockID block2 = ContainerTestHelper.getTestBlockID(CONTAINER_ID);
+
+    final List<CompletableFuture<?>> futures = new ArrayList<>();
+    futures.add(submit(writeChunk(block1), "chunk1", latch));
+    // same block
+    futures.add(submit(putBlock(block1), "put1", new CountDownLatch(0)));
+    // PutBlocks are ordered within a container
+    futures.add(submit(putBlock(block2), "put2", new CountDownLatch(0)));
+    // a barrier waits for all the previous tasks
+    futures.add(submit(ContainerTestHelper.getCloseContainer(pipeline, CONTAINER_ID), "close",
+        new CountDownLatch(0)));
+    // later tasks wait for the barrier
+    futures.add(submit(writeChunk(ContainerTestHelper.getTestBlockID(CONTAINER_ID)), "chunk3",
+        new CountDownLatch(0)));
+
+    latch.countDown();
+    for (CompletableFuture<?> f : futures) {
+      f.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(Arrays.asList("chunk1", "put1", "put2", "close", "chunk3"), events);
+    // the container is removed after the tasks complete
+    GenericTestUtils.waitFor(() -> queues.size() == 0, 10, 10_000);
+  }
+
+  @Test
+  public void testFailureDoesNotBlockLaterTasks() throws Exception {
+    final BlockID blockID = ContainerTestHelper.getTestBlockID(CONTAINER_ID);
+    final CompletableFuture<?> failed = queues.submit(putBlock(blockID), () -> {
+      throw new IllegalStateException("failed");
+    }, executor);
+    final CompletableFuture<?> next = submit(putBlock(blockID), "put", new CountDownLatch(0));
+
+    next.get(10, TimeUnit.SECONDS);
+    assertTrue(failed.isCompletedExceptionally());
+    assertEquals(Collections.singletonList("put"), events);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server.ratis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.ratis.protocol.RaftGroupId;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests {@link StateMachineDataCache}.
+ */
+public class TestStateMachineDataCache {
+  private CSMMetrics metrics;
+
+  @BeforeEach
+  public void setup() {
+    metrics = CSMMetrics.create(RaftGroupId.randomId());
+  }
+
+  @AfterEach
+  public void cleanup() {
+    metrics.unRegister();
+  }
+
+  private static ByteString data(long index) {
+    return ByteString.copyFrom(String.format("data-%05d", index), StandardCharsets.UTF_8);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void testEvictOldestFirst(boolean offHeap) {
+    final long entrySize = data(0).size();
+    final StateMachineDataCache cache = new StateMachineDataCache(5 * entrySize, offHeap, metrics);
+
+    for (long i = 1; i <= 8; i++) {
+      cache.put(i, data(i));
+      assertTrue(cache.size() <= 5 * entrySize);
+    }
+    for (long i = 1; i <= 3; i++) {
+      assertNull(cache.get(i));
+    }
+    for (long i = 4; i <= 8; i++) {
+      assertEquals(data(i), cache.get(i));
+      assertEquals(offHeap, cache.get(i).asReadOnlyByteBuffer().isDirect());
+    }
+    assertEquals(5 * entrySize, metrics.getDataCacheBytes());
+    assertEquals(5, metrics.getDataCacheEntries());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void testRemove(boolean offHeap) {
+    final StateMachineDataCache cache = new StateMachineDataCache(Long.MAX_VALUE, offHeap, metrics);
+    for (long i = 1; i <= 10; i++) {
+      cache.put(i, data(i));
+    }
+    // overwrite
+    cache.put(10L, data(10));
+
+    cache.removeUpTo(3);
+    cache.removeAfter(8);
+    for (long i = 1; i <= 10; i++) {
+      if (i <= 3 || i > 8) {
+        assertNull(cache.get(i));
+      } else {
+        assertNotNull(cache.get(i));
+      }
+    }
+    assertEquals(5 * data(0).size(), cache.size());
+    assertEquals(5, metrics.getDataCacheEntries());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, metrics.getDataCacheBytes());
+    assertEquals(0, metrics.getDataCacheEntries());
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.volume;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_DATANODE_VOLUME_CHOOSING_POLICY;
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_DATANODE_IO_METRICS_PERCENTILES_INTERVALS_SECONDS_KEY;
+import static org.apache.hadoop.hdds.scm.ScmConfigKeys.HDDS_DATANODE_DIR_DU_RESERVED_PERCENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.fs.MockSpaceUsageCheckFactory;
+import org.apache.hadoop.hdds.fs.MockSpaceUsageSource;
+import org.apache.hadoop.hdds.fs.SpaceUsageCheckFactory;
+import org.apache.hadoop.hdds.fs.SpaceUsagePersistence;
+import org.apache.hadoop.util.DiskChecker.DiskOutOfSpaceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link LatencyAwareVolumeChoosingPolicy}.
+ */
+public class TestLatencyAwareVolumeChoosingPolicy {
+
+  private static final int OPS_PER_INTERVAL = 10;
+
+  private LatencyAwareVolumeChoosingPolicy policy;
+  private final List<HddsVolume> volumes = new ArrayList<>();
+
+  @TempDir
+  private Path baseDir;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setFloat(HDDS_DATANODE_DIR_DU_RESERVED_PERCENT, 0);
+    conf.set(OZONE_DATANODE_IO_METRICS_PERCENTILES_INTERVALS_SECONDS_KEY, "60");
+    // refresh the volume states in each call
+    policy = new LatencyAwareVolumeChoosingPolicy(0);
+
+    for (int i = 1; i <= 3; i++) {
+      SpaceUsageCheckFactory factory = MockSpaceUsageCheckFactory.of(
+          MockSpaceUsageSource.fixed(500, 200), Duration.ZERO, SpaceUsagePersistence.None.INSTANCE);
+      volumes.add(new HddsVolume.Builder(baseDir + "disk" + i)
+          .conf(conf)
+          .usageCheckFactory(factory)
+          .build());
+    }
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    volumes.forEach(HddsVolume::shutdown);
+  }
+
+  /** Record {@link #OPS_PER_INTERVAL} write operations with the given latency. */
+  private static void recordWrites(HddsVolume volume, long latencyMs) {
+    final VolumeIOStats stats = volume.getVolumeIOStats();
+    for (int i = 0; i < OPS_PER_INTERVAL; i++) {
+      stats.incWriteTime(latencyMs);
+      stats.incWriteOpCount();
+    }
+  }
+
+  /** Record one interval of writes and then refresh the policy by choosing a volume. */
+  private void runInterval(long... latencyMs) throws Exception {
+    for (int i = 0; i < volumes.size(); i++) {
+      recordWrites(volumes.get(i), latencyMs[i]);
+    }
+    policy.chooseVolume(volumes, 0);
+  }
+
+  @Test
+  public void testAvoidsSlowVolume() throws Exception {
+    final HddsVolume slow = volumes.get(2);
+    runInterval(1, 1, 20);
+    assertTrue(policy.isHot(slow));
+    assertFalse(policy.isHot(volumes.get(0)));
+    assertFalse(policy.isHot(volumes.get(1)));
+
+    for (int i = 0; i < 100; i++) {
+      assertNotEquals(slow, policy.chooseVolume(volumes, 0));
+    }
+  }
+
+  @Test
+  public void testHysteresis() throws Exception {
+    final HddsVolume slow = volumes.get(2);
+    runInterval(1, 1, 20);
+    assertTrue(policy.isHot(slow));
+
+    // 2x the median is below the enter ratio but above the exit ratio: still hot.
+    for (int i = 0; i < 20; i++) {
+      runInterval(1, 1, 2);
+    }
+    assertTrue(policy.isHot(slow));
+
+    for (int i = 0; i < 20; i++) {
+      runInterval(1, 1, 1);
+    }
+    assertFalse(policy.isHot(slow));
+
+    // once it is cool, 2x the median does not make it hot again.
+    for (int i = 0; i < 20; i++) {
+      runInterval(1, 1, 2);
+    }
+    assertFalse(policy.isHot(slow));
+  }
+
+  @Test
+  public void testOnlyHotVolumesWithEnoughSpace() throws Exception {
+    final HddsVolume slow = volumes.get(2);
+    runInterval(1, 1, 20);
+    assertTrue(policy.isHot(slow));
+
+    // the cool volumes are full, so the hot volume is chosen.
+    volumes.get(0).incCommittedBytes(200);
+    volumes.get(1).incCommittedBytes(200);
+    assertEquals(slow, policy.chooseVolume(volumes, 100));
+  }
+
+  @Test
+  public void testSpreadsRecentContainers() throws Exception {
+    // no refresh, so the recent container counts are not decayed
+    policy = new LatencyAwareVolumeChoosingPolicy(Long.MAX_VALUE);
+    Map<HddsVolume, Integer> chooseCount = new HashMap<>();
+    for (int i = 0; i < 30; i++) {
+      chooseCount.merge(policy.chooseVolume(volumes, 0), 1, Integer::sum);
+    }
+    assertEquals(volumes.size(), chooseCount.size());
+    for (int count : chooseCount.values()) {
+      assertThat(count).isGreaterThan(1);
+    }
+  }
+
+  @Test
+  public void throwsDiskOutOfSpaceIfRequestMoreThanAvailable() {
+    Exception e = assertThrows(DiskOutOfSpaceException.class,
+        () -> policy.chooseVolume(volumes, 500));
+
+    assertThat(e.getMessage())
+        .contains("No volumes have enough space for a new container.");
+  }
+
+  @Test
+  public void testVolumeChoosingPolicyFactory() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(HDDS_DATANODE_VOLUME_CHOOSING_POLICY,
+        LatencyAwareVolumeChoosingPolicy.class.getName());
+    assertEquals(LatencyAwareVolumeChoosingPolicy.class,
+        VolumeChoosingPolicyFactory.getPolicy(conf).getClass());
+  }
+}
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ec.reconstruction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
+import org.apache.hadoop.hdds.scm.storage.ECBlockOutputStream;
+import org.apache.hadoop.io.ByteBufferPool;
+import org.apache.hadoop.ozone.client.io.ECBlockReconstructedStripeInputStream;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the pipelined stripe writes of {@link ECReconstructionCoordinator}.
+ */
+public class TestECReconstructionCoordinator {
+  private static final int CHUNK_SIZE = 1024;
+  private static final int NUM_STRIPES = 3;
+  private static final ECReplicationConfig REP_CONFIG =
+      new ECReplicationConfig(3, 2, ECReplicationConfig.EcCodec.RS, CHUNK_SIZE);
+  private static final long BLOCK_GROUP_LENGTH =
+      (long) NUM_STRIPES * REP_CONFIG.getData() * CHUNK_SIZE;
+  /** A data index and a parity index. */
+  private static final int[] TARGET_INDEXES = {1, 4};
+
+  private final TrackingBufferPool bufferPool = new TrackingBufferPool();
+  private final Map<Integer, ECBlockOutputStream> targetStreams = new TreeMap<>();
+  private final SortedMap<Integer, DatanodeDetails> targetMap = new TreeMap<>();
+  private final BlockData[] blockDataGroup = new BlockData[REP_CONFIG.getRequiredNodes()];
+  private final BlockLocationInfo blockLocationInfo = new BlockLocationInfo.Builder()
+      .setBlockID(new BlockID(1, 1))
+      .setLength(BLOCK_GROUP_LENGTH)
+      .build();
+
+  /** The writes of each stripe, in the order of the target indexes. */
+  private final List<List<CompletableFuture<ContainerCommandResponseProto>>> stripeWrites =
+      Collections.synchronizedList(new ArrayList<>());
+  private final AtomicInteger recoveredStripes = new AtomicInteger();
+  /** For each recovered stripe but the first, whether the writes of the previous stripe were in flight. */
+  private final List<Boolean> overlapped = Collections.synchronizedList(new ArrayList<>());
+  /** Whether a target got a write while its previous write was still in flight. */
+  private volatile boolean concurrentWrites;
+  /** Complete the writes of the previous stripe when the next stripe is being recovered. */
+  private Consumer<List<CompletableFuture<ContainerCommandResponseProto>>> completePreviousWrites;
+
+  private ECReconstructionMetrics metrics;
+  private ECBlockReconstructedStripeInputStream stripeInputStream;
+  private ECReconstructionCoordinator coordinator;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    metrics = ECReconstructionMetrics.create();
+    completePreviousWrites = writes -> writes.forEach(w -> w.complete(newResponse()));
+
+    stripeInputStream = mock(ECBlockReconstructedStripeInputStream.class);
+    when(stripeInputStream.getFailedIndexes()).thenReturn(Collections.emptySet());
+    when(stripeInputStream.recoverChunks(any())).thenAnswer(invocation -> {
+      final int stripe = recoveredStripes.getAndIncrement();
+      if (stripe > 0) {
+        final List<CompletableFuture<ContainerCommandResponseProto>> previous = stripeWrites.get(stripe - 1);
+        overlapped.add(previous.stream().noneMatch(CompletableFuture::isDone));
+        completePreviousWrites.accept(previous);
+      }
+      stripeWrites.add(Collections.synchronizedList(new ArrayList<>()));
+      for (ByteBuffer buf : (ByteBuffer[]) invocation.getArgument(0)) {
+        buf.put(new byte[CHUNK_SIZE]);
+        buf.flip();
+      }
+      return REP_CONFIG.getData() * CHUNK_SIZE;
+    });
+
+    for (int index : TARGET_INDEXES) {
+      targetMap.put(index, MockDatanodeDetails.randomDatanodeDetails());
+      targetStreams.put(index, newTargetStream());
+    }
+
+    coordinator = new ECReconstructionCoordinator(new OzoneConfiguration(),
+        null, null, null, metrics, "", bufferPool) {
+      @Override
+      ECBlockOutputStream getECBlockOutputStream(BlockLocationInfo info,
+          DatanodeDetails datanodeDetails, ECReplicationConfig repConfig, int replicaIndex) {
+        return targetStreams.get(replicaIndex);
+      }
+
+      @Override
+      ECBlockReconstructedStripeInputStream getECBlockReconstructedStripeInputStream(
+          BlockLocationInfo info, ECReplicationConfig repConfig, OzoneClientConfig clientConfig) {
+        return stripeInputStream;
+      }
+    };
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    coordinator.close();
+    metrics.unRegister();
+  }
+
+  private static ContainerCommandResponseProto newResponse() {
+    return ContainerCommandResponseProto.newBuilder()
+        .setCmdType(Type.WriteChunk)
+        .setResult(Result.SUCCESS)
+        .build();
+  }
+
+  private ECBlockOutputStream newTargetStream() throws IOException {
+    final ECBlockOutputStream stream = mock(ECBlockOutputStream.class);
+    final List<CompletableFuture<ContainerCommandResponseProto>> writes = new ArrayList<>();
+    when(stream.write(any(ByteBuffer.class))).thenAnswer(invocation -> {
+      if (writes.stream().anyMatch(w -> !w.isDone())) {
+        concurrentWrites = true;
+      }
+      final int stripe = recoveredStripes.get() - 1;
+      final CompletableFuture<ContainerCommandResponseProto> write = new CompletableFuture<>();
+      if (stripe == NUM_STRIPES - 1) {
+        // no more stripe to recover
+        write.complete(newResponse());
+      }
+      writes.add(write);
+      stripeWrites.get(stripe).add(write);
+      return write;
+    });
+    when(stream.getCurrentPutBlkResponseFuture())
+        .thenReturn(CompletableFuture.completedFuture(newResponse()));
+    return stream;
+  }
+
+  private void reconstruct() throws IOException {
+    coordinator.reconstructECBlockGroup(blockLocationInfo, REP_CONFIG, targetMap, blockDataGroup);
+  }
+
+  @Test
+  public void testWritesOverlapNextStripeRecovery() throws Exception {
+    assertTimeoutPreemptively(Duration.ofSeconds(30), this::reconstruct);
+
+    verify(stripeInputStream, times(NUM_STRIPES)).recoverChunks(any());
+    assertEquals(NUM_STRIPES, stripeWrites.size());
+    // every stripe but the first was recovered while the previous stripe was being written
+    assertEquals(Collections.nCopies(NUM_STRIPES - 1, true), overlapped);
+    // still at most one write in flight for each target
+    assertFalse(concurrentWrites);
+    for (ECBlockOutputStream stream : targetStreams.values()) {
+      verify(stream, times(NUM_STRIPES)).write(any(ByteBuffer.class));
+      verify(stream).executePutBlock(true, true, BLOCK_GROUP_LENGTH, blockDataGroup);
+      verify(stream).close();
+    }
+    bufferPool.assertAllReleased();
+  }
+
+  @Test
+  public void testWriteFailureDuringOverlap() throws Exception {
+    // the write of the first stripe fails at the first target while the second stripe is recovered
+    completePreviousWrites = writes -> {
+      writes.get(0).completeExceptionally(new IOException("Write failed"));
+      for (int i = 1; i < writes.size(); i++) {
+        writes.get(i).complete(newResponse());
+      }
+    };
+
+    assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+      assertThrows(IOException.class, this::reconstruct);
+    });
+
+    // failed before recovering the third stripe
+    verify(stripeInputStream, times(2)).recoverChunks(any());
+    for (ECBlockOutputStream stream : targetStreams.values()) {
+      verify(stream, times(1)).write(any(ByteBuffer.class));
+      verify(stream, never()).executePutBlock(anyBoolean(), anyBoolean(), anyLong(), any());
+      verify(stream).close();
+    }
+    bufferPool.assertAllReleased();
+  }
+
+  /**
+   * A {@link ByteBufferPool} tracking the buffers,
+   * which must be released only after all the writes are done.
+   */
+  private final class TrackingBufferPool implements ByteBufferPool {
+    private final Set<ByteBuffer> allocated = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<ByteBuffer> released = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile boolean releasedInFlight;
+
+    @Override
+    public synchronized ByteBuffer getBuffer(boolean direct, int length) {
+      final ByteBuffer buf = ByteBuffer.allocate(length);
+      allocated.add(buf);
+      return buf;
+    }
+
+    @Override
+    public synchronized void putBuffer(ByteBuffer buffer) {
+      assertTrue(allocated.contains(buffer));
+      assertTrue(released.add(buffer), "Released twice");
+      if (stripeWrites.stream().flatMap(List::stream).anyMatch(w -> !w.isDone())) {
+        releasedInFlight = true;
+      }
+    }
+
+    synchronized void assertAllReleased() {
+      // both buffer sets
+      assertEquals(2 * TARGET_INDEXES.length, allocated.size());
+      assertEquals(allocated, released);
+      assertFalse(releasedInFlight, "Released a buffer being written");
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+import org.apache.ozone.test.GenericTestUtils;
+import org.apache.ratis.util.function.CheckedConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link BatchGroupCommitter}.
+ */
+public class TestBatchGroupCommitter {
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  /** The committed batches. */
+  private final List<BatchOperation> committed = Collections.synchronizedList(new ArrayList<>());
+  private final CountDownLatch firstCommit = new CountDownLatch(1);
+  private BatchGroupCommitter committer;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    final BatchOperationHandler handler = mock(BatchOperationHandler.class);
+    when(handler.initBatchOperation()).thenAnswer(i -> mock(BatchOperation.class));
+    doAnswer(i -> {
+      // block the first commit until released
+      if (committed.isEmpty()) {
+        assertTrue(firstCommit.await(10, TimeUnit.SECONDS));
+      }
+      committed.add(i.getArgument(0));
+      return null;
+    }).when(handler).commitBatchOperation(any());
+    committer = new BatchGroupCommitter(handler);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    executor.shutdownNow();
+  }
+
+  private CompletableFuture<Void> commitAsync(CheckedConsumer<BatchOperation, IOException> writes) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        committer.commit(writes);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }, executor);
+  }
+
+  @Test
+  public void testGroupCommit() throws Exception {
+    final List<BatchOperation> batches = Collections.synchronizedList(new ArrayList<>());
+    final CompletableFuture<Void> first = commitAsync(batches::add);
+    GenericTestUtils.waitFor(() -> committer.getNumPending() == 0 && !batches.isEmpty(), 10, 10_000);
+
+    // the following calls wait for the first commit
+    final List<CompletableFuture<Void>> others = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      others.add(commitAsync(batches::add));
+    }
+    GenericTestUtils.waitFor(() -> committer.getNumPending() == 3, 10, 10_000);
+    firstCommit.countDown();
+
+    first.get(10, TimeUnit.SECONDS);
+    for (CompletableFuture<Void> f : others) {
+      f.get(10, TimeUnit.SECONDS);
+    }
+    // the following calls are committed in a single batch
+    assertEquals(2, committed.size());
+    assertEquals(4, batches.size());
+    for (int i = 1; i < 4; i++) {
+      assertSame(committed.get(1), batches.get(i));
+    }
+  }
+
+  @Test
+  public void testFailureDoesNotFailTheGroup() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CompletableFuture<Void> first = commitAsync(batch -> started.countDown());
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    final CompletableFuture<Void> failed = commitAsync(batch -> {
+      throw new IOException("failed");
+    });
+    final CompletableFuture<Void> succeeded = commitAsync(batch -> { });
+    GenericTestUtils.waitFor(() -> committer.getNumPending() == 2, 10, 10_000);
+    firstCommit.countDown();
+
+    first.get(10, TimeUnit.SECONDS);
+    succeeded.get(10, TimeUnit.SECONDS);
+    assertThrows(Exception.class, () -> failed.get(10, TimeUnit.SECONDS));
+    // the first batch and the succeeded batch, which is committed alone after the group failed
+    assertEquals(2, committed.size());
+  }
+}
@@ -32,8 +32,13 @@
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
@@ -44,6 +49,7 @@
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
@@ -56,6 +62,8 @@
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * This class is used to test key related operations on the container.
@@ -267,6 +275,86 @@ public void testPutBlockForClosed(ContainerTestVersionInfo versionInfo)
     }
   }
 
+  /**
+   * Concurrent PutBlocks on the schema v3 containers of a volume,
+   * which share the DB of the volume.
+   */
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void testConcurrentPutBlockSchemaV3(boolean groupCommit)
+      throws Exception {
+    this.layout = ContainerLayoutVersion.FILE_PER_BLOCK;
+    this.schemaVersion = OzoneConsts.SCHEMA_V3;
+    this.config = new OzoneConfiguration();
+    ContainerTestVersionInfo.setTestSchemaVersion(schemaVersion, config);
+    DatanodeConfiguration dc = config.getObject(DatanodeConfiguration.class);
+    dc.setPutBlockGroupCommitEnabled(groupCommit);
+    config.setFromObject(dc);
+    initialize();
+
+    final int numContainers = 4;
+    final int numBlocks = 50;
+    final long chunkLength = 1024;
+    final List<KeyValueContainer> containers = new ArrayList<>();
+    containers.add(keyValueContainer);
+    for (long id = 2; id <= numContainers; id++) {
+      KeyValueContainerData data = new KeyValueContainerData(id, layout,
+          (long) StorageUnit.GB.toBytes(5),
+          keyValueContainerData.getOriginPipelineId(),
+          keyValueContainerData.getOriginNodeId());
+      KeyValueContainer container = new KeyValueContainer(data, config);
+      container.create(volumeSet, volumeChoosingPolicy, scmId);
+      containers.add(container);
+    }
+
+    // the PutBlocks of a container are in order, as applied by Ratis,
+    // while the containers are written concurrently.
+    final ExecutorService executor = Executors.newFixedThreadPool(numContainers);
+    try {
+      final List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (KeyValueContainer container : containers) {
+        futures.add(CompletableFuture.runAsync(() -> {
+          final KeyValueContainerData data = container.getContainerData();
+          try {
+            for (long bcsId = 1; bcsId <= numBlocks; bcsId++) {
+              // the WriteChunk of the block
+              data.updateWriteStats(chunkLength, false);
+              BlockData block = new BlockData(new BlockID(data.getContainerID(), bcsId));
+              block.setChunks(Collections.singletonList(new ChunkInfo(
+                  String.format("%d.data.%d", bcsId, 0), 0, chunkLength).getProtoBufMessage()));
+              block.setBlockCommitSequenceId(bcsId);
+              blockManager.putBlock(container, block);
+            }
+          } catch (IOException e) {
+            throw new IllegalStateException(e);
+          }
+        }, executor));
+      }
+      for (CompletableFuture<Void> f : futures) {
+        f.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    for (KeyValueContainer container : containers) {
+      final KeyValueContainerData data = container.getContainerData();
+      assertEquals(numBlocks, data.getBlockCommitSequenceId());
+      assertEquals(numBlocks, data.getBlockCount());
+      try (DBHandle db = BlockUtils.getDB(data, config)) {
+        assertEquals(numBlocks, db.getStore().getMetadataTable().get(data.getBcsIdKey()));
+        assertEquals(numBlocks, db.getStore().getMetadataTable().get(data.getBlockCountKey()));
+        assertEquals(numBlocks * chunkLength, db.getStore().getMetadataTable().get(data.getBytesUsedKey()));
+      }
+      for (long localID = 1; localID <= numBlocks; localID++) {
+        BlockData block = blockManager.getBlock(container,
+            new BlockID(data.getContainerID(), localID));
+        assertEquals(chunkLength, block.getSize());
+        assertEquals(localID, block.getBlockCommitSequenceId());
+      }
+    }
+  }
+
   @ContainerTestVersionInfo.ContainerTest
   public void testListBlock(ContainerTestVersionInfo versionInfo)
       throws Exception {
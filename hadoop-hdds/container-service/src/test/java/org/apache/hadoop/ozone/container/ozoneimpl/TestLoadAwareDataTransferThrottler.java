@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import static org.apache.hadoop.ozone.container.ozoneimpl.LoadAwareDataTransferThrottler.CHECK_INTERVAL_MS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.util.Time;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link LoadAwareDataTransferThrottler}.
+ */
+public class TestLoadAwareDataTransferThrottler {
+  private static final long MAX = 1024 * 1024;
+  private static final long MIN = 64 * 1024;
+
+  private VolumeIOStats stats;
+  private LoadAwareDataTransferThrottler throttler;
+  private long now;
+
+  @BeforeEach
+  public void setup() {
+    ContainerScannerConfiguration conf = new OzoneConfiguration()
+        .getObject(ContainerScannerConfiguration.class);
+    conf.setLoadAwareEnabled(true);
+
+    stats = mock(VolumeIOStats.class);
+    HddsVolume volume = mock(HddsVolume.class);
+    when(volume.getVolumeIOStats()).thenReturn(stats);
+
+    throttler = new LoadAwareDataTransferThrottler(volume, MAX, MIN, conf);
+    now = Time.monotonicNow();
+  }
+
+  private void nextInterval(int pendingIOs, long ops, long ioTime) {
+    when(stats.getPendingIOs()).thenReturn(pendingIOs);
+    when(stats.getWriteOpCount()).thenReturn(ops);
+    when(stats.getTotalIOTime()).thenReturn(ioTime);
+    now += CHECK_INTERVAL_MS;
+    throttler.checkLoad(now);
+  }
+
+  @Test
+  public void testYieldToPendingIOs() {
+    nextInterval(0, 0, 0);
+    assertEquals(MAX, throttler.getBandwidth());
+
+    nextInterval(ContainerScannerConfiguration.LOAD_AWARE_MAX_PENDING_IO_DEFAULT + 1, 0, 0);
+    assertEquals(MIN, throttler.getBandwidth());
+
+    // recovers gradually
+    nextInterval(0, 0, 0);
+    assertEquals(2 * MIN, throttler.getBandwidth());
+    for (int i = 0; i < 10; i++) {
+      nextInterval(0, 0, 0);
+    }
+    assertEquals(MAX, throttler.getBandwidth());
+  }
+
+  @Test
+  public void testYieldToLatency() {
+    // 100 ops of 5ms: not busy
+    nextInterval(0, 100, 500);
+    assertEquals(MAX, throttler.getBandwidth());
+
+    // 100 ops of 50ms: busy
+    nextInterval(0, 200, 5500);
+    assertEquals(MIN, throttler.getBandwidth());
+  }
+
+  @Test
+  public void testCheckInterval() {
+    nextInterval(ContainerScannerConfiguration.LOAD_AWARE_MAX_PENDING_IO_DEFAULT + 1, 0, 0);
+    assertEquals(MIN, throttler.getBandwidth());
+
+    when(stats.getPendingIOs()).thenReturn(0);
+    throttler.checkLoad(now + CHECK_INTERVAL_MS - 1);
+    assertEquals(MIN, throttler.getBandwidth());
+  }
+}
@@ -30,6 +30,11 @@ public final class RSUtil {
   // primitive polynomial 285, and primitive root 2).
   public static final GaloisField GF = GaloisField.getInstance();
   public static final int PRIMITIVE_ROOT = 2;
+  /**
+   * The size of the blocks copied from direct buffers for encoding.
+   * The blocks of all the inputs and outputs should fit in the CPU cache.
+   */
+  static final int DIRECT_BUFFER_BLOCK_SIZE = 4096;
 
   private RSUtil() {
   }
@@ -131,56 +136,76 @@ public static void encodeData(byte[] gfTables, int dataLen, byte[][] inputs,
   }
 
   /**
-   * See above. Try to use the byte[] version when possible.
+   * See above. Heap buffers are encoded using their backing arrays.
+   * For direct buffers, accessing the buffers one byte at a time is slow,
+   * so the data is copied in bulk to and from arrays,
+   * one block of {@link #DIRECT_BUFFER_BLOCK_SIZE} bytes at a time,
+   * and then encoded using the byte[] version.
+   * The positions of the buffers are not changed.
    */
   public static void encodeData(byte[] gfTables, ByteBuffer[] inputs,
       ByteBuffer[] outputs) {
-    int numInputs = inputs.length;
-    int numOutputs = outputs.length;
-    int dataLen = inputs[0].remaining();
-    int l, i, j, iPos, oPos;
-    ByteBuffer input, output;
-    byte s;
-    final int times = dataLen / 8;
-    final int extra = dataLen - dataLen % 8;
-    byte[] tableLine;
-
-    for (l = 0; l < numOutputs; l++) {
-      output = outputs[l];
-
-      for (j = 0; j < numInputs; j++) {
-        input = inputs[j];
-        iPos = input.position();
-        oPos = output.position();
-
-        s = gfTables[j * 32 + l * numInputs * 32 + 1];
-        tableLine = GF256.gfMulTab()[s & 0xff];
+    final int numInputs = inputs.length;
+    final int numOutputs = outputs.length;
+    final int dataLen = inputs[0].remaining();
+
+    if (hasArrays(inputs) && hasArrays(outputs)) {
+      final byte[][] inputArrays = new byte[numInputs][];
+      final int[] inputOffsets = new int[numInputs];
+      for (int j = 0; j < numInputs; j++) {
+        inputArrays[j] = inputs[j].array();
+        inputOffsets[j] = inputs[j].arrayOffset() + inputs[j].position();
+      }
+      final byte[][] outputArrays = new byte[numOutputs][];
+      final int[] outputOffsets = new int[numOutputs];
+      for (int l = 0; l < numOutputs; l++) {
+        outputArrays[l] = outputs[l].array();
+        outputOffsets[l] = outputs[l].arrayOffset() + outputs[l].position();
+      }
+      encodeData(gfTables, dataLen, inputArrays, inputOffsets,
+          outputArrays, outputOffsets);
+      return;
+    }
 
-        for (i = 0; i < times; i++, iPos += 8, oPos += 8) {
-          output.put(oPos + 0, (byte) (output.get(oPos + 0) ^
-              tableLine[0xff & input.get(iPos + 0)]));
-          output.put(oPos + 1, (byte) (output.get(oPos + 1) ^
-              tableLine[0xff & input.get(iPos + 1)]));
-          output.put(oPos + 2, (byte) (output.get(oPos + 2) ^
-              tableLine[0xff & input.get(iPos + 2)]));
-          output.put(oPos + 3, (byte) (output.get(oPos + 3) ^
-              tableLine[0xff & input.get(iPos + 3)]));
-          output.put(oPos + 4, (byte) (output.get(oPos + 4) ^
-              tableLine[0xff & input.get(iPos + 4)]));
-          output.put(oPos + 5, (byte) (output.get(oPos + 5) ^
-              tableLine[0xff & input.get(iPos + 5)]));
-          output.put(oPos + 6, (byte) (output.get(oPos + 6) ^
-              tableLine[0xff & input.get(iPos + 6)]));
-          output.put(oPos + 7, (byte) (output.get(oPos + 7) ^
-              tableLine[0xff & input.get(iPos + 7)]));
-        }
+    final int blockSize = Math.min(dataLen, DIRECT_BUFFER_BLOCK_SIZE);
+    final byte[][] inputBlocks = new byte[numInputs][blockSize];
+    final byte[][] outputBlocks = new byte[numOutputs][blockSize];
+    final int[] inputOffsets = new int[numInputs];
+    final int[] outputOffsets = new int[numOutputs];
+    final ByteBuffer[] in = new ByteBuffer[numInputs];
+    for (int j = 0; j < numInputs; j++) {
+      in[j] = inputs[j].duplicate();
+    }
+    final ByteBuffer[] out = new ByteBuffer[numOutputs];
+    for (int l = 0; l < numOutputs; l++) {
+      out[l] = outputs[l].duplicate();
+    }
 
-        for (i = extra; i < dataLen; i++, iPos++, oPos++) {
-          output.put(oPos, (byte) (output.get(oPos) ^
-              tableLine[0xff & input.get(iPos)]));
-        }
+    for (int done = 0; done < dataLen; done += blockSize) {
+      final int n = Math.min(blockSize, dataLen - done);
+      for (int j = 0; j < numInputs; j++) {
+        in[j].get(inputBlocks[j], 0, n);
+      }
+      for (int l = 0; l < numOutputs; l++) {
+        // the outputs are accumulated, so read their current content.
+        final int position = out[l].position();
+        out[l].get(outputBlocks[l], 0, n);
+        out[l].position(position);
+      }
+      encodeData(gfTables, n, inputBlocks, inputOffsets,
+          outputBlocks, outputOffsets);
+      for (int l = 0; l < numOutputs; l++) {
+        out[l].put(outputBlocks[l], 0, n);
       }
     }
   }
 
+  private static boolean hasArrays(ByteBuffer[] buffers) {
+    for (ByteBuffer b : buffers) {
+      if (!b.hasArray()) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ozone.erasurecode.rawcoder.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test {@link RSUtil}.
+ */
+public class TestRSUtil {
+  private static final int NUM_DATA = 6;
+  private static final int NUM_PARITY = 3;
+
+  /** The ByteBuffer encoding must produce the same result as the byte[] one. */
+  @ParameterizedTest
+  @ValueSource(ints = {1, 7, RSUtil.DIRECT_BUFFER_BLOCK_SIZE,
+      3 * RSUtil.DIRECT_BUFFER_BLOCK_SIZE + 5})
+  public void testEncodeByteBuffers(int dataLen) {
+    final Random random = new Random(dataLen);
+    final byte[] matrix = new byte[(NUM_DATA + NUM_PARITY) * NUM_DATA];
+    RSUtil.genCauchyMatrix(matrix, NUM_DATA + NUM_PARITY, NUM_DATA);
+    final byte[] gfTables = new byte[(NUM_DATA + NUM_PARITY) * NUM_DATA * 32];
+    RSUtil.initTables(NUM_DATA, NUM_PARITY, matrix, NUM_DATA * NUM_DATA,
+        gfTables);
+
+    final int offset = 3;
+    final byte[][] inputs = new byte[NUM_DATA][offset + dataLen];
+    final int[] inputOffsets = new int[NUM_DATA];
+    for (int j = 0; j < NUM_DATA; j++) {
+      random.nextBytes(inputs[j]);
+      inputOffsets[j] = offset;
+    }
+    final byte[][] expected = new byte[NUM_PARITY][dataLen];
+    RSUtil.encodeData(gfTables, dataLen, inputs, inputOffsets, expected,
+        new int[NUM_PARITY]);
+
+    for (boolean direct : new boolean[] {false, true}) {
+      final ByteBuffer[] inputBuffers = new ByteBuffer[NUM_DATA];
+      for (int j = 0; j < NUM_DATA; j++) {
+        inputBuffers[j] = allocate(direct, offset + dataLen);
+        inputBuffers[j].put(inputs[j]);
+        inputBuffers[j].position(offset);
+      }
+      final ByteBuffer[] outputBuffers = new ByteBuffer[NUM_PARITY];
+      for (int l = 0; l < NUM_PARITY; l++) {
+        outputBuffers[l] = allocate(direct, offset + dataLen);
+        outputBuffers[l].position(offset);
+      }
+
+      RSUtil.encodeData(gfTables, inputBuffers, outputBuffers);
+
+      for (int l = 0; l < NUM_PARITY; l++) {
+        // the positions are not changed
+        assertEquals(offset, outputBuffers[l].position());
+        final byte[] actual = new byte[dataLen];
+        outputBuffers[l].get(actual);
+        assertArrayEquals(expected[l], actual, "direct=" + direct);
+      }
+      for (ByteBuffer b : inputBuffers) {
+        assertEquals(offset, b.position());
+      }
+    }
+  }
+
+  private static ByteBuffer allocate(boolean direct, int size) {
+    return direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+  }
+}
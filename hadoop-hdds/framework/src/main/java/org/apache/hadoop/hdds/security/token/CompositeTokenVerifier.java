@@ -43,4 +43,9 @@ public void verify(Token<?> token,
     }
   }
 
+  @Override
+  public void close() {
+    delegates.forEach(TokenVerifier::close);
+  }
+
 }
@@ -17,9 +17,13 @@
 
 package org.apache.hadoop.hdds.security.token;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProtoOrBuilder;
 import org.apache.hadoop.hdds.security.SecurityConfig;
@@ -30,6 +34,12 @@
 
 /**
  * Verifies short-lived token.
+ * <p>
+ * When {@link SecurityConfig#getVerifiedTokenCacheSize()} is positive,
+ * the tokens with a valid signature are cached,
+ * so that a token used for many requests (e.g. reading the chunks of a block)
+ * is decoded and its signature is computed only once.
+ * The expiry of the token and of its secret key is checked for every request.
  * @param <T> type of short-lived token
  */
 public abstract class
@@ -38,11 +48,33 @@
 
   private final SecurityConfig conf;
   private final SecretKeyVerifierClient secretKeyClient;
+  /** The tokens with a valid signature; null if caching is disabled. */
+  private final Cache<TokenBytes, VerifiedToken<T>> verifiedTokens;
+  private final TokenVerifierMetrics metrics;
+  private final AtomicBoolean closed = new AtomicBoolean();
 
   protected ShortLivedTokenVerifier(SecurityConfig conf,
       SecretKeyVerifierClient secretKeyClient) {
     this.conf = conf;
     this.secretKeyClient = secretKeyClient;
+    final int cacheSize = conf.getVerifiedTokenCacheSize();
+    if (cacheSize > 0) {
+      this.verifiedTokens = CacheBuilder.newBuilder()
+          .maximumSize(cacheSize)
+          .build();
+      this.metrics = TokenVerifierMetrics.acquire();
+    } else {
+      this.verifiedTokens = null;
+      this.metrics = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    // release the shared metrics only once
+    if (metrics != null && closed.compareAndSet(false, true)) {
+      TokenVerifierMetrics.release();
+    }
   }
 
   /** Whether the specific kind of token is required for {@code cmdType}. */
@@ -69,14 +101,7 @@ public void verify(Token<?> token,
       return;
     }
 
-    T tokenId = createTokenIdentifier();
-    try {
-      tokenId.readFromByteArray(token.getIdentifier());
-    } catch (IOException ex) {
-      throw new BlockTokenException("Failed to decode token : " + token);
-    }
-
-    verifyTokenPassword(tokenId, token.getPassword());
+    final T tokenId = verifyTokenSignature(token);
 
     // check expiration
     if (tokenId.isExpired(Instant.now())) {
@@ -98,7 +123,40 @@ protected SecurityConfig getConf() {
     return conf;
   }
 
-  private void verifyTokenPassword(
+  /**
+   * Decode the token and verify its signature, or get it from the cache.
+   * @return the decoded token identifier.
+   */
+  private T verifyTokenSignature(Token<?> token) throws SCMSecurityException {
+    final TokenBytes key = verifiedTokens == null ? null : new TokenBytes(token);
+    if (key != null) {
+      final VerifiedToken<T> cached = verifiedTokens.getIfPresent(key);
+      if (cached != null) {
+        if (!cached.secretKey.isExpired()) {
+          metrics.incrVerifiedTokenCacheHits();
+          return cached.tokenId;
+        }
+        // the secret key has been rotated out
+        verifiedTokens.invalidate(key);
+      }
+      metrics.incrVerifiedTokenCacheMisses();
+    }
+
+    final T tokenId = createTokenIdentifier();
+    try {
+      tokenId.readFromByteArray(token.getIdentifier());
+    } catch (IOException ex) {
+      throw new BlockTokenException("Failed to decode token : " + token);
+    }
+
+    final ManagedSecretKey secretKey = verifyTokenPassword(tokenId, token.getPassword());
+    if (key != null) {
+      verifiedTokens.put(key, new VerifiedToken<>(tokenId, secretKey));
+    }
+    return tokenId;
+  }
+
+  private ManagedSecretKey verifyTokenPassword(
       ShortLivedTokenIdentifier tokenId, byte[] password)
       throws SCMSecurityException {
 
@@ -119,5 +177,48 @@ private void verifyTokenPassword(
       throw new BlockTokenException("Invalid token for user: " +
           tokenId.getUser());
     }
+    return secretKey;
+  }
+
+  /** The identifier and the password of a token, for looking up the verified tokens. */
+  private static final class TokenBytes {
+    private final byte[] identifier;
+    private final byte[] password;
+    private final int hash;
+
+    TokenBytes(Token<?> token) {
+      this.identifier = token.getIdentifier();
+      this.password = token.getPassword();
+      this.hash = 31 * Arrays.hashCode(identifier) + Arrays.hashCode(password);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      } else if (!(obj instanceof TokenBytes)) {
+        return false;
+      }
+      final TokenBytes that = (TokenBytes) obj;
+      return hash == that.hash
+          && Arrays.equals(identifier, that.identifier)
+          && Arrays.equals(password, that.password);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /** A token with a valid signature and the secret key verifying it. */
+  private static final class VerifiedToken<T> {
+    private final T tokenId;
+    private final ManagedSecretKey secretKey;
+
+    VerifiedToken(T tokenId, ManagedSecretKey secretKey) {
+      this.tokenId = tokenId;
+      this.secretKey = secretKey;
+    }
   }
 }
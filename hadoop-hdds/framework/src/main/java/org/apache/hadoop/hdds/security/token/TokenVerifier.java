@@ -18,6 +18,7 @@
 package org.apache.hadoop.hdds.security.token;
 
 import com.google.common.base.Strings;
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
@@ -34,7 +35,7 @@
  */
 @InterfaceAudience.Private
 @InterfaceStability.Evolving
-public interface TokenVerifier {
+public interface TokenVerifier extends Closeable {
 
   /**
    * Verify if {@code token} is valid to allow execution of {@code cmd} for
@@ -67,6 +68,11 @@ default void verify(ContainerCommandRequestProtoOrBuilder cmd,
     verify(token, cmd);
   }
 
+  /** Release the resources of this verifier, e.g. its metrics. */
+  @Override
+  default void close() {
+  }
+
   /** Create appropriate token verifier based on the configuration. */
   static TokenVerifier create(SecurityConfig conf,
       SecretKeyVerifierClient secretKeyClient) throws IOException {
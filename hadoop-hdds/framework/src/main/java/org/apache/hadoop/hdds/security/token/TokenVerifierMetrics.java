@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.security.token;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics of the verified token cache of the {@link ShortLivedTokenVerifier}s.
+ * The metrics are shared by all the verifiers in the JVM:
+ * the metrics source is registered when the first verifier {@link #acquire()}s it
+ * and unregistered when the last verifier {@link #release()}s it.
+ */
+@InterfaceAudience.Private
+@Metrics(about = "Token verifier metrics", context = OzoneConsts.OZONE)
+public final class TokenVerifierMetrics {
+  private static final String SOURCE_NAME = TokenVerifierMetrics.class.getSimpleName();
+
+  private static TokenVerifierMetrics instance;
+  /** The number of verifiers using the {@link #instance}. */
+  private static int references;
+
+  @Metric("Number of tokens found in the verified token cache")
+  private MutableCounterLong verifiedTokenCacheHits;
+  @Metric("Number of tokens not found in the verified token cache")
+  private MutableCounterLong verifiedTokenCacheMisses;
+
+  private TokenVerifierMetrics() {
+  }
+
+  /** @return the metrics, which must be {@link #release()}d once no longer used. */
+  static synchronized TokenVerifierMetrics acquire() {
+    if (instance == null) {
+      instance = DefaultMetricsSystem.instance().register(SOURCE_NAME,
+          "Metrics of the datanode token verifiers", new TokenVerifierMetrics());
+    }
+    references++;
+    return instance;
+  }
+
+  static synchronized void release() {
+    if (references > 0 && --references == 0) {
+      DefaultMetricsSystem.instance().unregisterSource(SOURCE_NAME);
+      instance = null;
+    }
+  }
+
+  /** @return the metrics if they are in use by any verifier; otherwise, null. */
+  public static synchronized TokenVerifierMetrics getInstance() {
+    return instance;
+  }
+
+  void incrVerifiedTokenCacheHits() {
+    verifiedTokenCacheHits.incr();
+  }
+
+  void incrVerifiedTokenCacheMisses() {
+    verifiedTokenCacheMisses.incr();
+  }
+
+  public long getVerifiedTokenCacheHits() {
+    return verifiedTokenCacheHits.value();
+  }
+
+  public long getVerifiedTokenCacheMisses() {
+    return verifiedTokenCacheMisses.value();
+  }
+}
@@ -52,6 +52,19 @@ public class RDBBatchOperation implements BatchOperation {
 
   private enum Op { DELETE }
 
+  /** A delete-op with a {@link CodecBuffer} key, which is released with this op. */
+  private static final class DeleteOp {
+    private final CodecBuffer key;
+
+    DeleteOp(CodecBuffer key) {
+      this.key = key;
+    }
+
+    void release() {
+      key.release();
+    }
+  }
+
   private static void debug(Supplier<String> message) {
     if (LOG.isTraceEnabled()) {
       LOG.trace("\n{}", message.get());
@@ -138,8 +151,9 @@ private class FamilyCache {
       /**
        * A (dbKey -> dbValue) map, where the dbKey type is {@link Bytes}
        * and the dbValue type is {@link Object}.
-       * When dbValue is a byte[]/{@link ByteBuffer}, it represents a put-op.
-       * Otherwise, it represents a delete-op (dbValue is {@link Op#DELETE}).
+       * When dbValue is a byte[]/{@link CodecBuffer}, it represents a put-op.
+       * Otherwise, it represents a delete-op
+       * (dbValue is {@link Op#DELETE} for a byte[] key or a {@link DeleteOp} for a {@link CodecBuffer} key).
        */
       private final Map<Bytes, Object> ops = new HashMap<>();
       private boolean isCommit;
@@ -168,6 +182,8 @@ void prepareBatchWrite() throws RocksDatabaseException {
                 ((CodecBuffer) value).asReadOnlyByteBuffer());
           } else if (value == Op.DELETE) {
             family.batchDelete(writeBatch, key.array());
+          } else if (value instanceof DeleteOp) {
+            family.batchDelete(writeBatch, key.asReadOnlyByteBuffer());
           } else {
             throw new IllegalStateException("Unexpected value: " + value
                 + ", class=" + value.getClass().getSimpleName());
@@ -189,6 +205,8 @@ void clear() {
         for (Object value : ops.values()) {
           if (value instanceof CodecBuffer) {
             ((CodecBuffer) value).release(); // the key will also be released
+          } else if (value instanceof DeleteOp) {
+            ((DeleteOp) value).release();
           }
         }
         ops.clear();
@@ -204,10 +222,13 @@ void putOrDelete(Bytes key, int keyLen, Object val, int valLen) {
         // remove previous first in order to call release()
         final Object previous = ops.remove(key);
         if (previous != null) {
-          final boolean isPut = previous != Op.DELETE;
+          final boolean isPut = previous != Op.DELETE && !(previous instanceof DeleteOp);
           final int preLen;
           if (!isPut) {
             preLen = 0;
+            if (previous instanceof DeleteOp) {
+              ((DeleteOp) previous).release();
+            }
           } else if (previous instanceof CodecBuffer) {
             final CodecBuffer previousValue = (CodecBuffer) previous;
             preLen = previousValue.readableBytes();
@@ -250,6 +271,11 @@ void delete(byte[] key) {
         putOrDelete(new Bytes(key), key.length, Op.DELETE, 0);
       }
 
+      void delete(CodecBuffer key) {
+        delCount++;
+        putOrDelete(new Bytes(key), key.readableBytes(), new DeleteOp(key), 0);
+      }
+
       String putString(int keySize, int valueSize) {
         return String.format("put(key: %s, value: %s), #put=%s",
             byteSize2String(keySize), byteSize2String(valueSize), putCount);
@@ -287,6 +313,11 @@ void delete(ColumnFamily family, byte[] key) {
           .delete(key);
     }
 
+    void delete(ColumnFamily family, CodecBuffer key) {
+      name2cache.computeIfAbsent(family.getName(), k -> new FamilyCache(family))
+          .delete(key);
+    }
+
     /** Prepare batch write for the entire cache. */
     UncheckedAutoCloseable prepareBatchWrite() throws RocksDatabaseException {
       for (Map.Entry<String, FamilyCache> e : name2cache.entrySet()) {
@@ -367,6 +398,11 @@ public void delete(ColumnFamily family, byte[] key) {
     opCache.delete(family, key);
   }
 
+  /** The key will be released after commit or close. */
+  public void delete(ColumnFamily family, CodecBuffer key) {
+    opCache.delete(family, key);
+  }
+
   public void put(ColumnFamily family, CodecBuffer key, CodecBuffer value) {
     opCache.put(family, key, value);
   }
@@ -302,6 +302,15 @@ public void batchDelete(ManagedWriteBatch writeBatch, byte[] key)
       }
     }
 
+    public void batchDelete(ManagedWriteBatch writeBatch, ByteBuffer key)
+        throws RocksDatabaseException {
+      try (UncheckedAutoCloseable ignored = acquire()) {
+        writeBatch.delete(getHandle(), key.duplicate());
+      } catch (RocksDBException e) {
+        throw toRocksDatabaseException(this, "batchDelete ByteBuffer key " + bytes2String(key), e);
+      }
+    }
+
     public void batchPut(ManagedWriteBatch writeBatch, byte[] key, byte[] value)
         throws RocksDatabaseException {
       if (LOG.isDebugEnabled()) {
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.audit;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.spi.LoggerContext;
+
+/**
+ * Metrics of the asynchronous audit logging.
+ * <p>
+ * The audit events are queued in the ring buffer of the log4j2 async loggers
+ * and appended to the audit log by a background thread.
+ * The queue depth is available when the log4j2 context selector is
+ * AsyncLoggerContextSelector, as set by the ozone start script.
+ * The metrics are shared by all the {@link AuditLogger}s in the JVM:
+ * the metrics source is registered when the first service logging audit events {@link #acquire()}s it
+ * and unregistered when the last service {@link #release()}s it on stop.
+ */
+@InterfaceAudience.Private
+@Metrics(about = "Audit log metrics", context = OzoneConsts.OZONE)
+public final class AuditLogMetrics {
+  private static final String SOURCE_NAME = AuditLogMetrics.class.getSimpleName();
+
+  private static AuditLogMetrics instance;
+  /** The number of services using the {@link #instance}. */
+  private static int references;
+
+  @Metric("Number of audit events which found the async queue full")
+  private MutableCounterLong queueFullEvents;
+  @Metric("Number of audit events dropped since the async queue was full")
+  private MutableCounterLong droppedEvents;
+
+  private AuditLogMetrics() {
+  }
+
+  /** @return the metrics, which must be {@link #release()}d once the service stops. */
+  public static synchronized AuditLogMetrics acquire() {
+    if (instance == null) {
+      instance = DefaultMetricsSystem.instance().register(SOURCE_NAME,
+          "Metrics of the asynchronous audit logging", new AuditLogMetrics());
+    }
+    references++;
+    return instance;
+  }
+
+  public static synchronized void release() {
+    if (references > 0 && --references == 0) {
+      DefaultMetricsSystem.instance().unregisterSource(SOURCE_NAME);
+      instance = null;
+    }
+  }
+
+  /** @return the metrics if they are in use by any service; otherwise, null. */
+  public static synchronized AuditLogMetrics getInstance() {
+    return instance;
+  }
+
+  void incrQueueFullEvents() {
+    queueFullEvents.incr();
+  }
+
+  void incrDroppedEvents() {
+    droppedEvents.incr();
+  }
+
+  public long getQueueFullEvents() {
+    return queueFullEvents.value();
+  }
+
+  public long getDroppedEvents() {
+    return droppedEvents.value();
+  }
+
+  @Metric("Number of audit events waiting in the async queue")
+  public long getQueueDepth() {
+    final RingBufferAdmin ringBuffer = getRingBuffer();
+    return ringBuffer == null ? 0
+        : ringBuffer.getBufferSize() - ringBuffer.getRemainingCapacity();
+  }
+
+  @Metric("Capacity of the async queue")
+  public long getQueueCapacity() {
+    final RingBufferAdmin ringBuffer = getRingBuffer();
+    return ringBuffer == null ? 0 : ringBuffer.getBufferSize();
+  }
+
+  private static RingBufferAdmin getRingBuffer() {
+    final LoggerContext context = LogManager.getContext(false);
+    return context instanceof AsyncLoggerContext
+        ? ((AsyncLoggerContext) context).createRingBufferAdmin() : null;
+  }
+}
@@ -80,33 +80,30 @@ public ExtendedLogger getLogger() {
 
   public void logWriteSuccess(AuditMessage msg) {
     if (shouldLogAtDebug(msg)) {
-      this.logger.logIfEnabled(FQCN, Level.DEBUG, WRITE_MARKER, msg, null);
+      log(Level.DEBUG, WRITE_MARKER, msg, null);
     } else {
-      this.logger.logIfEnabled(FQCN, Level.INFO, WRITE_MARKER, msg, null);
+      log(Level.INFO, WRITE_MARKER, msg, null);
     }
   }
 
   public void logWriteFailure(AuditMessage msg) {
-    this.logger.logIfEnabled(FQCN, Level.ERROR, WRITE_MARKER, msg,
-        msg.getThrowable());
+    log(Level.ERROR, WRITE_MARKER, msg, msg.getThrowable());
   }
 
   public void logAuthFailure(AuditMessage msg) {
-    this.logger.logIfEnabled(FQCN, Level.ERROR, AUTH_MARKER, msg,
-        msg.getThrowable());
+    log(Level.ERROR, AUTH_MARKER, msg, msg.getThrowable());
   }
 
   public void logReadSuccess(AuditMessage msg) {
     if (shouldLogAtDebug(msg)) {
-      this.logger.logIfEnabled(FQCN, Level.DEBUG, READ_MARKER, msg, null);
+      log(Level.DEBUG, READ_MARKER, msg, null);
     } else {
-      this.logger.logIfEnabled(FQCN, Level.INFO, READ_MARKER, msg, null);
+      log(Level.INFO, READ_MARKER, msg, null);
     }
   }
 
   public void logReadFailure(AuditMessage msg) {
-    this.logger.logIfEnabled(FQCN, Level.ERROR, READ_MARKER, msg,
-        msg.getThrowable());
+    log(Level.ERROR, READ_MARKER, msg, msg.getThrowable());
   }
 
   public void logWrite(AuditMessage auditMessage) {
@@ -118,7 +115,17 @@ public void logWrite(AuditMessage auditMessage) {
   }
 
   public void logPerformance(AuditMessage msg) {
-    this.logger.logIfEnabled(FQCN, Level.INFO, PERFORMANCE, msg, null);
+    log(Level.INFO, PERFORMANCE, msg, null);
+  }
+
+  /** Log an audit event, marked so that {@link AuditQueueFullPolicy} applies only to the audit events. */
+  private void log(Level level, Marker marker, AuditMessage msg, Throwable throwable) {
+    AuditQueueFullPolicy.beginAudit();
+    try {
+      this.logger.logIfEnabled(FQCN, level, marker, msg, throwable);
+    } finally {
+      AuditQueueFullPolicy.endAudit();
+    }
   }
 
   public void refreshDebugCmdSet() {
@@ -17,15 +17,22 @@
 
 package org.apache.hadoop.ozone.audit;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Supplier;
 import org.apache.hadoop.ozone.audit.AuditLogger.PerformanceStringBuilder;
+import org.apache.logging.log4j.message.AsynchronouslyFormattable;
 import org.apache.logging.log4j.message.Message;
 import org.apache.ratis.util.MemoizedSupplier;
 
 /**
  * Defines audit message structure.
+ * <p>
+ * The message is formatted lazily, by the log4j2 background thread
+ * when the audit logger is asynchronous.
+ * Therefore, it keeps a copy of the mutable parameters.
  */
+@AsynchronouslyFormattable
 public final class AuditMessage implements Message {
 
   private static final long serialVersionUID = 1L;
@@ -38,8 +45,10 @@ private AuditMessage(String user, String ip, String op,
       Map<String, String> params, String ret, Throwable throwable,
       PerformanceStringBuilder performance) {
     this.op = op;
+    final Map<String, String> paramsCopy = params != null ? new LinkedHashMap<>(params) : null;
+    final String perf = performance != null ? performance.build() : null;
     this.messageSupplier = MemoizedSupplier.valueOf(
-        () -> formMessage(user, ip, op, params, ret, performance));
+        () -> formMessage(user, ip, op, paramsCopy, ret, perf));
     this.throwable = throwable;
   }
 
@@ -121,10 +130,8 @@ public AuditMessage build() {
   }
 
   private String formMessage(String userStr, String ipStr, String opStr,
-      Map<String, String> paramsMap, String retStr,
-      PerformanceStringBuilder performanceMap) {
-    String perf = performanceMap != null
-        ? " | perf=" + performanceMap.build() : "";
+      Map<String, String> paramsMap, String retStr, String performance) {
+    String perf = performance != null ? " | perf=" + performance : "";
     return "user=" + userStr + " | ip=" + ipStr + " | " + "op=" + opStr
         + " " + paramsMap + " | ret=" + retStr + perf;
   }
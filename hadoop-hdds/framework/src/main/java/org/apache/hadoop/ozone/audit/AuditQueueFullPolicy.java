@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.audit;
+
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_AUDIT_LOG_QUEUE_FULL_POLICY;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_AUDIT_LOG_QUEUE_FULL_POLICY_DEFAULT;
+
+import java.util.Locale;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The log4j2 {@link AsyncQueueFullPolicy} for the audit loggers,
+ * set by the ozone start script using the system property
+ * {@code log4j2.AsyncQueueFullPolicy}.
+ * <p>
+ * When the async queue is full,
+ * {@link Policy#BLOCK} waits for the queue to have space (back-pressure)
+ * and {@link Policy#DISCARD} drops the success events (INFO and below);
+ * the failure events are never dropped.
+ * The events are counted in {@link AuditLogMetrics}.
+ * <p>
+ * The policy is set for the whole JVM, but log4j2 does not tell which logger an event is from.
+ * The {@link AuditLogger}s mark the thread while logging an event,
+ * so that the policy applies only to the audit events;
+ * the other events are queued as in the log4j2 default policy.
+ */
+@InterfaceAudience.Private
+public class AuditQueueFullPolicy implements AsyncQueueFullPolicy {
+  private static final Logger LOG = LoggerFactory.getLogger(AuditQueueFullPolicy.class);
+
+  /** What to do when the queue is full. */
+  public enum Policy {
+    BLOCK,
+    DISCARD
+  }
+
+  /** Is the current thread logging an audit event? */
+  private static final ThreadLocal<Boolean> AUDITING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+  private final Policy policy;
+
+  /** Invoked by log4j2. */
+  public AuditQueueFullPolicy() {
+    this(new OzoneConfiguration());
+  }
+
+  AuditQueueFullPolicy(OzoneConfiguration conf) {
+    this.policy = Policy.valueOf(conf.getTrimmed(OZONE_AUDIT_LOG_QUEUE_FULL_POLICY,
+        OZONE_AUDIT_LOG_QUEUE_FULL_POLICY_DEFAULT).toUpperCase(Locale.ROOT));
+    LOG.info("{} = {}", OZONE_AUDIT_LOG_QUEUE_FULL_POLICY, policy);
+  }
+
+  static void beginAudit() {
+    AUDITING.set(Boolean.TRUE);
+  }
+
+  static void endAudit() {
+    AUDITING.set(Boolean.FALSE);
+  }
+
+  @Override
+  public EventRoute getRoute(long backgroundThreadId, Level level) {
+    if (Thread.currentThread().getId() == backgroundThreadId) {
+      // the background thread cannot wait for itself, as in log4j2 default policy.
+      return EventRoute.SYNCHRONOUS;
+    }
+    if (!AUDITING.get()) {
+      return EventRoute.ENQUEUE;
+    }
+
+    final AuditLogMetrics metrics = AuditLogMetrics.getInstance();
+    if (metrics != null) {
+      metrics.incrQueueFullEvents();
+    }
+    if (policy == Policy.DISCARD && !level.isMoreSpecificThan(Level.WARN)) {
+      if (metrics != null) {
+        metrics.incrDroppedEvents();
+      }
+      return EventRoute.DISCARD;
+    }
+    return EventRoute.ENQUEUE;
+  }
+}
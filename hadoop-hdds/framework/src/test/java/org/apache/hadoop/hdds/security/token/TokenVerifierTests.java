@@ -23,6 +23,7 @@
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +34,7 @@
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
+import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.security.SecurityConfig;
@@ -216,6 +218,70 @@ public void acceptsValidToken() throws Exception {
     subject.verify(token, cmd);
   }
 
+  @Test
+  public void cachesVerifiedToken() throws Exception {
+    // GIVEN
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(tokenEnabledConfigKey(), true);
+    conf.setInt(HddsConfigKeys.HDDS_TOKEN_VERIFIED_CACHE_SIZE, 10);
+    SecretKeyVerifierClient secretKeyClient =
+        mock(SecretKeyVerifierClient.class);
+    ManagedSecretKey secretKey = mock(ManagedSecretKey.class);
+    when(secretKeyClient.getSecretKey(SECRET_KEY_ID)).thenReturn(secretKey);
+    when(secretKey.isValidSignature((TokenIdentifier) any(), any()))
+        .thenReturn(true);
+
+    ShortLivedTokenSecretManager<T> secretManager = new MockTokenManager();
+    T tokenId = valid(newTokenId());
+    ContainerCommandRequestProto cmd = verifiedRequest(tokenId);
+    Token<?> token = secretManager.generateToken(tokenId);
+    TokenVerifier subject = newTestSubject(new SecurityConfig(conf),
+        secretKeyClient);
+    TokenVerifierMetrics metrics = TokenVerifierMetrics.getInstance();
+    long hits = metrics.getVerifiedTokenCacheHits();
+
+    // WHEN
+    subject.verify(token, cmd);
+    subject.verify(token, cmd);
+    subject.verify(token, cmd);
+
+    // THEN
+    verify(secretKey, times(1))
+        .isValidSignature((TokenIdentifier) any(), any());
+    assertThat(metrics.getVerifiedTokenCacheHits()).isEqualTo(hits + 2);
+
+    // the cached token is no longer valid once its secret key expires
+    when(secretKey.isExpired()).thenReturn(true);
+    BlockTokenException ex =
+        assertThrows(BlockTokenException.class, () ->
+            subject.verify(token, cmd));
+    assertThat(ex.getMessage()).contains("expired secret key");
+
+    // the metrics are unregistered once the verifier is closed
+    subject.close();
+    assertThat(TokenVerifierMetrics.getInstance()).isNull();
+  }
+
+  @Test
+  public void closeTwiceReleasesMetricsOnce() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(tokenEnabledConfigKey(), true);
+    conf.setInt(HddsConfigKeys.HDDS_TOKEN_VERIFIED_CACHE_SIZE, 10);
+    SecurityConfig securityConfig = new SecurityConfig(conf);
+    SecretKeyVerifierClient secretKeyClient =
+        mock(SecretKeyVerifierClient.class);
+    TokenVerifier first = newTestSubject(securityConfig, secretKeyClient);
+    TokenVerifier second = newTestSubject(securityConfig, secretKeyClient);
+
+    first.close();
+    first.close();
+    // still used by the second verifier
+    assertThat(TokenVerifierMetrics.getInstance()).isNotNull();
+
+    second.close();
+    assertThat(TokenVerifierMetrics.getInstance()).isNull();
+  }
+
   private T expired(T tokenId) {
     tokenId.setExpiry(Instant.now().minusSeconds(3600));
     return tokenId;
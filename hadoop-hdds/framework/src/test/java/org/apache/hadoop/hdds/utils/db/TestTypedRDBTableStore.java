@@ -199,6 +199,30 @@ public void batchDelete() throws Exception {
     }
   }
 
+  @Test
+  public void batchPutAndDeleteSameKeys() throws Exception {
+    final Table<String, String> testTable = createTypedTable("Fourth");
+    testTable.put("k2", "old");
+    testTable.put("k3", "old");
+    try (BatchOperation batch = rdbStore.initBatchOperation()) {
+      // a delete overwriting a put
+      testTable.putWithBatch(batch, "k1", "v1");
+      testTable.deleteWithBatch(batch, "k1");
+      // a put overwriting a delete
+      testTable.deleteWithBatch(batch, "k2");
+      testTable.putWithBatch(batch, "k2", "v2");
+      // a delete overwriting a delete
+      testTable.deleteWithBatch(batch, "k3");
+      testTable.deleteWithBatch(batch, "k3");
+      rdbStore.commitBatchOperation(batch);
+    }
+
+    assertNull(testTable.get("k1"));
+    assertEquals("v2", testTable.get("k2"));
+    assertNull(testTable.get("k3"));
+    // the buffers are checked for leaks in tearDown()
+  }
+
   private static boolean consume(Table.KeyValue keyValue) {
     count++;
     assertNotNull(assertDoesNotThrow(keyValue::getKey));
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.audit;
+
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_AUDIT_LOG_QUEUE_FULL_POLICY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link AuditQueueFullPolicy}.
+ */
+public class TestAuditQueueFullPolicy {
+  private static final long OTHER_THREAD_ID = -1;
+
+  private AuditLogMetrics metrics;
+
+  @BeforeEach
+  public void setup() {
+    metrics = AuditLogMetrics.acquire();
+    AuditQueueFullPolicy.beginAudit();
+  }
+
+  @AfterEach
+  public void cleanup() {
+    AuditQueueFullPolicy.endAudit();
+    AuditLogMetrics.release();
+  }
+
+  @Test
+  public void blockByDefault() {
+    AuditQueueFullPolicy policy = new AuditQueueFullPolicy(new OzoneConfiguration());
+    assertEquals(EventRoute.ENQUEUE, policy.getRoute(OTHER_THREAD_ID, Level.INFO));
+    assertEquals(EventRoute.ENQUEUE, policy.getRoute(OTHER_THREAD_ID, Level.ERROR));
+
+    assertEquals(2, metrics.getQueueFullEvents());
+    assertEquals(0, metrics.getDroppedEvents());
+  }
+
+  @Test
+  public void discardSuccessEvents() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_AUDIT_LOG_QUEUE_FULL_POLICY, "discard");
+    AuditQueueFullPolicy policy = new AuditQueueFullPolicy(conf);
+    assertEquals(EventRoute.DISCARD, policy.getRoute(OTHER_THREAD_ID, Level.INFO));
+    assertEquals(EventRoute.DISCARD, policy.getRoute(OTHER_THREAD_ID, Level.DEBUG));
+    // failures are never dropped
+    assertEquals(EventRoute.ENQUEUE, policy.getRoute(OTHER_THREAD_ID, Level.ERROR));
+
+    assertEquals(3, metrics.getQueueFullEvents());
+    assertEquals(2, metrics.getDroppedEvents());
+  }
+
+  @Test
+  public void otherEventsAreNotDiscarded() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_AUDIT_LOG_QUEUE_FULL_POLICY, "DISCARD");
+    AuditQueueFullPolicy policy = new AuditQueueFullPolicy(conf);
+    AuditQueueFullPolicy.endAudit();
+    assertEquals(EventRoute.ENQUEUE, policy.getRoute(OTHER_THREAD_ID, Level.INFO));
+
+    assertEquals(0, metrics.getQueueFullEvents());
+    assertEquals(0, metrics.getDroppedEvents());
+  }
+
+  @Test
+  public void metricsUnregisteredOnRelease() {
+    // acquired by another service
+    assertSame(metrics, AuditLogMetrics.acquire());
+    AuditLogMetrics.release();
+    assertSame(metrics, AuditLogMetrics.getInstance());
+
+    AuditLogMetrics.release();
+    assertNull(AuditLogMetrics.getInstance());
+    // not counted after the metrics are released
+    AuditQueueFullPolicy policy = new AuditQueueFullPolicy(new OzoneConfiguration());
+    assertEquals(EventRoute.ENQUEUE, policy.getRoute(OTHER_THREAD_ID, Level.INFO));
+    // for cleanup
+    metrics = AuditLogMetrics.acquire();
+  }
+
+  @Test
+  public void backgroundThreadLogsSynchronously() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_AUDIT_LOG_QUEUE_FULL_POLICY, "DISCARD");
+    AuditQueueFullPolicy policy = new AuditQueueFullPolicy(conf);
+    assertEquals(EventRoute.SYNCHRONOUS,
+        policy.getRoute(Thread.currentThread().getId(), Level.INFO));
+  }
+}
@@ -23,6 +23,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -181,6 +182,32 @@ public void messageIncludesAllParts() {
     assertThat(message).contains(FAILURE.getStatus());
   }
 
+  /**
+   * The message may be formatted later by the async logger,
+   * so it must not change with the parameters after it is built.
+   */
+  @Test
+  public void messageIsNotChangedByLaterUpdates() {
+    Map<String, String> params = new HashMap<>(PARAMS);
+    AuditLogger.PerformanceStringBuilder perf =
+        new AuditLogger.PerformanceStringBuilder();
+    perf.appendCount(1);
+    AuditMessage msg = new AuditMessage.Builder()
+        .setUser(USER)
+        .atIp(IP_ADDRESS)
+        .forOperation(DummyAction.CREATE_VOLUME)
+        .withParams(params)
+        .withResult(SUCCESS)
+        .setPerformance(perf)
+        .build();
+    params.put("key3", "value3");
+
+    String message = msg.getFormattedMessage();
+    assertThat(message).contains(PARAMS.toString());
+    assertThat(message).doesNotContain("key3");
+    assertThat(message).endsWith(" | perf={count=1}");
+  }
+
   /**
    * Test to verify no WRITE event is logged.
    */
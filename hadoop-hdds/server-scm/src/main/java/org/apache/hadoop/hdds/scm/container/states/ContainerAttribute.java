@@ -26,8 +26,8 @@
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Objects;
-import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
@@ -49,6 +49,13 @@
  * container size --say we make it 10GB average size, then we can deal with a
  * cluster size of 1.5 exa bytes with the same metadata in SCMs memory.
  * <p>
+ * Unlike the map of all the containers in {@link ContainerStateMap},
+ * these maps are not {@link ContainerIDMap}s:
+ * the ids of an attribute value, e.g. the containers in a rare state, may be sparse,
+ * and a sparse {@link ContainerIDMap} costs more than a {@link TreeMap}
+ * sharing the {@link ContainerID} keys of the {@link ContainerInfo}s
+ * (see ContainerIDMapHeapBenchmark).
+ * <p>
  * Please note: **This class is not thread safe**. This used to be thread safe,
  * while bench marking we found that ContainerStateMap would be taking 5
  * locks for a single container insert. If we remove locks in this class,
@@ -133,9 +140,16 @@ public List<ContainerInfo> getCollection(T key) {
     return new ArrayList<>(get(key).values());
   }
 
-  public SortedMap<ContainerID, ContainerInfo> tailMap(T key, ContainerID start) {
+  /**
+   * @param start the start id (inclusive).
+   * @param count the maximum size of the returned list.
+   * @return a list of {@link ContainerInfo}s sorted by {@link ContainerID}
+   */
+  public List<ContainerInfo> tailValues(T key, ContainerID start, int count) {
     Objects.requireNonNull(start, "start == null");
-    return get(key).tailMap(start);
+    return get(key).tailMap(start).values().stream()
+        .limit(count)
+        .collect(Collectors.toList());
   }
 
   public int count(T key) {
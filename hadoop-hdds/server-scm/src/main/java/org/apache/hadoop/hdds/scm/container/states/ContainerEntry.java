@@ -17,9 +17,8 @@
 
 package org.apache.hadoop.hdds.scm.container.states;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
@@ -28,10 +27,16 @@
 /**
  * The entry ({@link ContainerInfo} and {@link ContainerReplica}s)
  * for a container in {@link ContainerStateMap}.
+ * <p>
+ * A container has only a few replicas (e.g. 3 for RATIS/THREE, 14 for EC/10-4),
+ * so the replicas are stored in a compact array
+ * and looked up by a linear scan of {@link DatanodeID}s instead of a hash map.
  */
 public class ContainerEntry {
+  private static final ContainerReplica[] EMPTY = {};
+
   private final ContainerInfo info;
-  private final Map<DatanodeID, ContainerReplica> replicas = new HashMap<>();
+  private ContainerReplica[] replicas = EMPTY;
 
   ContainerEntry(ContainerInfo info) {
     this.info = info;
@@ -42,14 +47,41 @@ public ContainerInfo getInfo() {
   }
 
   public Set<ContainerReplica> getReplicas() {
-    return new HashSet<>(replicas.values());
+    return new HashSet<>(Arrays.asList(replicas));
+  }
+
+  private int indexOf(DatanodeID datanodeID) {
+    for (int i = 0; i < replicas.length; i++) {
+      if (replicas[i].getDatanodeDetails().getID().equals(datanodeID)) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   public ContainerReplica put(ContainerReplica r) {
-    return replicas.put(r.getDatanodeDetails().getID(), r);
+    final int i = indexOf(r.getDatanodeDetails().getID());
+    if (i >= 0) {
+      final ContainerReplica previous = replicas[i];
+      replicas[i] = r;
+      return previous;
+    }
+    final ContainerReplica[] newReplicas = Arrays.copyOf(replicas, replicas.length + 1);
+    newReplicas[replicas.length] = r;
+    replicas = newReplicas;
+    return null;
   }
 
   public ContainerReplica removeReplica(DatanodeID datanodeID) {
-    return replicas.remove(datanodeID);
+    final int i = indexOf(datanodeID);
+    if (i < 0) {
+      return null;
+    }
+    final ContainerReplica removed = replicas[i];
+    final ContainerReplica[] newReplicas = new ContainerReplica[replicas.length - 1];
+    System.arraycopy(replicas, 0, newReplicas, 0, i);
+    System.arraycopy(replicas, i + 1, newReplicas, i, newReplicas.length - i);
+    replicas = newReplicas;
+    return removed;
   }
 }
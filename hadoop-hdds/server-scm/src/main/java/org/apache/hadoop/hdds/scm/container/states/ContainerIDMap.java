@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container.states;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.ratis.util.Preconditions;
+
+/**
+ * A sorted map from {@link ContainerID} to values,
+ * keyed internally by the primitive long container id.
+ * <p>
+ * Container ids are allocated sequentially, so the ids in a map are usually dense.
+ * The ids are grouped into pages of {@link #PAGE_SIZE} consecutive ids.
+ * Each page has a 64-bit occupancy bitmap and a compact value array
+ * containing only the present values, in id order
+ * (the index of a value is the rank of its bit in the bitmap).
+ * <p>
+ * Compared to a {@link TreeMap}, which costs an entry object per mapping,
+ * a dense page costs about one reference per mapping.
+ * However, each page also costs a tree entry and a value array,
+ * so a {@link TreeMap} is smaller when the ids are far apart, e.g. one id per page.
+ * <p>
+ * This class is NOT thread-safe.
+ *
+ * @param <V> the value type.
+ */
+public final class ContainerIDMap<V> implements Iterable<V> {
+  static final int PAGE_BITS = 6;
+  static final int PAGE_SIZE = 1 << PAGE_BITS;
+  private static final long OFFSET_MASK = PAGE_SIZE - 1;
+  private static final Object[] EMPTY = {};
+
+  /** Page index -> {@link Page}; the pages are never empty. */
+  private final NavigableMap<Long, Page> pages = new TreeMap<>();
+  private int size = 0;
+
+  /** A page of {@link #PAGE_SIZE} consecutive ids. */
+  private static final class Page {
+    /** Bit i is set iff the id (pageIndex * PAGE_SIZE + i) is present. */
+    private long bits;
+    /** The present values, sorted by id. */
+    private Object[] values = EMPTY;
+
+    int size() {
+      return Long.bitCount(bits);
+    }
+
+    boolean contains(int offset) {
+      return (bits & (1L << offset)) != 0;
+    }
+
+    /** @return the index of the given offset in {@link #values}. */
+    int rank(int offset) {
+      return Long.bitCount(bits & ((1L << offset) - 1));
+    }
+
+    Object get(int offset) {
+      return contains(offset) ? values[rank(offset)] : null;
+    }
+
+    Object put(int offset, Object value) {
+      final int i = rank(offset);
+      if (contains(offset)) {
+        final Object previous = values[i];
+        values[i] = value;
+        return previous;
+      }
+
+      final int size = size();
+      if (size == values.length) {
+        // grow by half of the current size, bounded by the page size.
+        final int newLength = Math.min(PAGE_SIZE, Math.max(2, size + (size >> 1)));
+        values = Arrays.copyOf(values, newLength);
+      }
+      System.arraycopy(values, i, values, i + 1, size - i);
+      values[i] = value;
+      bits |= 1L << offset;
+      return null;
+    }
+
+    Object remove(int offset) {
+      if (!contains(offset)) {
+        return null;
+      }
+      final int i = rank(offset);
+      final int size = size();
+      final Object removed = values[i];
+      System.arraycopy(values, i + 1, values, i, size - i - 1);
+      values[size - 1] = null;
+      bits &= ~(1L << offset);
+
+      if (size - 1 <= values.length >> 2) {
+        // shrink when the array is at most a quarter full.
+        values = size == 1 ? EMPTY : Arrays.copyOf(values, size - 1);
+      }
+      return removed;
+    }
+  }
+
+  private static long pageIndex(long id) {
+    return id >>> PAGE_BITS;
+  }
+
+  private static int offset(long id) {
+    return (int) (id & OFFSET_MASK);
+  }
+
+  private static long toLong(ContainerID id) {
+    Objects.requireNonNull(id, "id == null");
+    return id.getId();
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean containsKey(ContainerID id) {
+    final long i = toLong(id);
+    final Page page = pages.get(pageIndex(i));
+    return page != null && page.contains(offset(i));
+  }
+
+  /** @return the value mapped to the given id; or null if the id is not in this map. */
+  public V get(ContainerID id) {
+    final long i = toLong(id);
+    final Page page = pages.get(pageIndex(i));
+    return page == null ? null : cast(page.get(offset(i)));
+  }
+
+  /** @return the previous value mapped to the given id, or null if there was none. */
+  public V put(ContainerID id, V value) {
+    Objects.requireNonNull(value, "value == null");
+    final long i = toLong(id);
+    final Page page = pages.computeIfAbsent(pageIndex(i), k -> new Page());
+    final V previous = cast(page.put(offset(i), value));
+    if (previous == null) {
+      size++;
+    }
+    return previous;
+  }
+
+  /** @return the removed value, or null if the id is not in this map. */
+  public V remove(ContainerID id) {
+    final long i = toLong(id);
+    final long pageIndex = pageIndex(i);
+    final Page page = pages.get(pageIndex);
+    if (page == null) {
+      return null;
+    }
+    final V removed = cast(page.remove(offset(i)));
+    if (removed != null) {
+      size--;
+      if (page.size() == 0) {
+        pages.remove(pageIndex);
+      }
+    }
+    return removed;
+  }
+
+  public void clear() {
+    pages.clear();
+    size = 0;
+  }
+
+  /** @return all the values sorted by id. */
+  public List<V> values() {
+    final List<V> list = new ArrayList<>(size);
+    forEach(list::add);
+    return list;
+  }
+
+  /**
+   * @param start the start id (inclusive).
+   * @param count the maximum size of the returned list.
+   * @return the values with id &gt;= start, sorted by id.
+   */
+  public List<V> tailValues(ContainerID start, int count) {
+    Preconditions.assertTrue(count >= 0, "count < 0");
+    final List<V> list = new ArrayList<>(Math.min(count, size));
+    for (Iterator<V> i = iterator(toLong(start)); i.hasNext() && list.size() < count;) {
+      list.add(i.next());
+    }
+    return list;
+  }
+
+  @Override
+  public Iterator<V> iterator() {
+    return iterator(0);
+  }
+
+  /** @return an iterator of the values with id &gt;= start, sorted by id. */
+  private Iterator<V> iterator(long start) {
+    final Iterator<Map.Entry<Long, Page>> pageIterator = pages.tailMap(pageIndex(start), true).entrySet().iterator();
+    final int startOffset = offset(start);
+    final long startPage = pageIndex(start);
+
+    return new Iterator<V>() {
+      private Object[] values = EMPTY;
+      private int index = 0;
+      private int end = 0;
+
+      @Override
+      public boolean hasNext() {
+        while (index >= end) {
+          if (!pageIterator.hasNext()) {
+            return false;
+          }
+          final Map.Entry<Long, Page> entry = pageIterator.next();
+          final Page page = entry.getValue();
+          values = page.values;
+          index = entry.getKey() == startPage ? page.rank(startOffset) : 0;
+          end = page.size();
+        }
+        return true;
+      }
+
+      @Override
+      public V next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return cast(values[index++]);
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> V cast(Object value) {
+    return (V) value;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "(size=" + size + ", pages=" + pages.size() + ")";
+  }
+}
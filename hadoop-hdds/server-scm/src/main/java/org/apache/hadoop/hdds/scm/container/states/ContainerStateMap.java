@@ -18,10 +18,8 @@
 package org.apache.hadoop.hdds.scm.container.states;
 
 import java.util.List;
-import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
@@ -98,7 +96,7 @@ public class ContainerStateMap {
    * Inner replica map: {@link DatanodeID} -> {@link ContainerReplica}
    */
   private static class ContainerMap {
-    private final NavigableMap<ContainerID, ContainerEntry> map = new TreeMap<>();
+    private final ContainerIDMap<ContainerEntry> map = new ContainerIDMap<>();
 
     boolean contains(ContainerID id) {
       return map.containsKey(id);
@@ -112,9 +110,8 @@ ContainerInfo getInfo(ContainerID id) {
     List<ContainerInfo> getInfos(ContainerID start, int count) {
       Objects.requireNonNull(start, "start == null");
       Preconditions.assertTrue(count >= 0, "count < 0");
-      return map.tailMap(start).values().stream()
+      return map.tailValues(start, count).stream()
           .map(ContainerEntry::getInfo)
-          .limit(count)
           .collect(Collectors.toList());
     }
 
@@ -273,9 +270,7 @@ public List<ContainerInfo> getContainerInfos(ContainerID start, int count) {
    */
   public List<ContainerInfo> getContainerInfos(LifeCycleState state, ContainerID start, int count) {
     Preconditions.assertTrue(count >= 0, "count < 0");
-    return lifeCycleStateMap.tailMap(state, start).values().stream()
-        .limit(count)
-        .collect(Collectors.toList());
+    return lifeCycleStateMap.tailValues(state, start, count);
   }
 
   public List<ContainerInfo> getContainerInfos(LifeCycleState state) {
@@ -183,6 +183,7 @@
 import org.apache.hadoop.net.TableMapping;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneSecurityUtil;
+import org.apache.hadoop.ozone.audit.AuditLogMetrics;
 import org.apache.hadoop.ozone.common.Storage.StorageState;
 import org.apache.hadoop.ozone.lease.LeaseManager;
 import org.apache.hadoop.ozone.lease.LeaseManagerNotRunningException;
@@ -451,6 +452,7 @@ private StorageContainerManager(OzoneConfiguration conf,
     registerMXBean();
     registerMetricsSource(this);
     this.nettyMetrics = NettyMetrics.create();
+    AuditLogMetrics.acquire();
   }
 
   private void initializeEventHandlers() {
@@ -1683,6 +1685,7 @@ public void stop() {
     }
 
     nettyMetrics.unregister();
+    AuditLogMetrics.release();
     if (perfMetrics != null) {
       perfMetrics.unRegister();
     }
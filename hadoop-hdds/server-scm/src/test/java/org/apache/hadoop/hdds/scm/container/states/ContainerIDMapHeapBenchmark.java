@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container.states;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper to compare the heap footprint of {@link ContainerIDMap}
+ * with a {@link TreeMap}, for dense and sparse container ids.
+ * <p>
+ * The maps share the same {@link ContainerID} instances,
+ * as the maps in {@link ContainerStateMap} and {@link ContainerAttribute}
+ * share the ids of the {@link org.apache.hadoop.hdds.scm.container.ContainerInfo}s,
+ * so that only the cost of the maps is measured.
+ * <p>
+ * This unit test is not enabled (doesn't start with Test) but can be used
+ * to validate changes manually, preferably with a large heap, e.g. -Xmx8g.
+ */
+public class ContainerIDMapHeapBenchmark {
+  private static final Logger LOG = LoggerFactory.getLogger(ContainerIDMapHeapBenchmark.class);
+
+  private static final int NUM_CONTAINERS = 10_000_000;
+  private static final Object VALUE = new Object();
+
+  /** Keep the map under measurement reachable. */
+  private Object retained;
+
+  @Test
+  public void test() {
+    final ContainerID[] ids = new ContainerID[NUM_CONTAINERS];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = ContainerID.valueOf(i + 1);
+    }
+
+    // dense: all ids, e.g. all the containers in ContainerStateMap;
+    // sparse: every step-th id, e.g. the containers in a rare state in ContainerAttribute.
+    for (int step : new int[] {1, 4, 16, 64, 1024}) {
+      final long treeMap = measure(() -> {
+        final Map<ContainerID, Object> map = new TreeMap<>();
+        for (int i = 0; i < ids.length; i += step) {
+          map.put(ids[i], VALUE);
+        }
+        return map;
+      });
+      final long idMap = measure(() -> {
+        final ContainerIDMap<Object> map = new ContainerIDMap<>();
+        for (int i = 0; i < ids.length; i += step) {
+          map.put(ids[i], VALUE);
+        }
+        return map;
+      });
+      final int n = (NUM_CONTAINERS + step - 1) / step;
+      LOG.info("step={}, n={}: TreeMap {} bytes ({} per entry), ContainerIDMap {} bytes ({} per entry)",
+          step, n, treeMap, treeMap / n, idMap, idMap / n);
+    }
+  }
+  private long measure(Supplier<Object> constructor) {
+    retained = null;
+    final long before = usedHeap();
+    retained = constructor.get();
+    final long after = usedHeap();
+    LOG.debug("Constructed {}", retained.getClass().getSimpleName());
+    return after - before;
+  }
+
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
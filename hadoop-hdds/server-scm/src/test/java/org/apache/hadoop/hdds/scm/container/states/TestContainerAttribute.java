@@ -17,7 +17,6 @@
 
 package org.apache.hadoop.hdds.scm.container.states;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -54,7 +53,7 @@ public void testAddNonExisting() {
     ContainerID id = info.containerID();
     containerAttribute.addNonExisting(key1, info);
     assertEquals(1, containerAttribute.getCollection(key1).size());
-    assertThat(containerAttribute.get(key1)).containsKey(id);
+    assertTrue(containerAttribute.get(key1).containsKey(id));
 
     // Adding it again should fail.
     assertThrows(IllegalStateException.class, () -> containerAttribute.addNonExisting(key1, info));
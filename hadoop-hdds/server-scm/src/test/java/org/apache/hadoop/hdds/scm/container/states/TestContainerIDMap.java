@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container.states;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link ContainerIDMap}.
+ */
+public class TestContainerIDMap {
+
+  @Test
+  public void testPutGetRemove() {
+    final ContainerIDMap<String> map = new ContainerIDMap<>();
+    final ContainerID id = ContainerID.valueOf(100);
+    assertNull(map.put(id, "a"));
+    assertEquals("a", map.put(id, "b"));
+    assertEquals(1, map.size());
+    assertTrue(map.containsKey(id));
+    assertEquals("b", map.get(id));
+    assertNull(map.get(ContainerID.valueOf(101)));
+
+    assertEquals("b", map.remove(id));
+    assertNull(map.remove(id));
+    assertFalse(map.containsKey(id));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void testRandomOperations() {
+    final Random random = new Random();
+    final ContainerIDMap<Long> map = new ContainerIDMap<>();
+    final TreeMap<ContainerID, Long> expected = new TreeMap<>();
+
+    for (int i = 0; i < 100_000; i++) {
+      final long n = random.nextInt(5 * ContainerIDMap.PAGE_SIZE);
+      final ContainerID id = ContainerID.valueOf(n);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(id), map.remove(id));
+      } else {
+        assertEquals(expected.put(id, n), map.put(id, n));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+
+    assertEquals(new ArrayList<>(expected.values()), map.values());
+    for (int i = 0; i < 100; i++) {
+      final ContainerID start = ContainerID.valueOf(random.nextInt(6 * ContainerIDMap.PAGE_SIZE));
+      final int count = random.nextInt(2 * ContainerIDMap.PAGE_SIZE);
+      final List<Long> tail = new ArrayList<>();
+      for (Map.Entry<ContainerID, Long> e : expected.tailMap(start).entrySet()) {
+        if (tail.size() == count) {
+          break;
+        }
+        tail.add(e.getValue());
+      }
+      assertEquals(tail, map.tailValues(start, count));
+    }
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertTrue(map.values().isEmpty());
+  }
+}
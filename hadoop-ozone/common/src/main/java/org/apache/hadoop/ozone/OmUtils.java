@@ -351,6 +351,29 @@ public static boolean isReadOnly(
     }
   }
 
+  /**
+   * Checks if the OM request can be served by an OM follower,
+   * see {@link org.apache.hadoop.ozone.om.OMConfigKeys#OZONE_OM_FOLLOWER_READ_ENABLED}.
+   * @param omRequest OMRequest proto
+   * @return True if it is a key-level read, false otherwise.
+   */
+  public static boolean isFollowerReadAllowed(
+      OzoneManagerProtocolProtos.OMRequest omRequest) {
+    switch (omRequest.getCmdType()) {
+    case LookupKey:
+    case GetKeyInfo:
+    case GetFileStatus:
+    case LookupFile:
+    case ListStatus:
+    case ListStatusLight:
+    case ListKeys:
+    case ListKeysLight:
+      return true;
+    default:
+      return false;
+    }
+  }
+
   public static byte[] getSHADigest() throws IOException {
     try {
       SRAND.nextBytes(randomBytes);
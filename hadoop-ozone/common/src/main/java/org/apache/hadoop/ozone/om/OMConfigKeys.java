@@ -86,6 +86,16 @@ public final class OMConfigKeys {
       "ozone.om.grpc.read.thread.num";
   public static final int OZONE_OM_GRPC_READ_THREAD_NUM_DEFAULT = 32;
 
+  public static final String OZONE_OM_GRPC_WRITE_THREAD_NUM_KEY =
+      "ozone.om.grpc.write.thread.num";
+  public static final int OZONE_OM_GRPC_WRITE_THREAD_NUM_DEFAULT = 32;
+
+  public static final String
+      OZONE_OM_GRPC_MAX_CONCURRENT_CALLS_PER_CONNECTION_KEY =
+      "ozone.om.grpc.max.concurrent.calls.per.connection";
+  public static final int
+      OZONE_OM_GRPC_MAX_CONCURRENT_CALLS_PER_CONNECTION_DEFAULT = 128;
+
   public static final String OZONE_OM_HTTP_ENABLED_KEY =
       "ozone.om.http.enabled";
   public static final String OZONE_OM_HTTP_BIND_HOST_KEY =
@@ -107,6 +117,13 @@ public final class OMConfigKeys {
   public static final String OZONE_KEY_DELETING_LIMIT_PER_TASK =
       "ozone.key.deleting.limit.per.task";
   public static final int OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT = 50000;
+  public static final String OZONE_KEY_DELETING_PIPELINE_DEPTH =
+      "ozone.key.deleting.pipeline.depth";
+  public static final int OZONE_KEY_DELETING_PIPELINE_DEPTH_DEFAULT = 1;
+  public static final String OZONE_KEY_DELETING_PIPELINE_SCM_SLOW_THRESHOLD =
+      "ozone.key.deleting.pipeline.scm.slow.threshold";
+  public static final String
+      OZONE_KEY_DELETING_PIPELINE_SCM_SLOW_THRESHOLD_DEFAULT = "10s";
   public static final String OZONE_SNAPSHOT_KEY_DELETING_LIMIT_PER_TASK =
       "ozone.snapshot.key.deleting.limit.per.task";
   public static final int OZONE_SNAPSHOT_KEY_DELETING_LIMIT_PER_TASK_DEFAULT
@@ -259,6 +276,10 @@ public final class OMConfigKeys {
   public static final boolean
       OZONE_OM_RATIS_SERVER_ELECTION_PRE_VOTE_DEFAULT = true;
 
+  public static final String OZONE_OM_FOLLOWER_READ_ENABLED =
+      "ozone.om.follower.read.enabled";
+  public static final boolean OZONE_OM_FOLLOWER_READ_ENABLED_DEFAULT = false;
+
   public static final String OZONE_OM_RATIS_SERVER_CLOSE_THRESHOLD_KEY =
       "ozone.om.ratis.server.close.threshold";
   public static final TimeDuration OZONE_OM_RATIS_SERVER_CLOSE_THRESHOLD_DEFAULT =
@@ -474,6 +495,11 @@ public final class OMConfigKeys {
   public static final int OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT
       = 10000;
 
+  public static final String OZONE_OM_DOUBLE_BUFFER_FLUSH_LATENCY_TARGET =
+      "ozone.om.double.buffer.flush.latency.target";
+  public static final String OZONE_OM_DOUBLE_BUFFER_FLUSH_LATENCY_TARGET_DEFAULT
+      = "0s";
+
   /**
    * This configuration shall be enabled to utilize the functionality of the
    * fine-grained KEY_PATH_LOCK.
@@ -563,6 +589,10 @@ public final class OMConfigKeys {
       = "ozone.om.snapshot.db.max.open.files";
   public static final int OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES_DEFAULT
       = 100;
+  public static final String OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE
+      = "ozone.om.snapshot.db.block.cache.size";
+  public static final String OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE_DEFAULT
+      = "512MB";
   public static final int OZONE_OM_SNAPSHOT_DIFF_REPORT_MAX_PAGE_SIZE_DEFAULT
       = 1000;
 
@@ -571,6 +601,11 @@ public final class OMConfigKeys {
   public static final int OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT
       = 10;
 
+  public static final String OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE
+      = "ozone.om.snapshot.diff.object.id.map.thread.pool.size";
+  public static final int OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE_DEFAULT
+      = 4;
+
   public static final String OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME
       = "ozone.om.snapshot.diff.job.default.wait.time";
   public static final long OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME_DEFAULT
@@ -130,6 +130,24 @@ public synchronized ProxyInfo<T> getProxy() {
     return currentProxyInfo;
   }
 
+  /**
+   * Get the proxy object of the given OM node, independent of the current
+   * proxy used for failover. RPC proxy object is intialized lazily.
+   * @return the OM proxy object to invoke methods upon
+   */
+  public synchronized T getProxy(String nodeId) {
+    ProxyInfo<T> proxyInfo = getOMProxyMap().get(nodeId);
+    if (proxyInfo == null) {
+      proxyInfo = createOMProxy(nodeId);
+    }
+    return proxyInfo.proxy;
+  }
+
+  /** @return the ids of all the OM nodes. */
+  public synchronized List<String> getOMNodeIds() {
+    return getOmNodeIDList();
+  }
+
   /**
    * Creates proxy object.
    */
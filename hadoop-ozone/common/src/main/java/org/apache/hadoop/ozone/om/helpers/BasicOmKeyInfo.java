@@ -24,13 +24,26 @@
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.DelegatedCodec;
+import org.apache.hadoop.hdds.utils.db.Proto2Codec;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.BasicKeyInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfoProtoBasic;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysRequest;
 
 /**
  * Lightweight OmKeyInfo class.
  */
 public final class BasicOmKeyInfo {
+  /**
+   * Decode a {@link BasicOmKeyInfo} directly from a persisted {@link OmKeyInfo} record,
+   * without decoding the fields not in {@link BasicOmKeyInfo} such as the key locations and the ACLs.
+   */
+  private static final Codec<BasicOmKeyInfo> CODEC = DelegatedCodec.decodeOnly(
+      Proto2Codec.get(KeyInfoProtoBasic.getDefaultInstance()),
+      BasicOmKeyInfo::getFromProtobuf,
+      BasicOmKeyInfo.class);
 
   private final String volumeName;
   private final String bucketName;
@@ -43,6 +56,11 @@ public final class BasicOmKeyInfo {
   private final String eTag;
   private String ownerName;
 
+  /** @return a decode-only codec for the values of the key table and the file table. */
+  public static Codec<BasicOmKeyInfo> getCodec() {
+    return CODEC;
+  }
+
   private BasicOmKeyInfo(Builder b) {
     this.volumeName = b.volumeName;
     this.bucketName = b.bucketName;
@@ -233,6 +251,37 @@ public static BasicOmKeyInfo getFromProtobuf(BasicKeyInfo basicKeyInfo,
     return builder.build();
   }
 
+  public static BasicOmKeyInfo getFromProtobuf(KeyInfoProtoBasic keyInfo) {
+    if (keyInfo == null) {
+      return null;
+    }
+
+    String eTag = null;
+    for (HddsProtos.KeyValue kv : keyInfo.getMetadataList()) {
+      if (ETAG.equals(kv.getKey())) {
+        eTag = kv.getValue();
+      }
+    }
+
+    Builder builder = new Builder()
+        .setVolumeName(keyInfo.getVolumeName())
+        .setBucketName(keyInfo.getBucketName())
+        .setKeyName(keyInfo.getKeyName())
+        .setDataSize(keyInfo.getDataSize())
+        .setCreationTime(keyInfo.getCreationTime())
+        .setModificationTime(keyInfo.getModificationTime())
+        .setReplicationConfig(ReplicationConfig.fromProto(
+            keyInfo.getType(),
+            keyInfo.getFactor(),
+            keyInfo.getEcReplicationConfig()))
+        .setETag(eTag)
+        .setIsFile(keyInfo.getIsFile());
+    if (keyInfo.hasOwnerName()) {
+      builder.setOwnerName(keyInfo.getOwnerName());
+    }
+    return builder.build();
+  }
+
   public static BasicOmKeyInfo getFromProtobuf(String volumeName,
       String bucketName, BasicKeyInfo basicKeyInfo) throws IOException {
     if (basicKeyInfo == null) {
@@ -24,16 +24,21 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.net.HostAndPort;
 import io.grpc.Context;
+import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.MetadataUtils;
 import io.netty.handler.ssl.SslContextBuilder;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.net.InetAddress;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +54,7 @@
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.retry.RetryPolicy;
 import org.apache.hadoop.ipc.RemoteException;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
@@ -70,14 +76,19 @@ public class GrpcOmTransport implements OmTransport {
       LoggerFactory.getLogger(GrpcOmTransport.class);
 
   private static final String CLIENT_NAME = "GrpcOmTransport";
+  private static final ClientInterceptor WRITE_REQUEST_INTERCEPTOR =
+      newWriteRequestInterceptor();
   private final AtomicBoolean isRunning = new AtomicBoolean(false);
 
   // gRPC specific
   private static List<X509Certificate> caCerts = null;
 
+  /** OM address -> stubs, one for each connection. */
   private Map<String,
-      OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub> clients;
-  private Map<String, ManagedChannel> channels;
+      List<OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub>> clients;
+  private Map<String, List<ManagedChannel>> channels;
+  /** For choosing the connection of the next request. */
+  private final AtomicInteger nextConnection = new AtomicInteger();
   private ConfigurationSource conf;
 
   private AtomicReference<String> host;
@@ -94,6 +105,13 @@ public static void setCaCerts(List<X509Certificate> x509Certificates) {
     caCerts = x509Certificates;
   }
 
+  private static ClientInterceptor newWriteRequestInterceptor() {
+    final Metadata headers = new Metadata();
+    headers.put(GrpcClientConstants.WRITE_REQUEST_METADATA_KEY,
+        Boolean.TRUE.toString());
+    return MetadataUtils.newAttachHeadersInterceptor(headers);
+  }
+
   public GrpcOmTransport(ConfigurationSource conf,
                           UserGroupInformation ugi, String omServiceId)
       throws IOException {
@@ -129,40 +147,24 @@ public void start() throws IOException {
       return;
     }
 
+    // The requests are multiplexed over a few HTTP/2 connections to each OM.
+    final int connections = Math.max(1, conf.getObject(
+        GrpcOmTransportConfig.class).getClientConnections());
     List<String> nodes = omFailoverProxyProvider.getGrpcOmNodeIDList();
     for (String nodeId : nodes) {
       String hostaddr = omFailoverProxyProvider.getGrpcProxyAddress(nodeId);
       HostAndPort hp = HostAndPort.fromString(hostaddr);
 
-      NettyChannelBuilder channelBuilder =
-          NettyChannelBuilder.forAddress(hp.getHost(), hp.getPort())
-              .usePlaintext()
-              .proxyDetector(uri -> null)
-              .maxInboundMessageSize(maxSize);
-
-      if (secConfig.isSecurityEnabled() && secConfig.isGrpcTlsEnabled()) {
-        try {
-          SslContextBuilder sslContextBuilder = GrpcSslContexts.forClient();
-          if (caCerts != null) {
-            sslContextBuilder.trustManager(caCerts);
-          } else {
-            LOG.error("x509Certificates empty");
-          }
-          channelBuilder.useTransportSecurity().
-              sslContext(sslContextBuilder.build());
-        } catch (Exception ex) {
-          LOG.error("cannot establish TLS for grpc om transport client");
-        }
-      } else {
-        channelBuilder.usePlaintext();
+      List<ManagedChannel> hostChannels = new ArrayList<>(connections);
+      List<OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub> stubs =
+          new ArrayList<>(connections);
+      for (int i = 0; i < connections; i++) {
+        ManagedChannel channel = createChannel(hp);
+        hostChannels.add(channel);
+        stubs.add(OzoneManagerServiceGrpc.newBlockingStub(channel));
       }
-
-      channels.put(hostaddr,
-          channelBuilder.intercept(new ClientAddressClientInterceptor())
-              .build());
-      clients.put(hostaddr,
-          OzoneManagerServiceGrpc
-              .newBlockingStub(channels.get(hostaddr)));
+      channels.put(hostaddr, hostChannels);
+      clients.put(hostaddr, stubs);
     }
     int maxFailovers = conf.getInt(
         OzoneConfigKeys.OZONE_CLIENT_FAILOVER_MAX_ATTEMPTS_KEY,
@@ -172,6 +174,48 @@ public void start() throws IOException {
     LOG.info("{}: started", CLIENT_NAME);
   }
 
+  private ManagedChannel createChannel(HostAndPort hp) {
+    NettyChannelBuilder channelBuilder =
+        NettyChannelBuilder.forAddress(hp.getHost(), hp.getPort())
+            .usePlaintext()
+            .proxyDetector(uri -> null)
+            .maxInboundMessageSize(maxSize);
+
+    if (secConfig.isSecurityEnabled() && secConfig.isGrpcTlsEnabled()) {
+      try {
+        SslContextBuilder sslContextBuilder = GrpcSslContexts.forClient();
+        if (caCerts != null) {
+          sslContextBuilder.trustManager(caCerts);
+        } else {
+          LOG.error("x509Certificates empty");
+        }
+        channelBuilder.useTransportSecurity().
+            sslContext(sslContextBuilder.build());
+      } catch (Exception ex) {
+        LOG.error("cannot establish TLS for grpc om transport client");
+      }
+    } else {
+      channelBuilder.usePlaintext();
+    }
+
+    return channelBuilder.intercept(new ClientAddressClientInterceptor())
+        .build();
+  }
+
+  /**
+   * @return a stub of the current OM, using the connections in turn.
+   *         The stub of a write request has the write request header.
+   */
+  private OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub getStub(
+      OMRequest payload) {
+    final List<OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub> stubs =
+        clients.get(host.get());
+    final OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub stub =
+        stubs.get(Math.floorMod(nextConnection.getAndIncrement(), stubs.size()));
+    return OmUtils.isReadOnly(payload) ? stub
+        : stub.withInterceptors(WRITE_REQUEST_INTERCEPTOR);
+  }
+
   @Override
   public OMResponse submitRequest(OMRequest payload) throws IOException {
     AtomicReference<OMResponse> resp = new AtomicReference<>();
@@ -188,8 +232,7 @@ public OMResponse submitRequest(OMRequest payload) throws IOException {
                 inetAddress.getHostAddress())
             .withValue(GrpcClientConstants.CLIENT_HOSTNAME_CTX_KEY,
                 inetAddress.getHostName())
-            .run(() -> resp.set(clients.get(host.get())
-                .submitRequest(payload)));
+            .run(() -> resp.set(getStub(payload).submitRequest(payload)));
       } catch (StatusRuntimeException e) {
         LOG.error("Failed to submit request", e);
         if (e.getStatus().getCode() == Status.Code.UNAVAILABLE) {
@@ -299,14 +342,15 @@ public Text getDelegationTokenService() {
   }
 
   public void shutdown() {
-    for (Map.Entry<String, ManagedChannel> entry : channels.entrySet()) {
-      ManagedChannel channel = entry.getValue();
-      channel.shutdown();
-      try {
-        channel.awaitTermination(5, TimeUnit.SECONDS);
-      } catch (Exception e) {
-        LOG.error("failed to shutdown OzoneManagerServiceGrpc channel {} : {}",
-            entry.getKey(), e);
+    for (Map.Entry<String, List<ManagedChannel>> entry : channels.entrySet()) {
+      for (ManagedChannel channel : entry.getValue()) {
+        channel.shutdown();
+        try {
+          channel.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+          LOG.error("failed to shutdown OzoneManagerServiceGrpc channel {} : {}",
+              entry.getKey(), e);
+        }
       }
     }
     LOG.info("{}: stopped", CLIENT_NAME);
@@ -328,6 +372,13 @@ public static final class GrpcOmTransportConfig {
         tags = {ConfigTag.MANAGEMENT})
     private int port;
 
+    @Config(key = "client.connections", defaultValue = "2",
+        description = "Number of the HTTP/2 connections from"
+            + " a GrpcOmTransport client to each OM.  The requests are"
+            + " multiplexed over the connections.",
+        tags = {ConfigTag.CLIENT, ConfigTag.PERFORMANCE})
+    private int clientConnections;
+
     public int getPort() {
       return port;
     }
@@ -336,17 +387,35 @@ public GrpcOmTransportConfig setPort(int portParam) {
       this.port = portParam;
       return this;
     }
+
+    public int getClientConnections() {
+      return clientConnections;
+    }
+
+    public GrpcOmTransportConfig setClientConnections(int connections) {
+      this.clientConnections = connections;
+      return this;
+    }
   }
 
   @VisibleForTesting
   public void startClient(ManagedChannel testChannel) throws IOException {
+    startClient(Collections.singletonList(testChannel));
+  }
+
+  /** Start the client with the given channels as the connections to each OM. */
+  @VisibleForTesting
+  public void startClient(List<ManagedChannel> testChannels) throws IOException {
     List<String> nodes = omFailoverProxyProvider.getGrpcOmNodeIDList();
     for (String nodeId : nodes) {
       String hostaddr = omFailoverProxyProvider.getGrpcProxyAddress(nodeId);
 
-      clients.put(hostaddr,
-          OzoneManagerServiceGrpc
-              .newBlockingStub(testChannel));
+      List<OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub> stubs =
+          new ArrayList<>(testChannels.size());
+      for (ManagedChannel testChannel : testChannels) {
+        stubs.add(OzoneManagerServiceGrpc.newBlockingStub(testChannel));
+      }
+      clients.put(hostaddr, stubs);
     }
     LOG.info("{}: started", CLIENT_NAME);
   }
@@ -21,6 +21,10 @@
 import com.google.protobuf.RpcController;
 import com.google.protobuf.ServiceException;
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.io.Text;
@@ -28,27 +32,44 @@
 import org.apache.hadoop.ipc.ProtobufHelper;
 import org.apache.hadoop.ipc.ProtobufRpcEngine;
 import org.apache.hadoop.ipc.RPC;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
 import org.apache.hadoop.ozone.om.ha.HadoopRpcOMFailoverProxyProvider;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Full-featured Hadoop RPC implementation with failover support.
  */
 public class Hadoop3OmTransport implements OmTransport {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(Hadoop3OmTransport.class);
 
   /**
    * RpcController is not used and hence is set to null.
    */
   private static final RpcController NULL_RPC_CONTROLLER = null;
 
-  private final HadoopRpcOMFailoverProxyProvider omFailoverProxyProvider;
+  private final HadoopRpcOMFailoverProxyProvider<OzoneManagerProtocolPB>
+      omFailoverProxyProvider;
 
   private final OzoneManagerProtocolPB rpcProxy;
 
+  /** Are key-level reads distributed over all the OMs? */
+  private final boolean followerReadEnabled;
+  /** For choosing the OM of the next follower read. */
+  private final AtomicInteger followerReadIndex = new AtomicInteger();
+  /** For how long the follower reads skip an OM after a failed read. */
+  private final long followerReadBackoffMs;
+  /** OM node id -&gt; the time (monotonic, in ms) until which the follower reads skip the OM. */
+  private final Map<String, Long> followerReadBackoffs = new ConcurrentHashMap<>();
+
   public Hadoop3OmTransport(ConfigurationSource conf,
       UserGroupInformation ugi, String omServiceId) throws IOException {
 
@@ -56,7 +77,7 @@ public Hadoop3OmTransport(ConfigurationSource conf,
         OzoneManagerProtocolPB.class,
         ProtobufRpcEngine.class);
 
-    this.omFailoverProxyProvider = new HadoopRpcOMFailoverProxyProvider(
+    this.omFailoverProxyProvider = new HadoopRpcOMFailoverProxyProvider<>(
             conf, ugi, omServiceId, OzoneManagerProtocolPB.class);
 
     int maxFailovers = conf.getInt(
@@ -64,10 +85,34 @@ public Hadoop3OmTransport(ConfigurationSource conf,
         OzoneConfigKeys.OZONE_CLIENT_FAILOVER_MAX_ATTEMPTS_DEFAULT);
 
     this.rpcProxy = createRetryProxy(omFailoverProxyProvider, maxFailovers);
+    this.followerReadEnabled = conf.getBoolean(
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED,
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_DEFAULT);
+    this.followerReadBackoffMs = conf.getLong(
+        OzoneConfigKeys.OZONE_CLIENT_WAIT_BETWEEN_RETRIES_MILLIS_KEY,
+        OzoneConfigKeys.OZONE_CLIENT_WAIT_BETWEEN_RETRIES_MILLIS_DEFAULT);
+  }
+
+  @VisibleForTesting
+  Hadoop3OmTransport(
+      HadoopRpcOMFailoverProxyProvider<OzoneManagerProtocolPB> omFailoverProxyProvider,
+      OzoneManagerProtocolPB rpcProxy, boolean followerReadEnabled,
+      long followerReadBackoffMs) {
+    this.omFailoverProxyProvider = omFailoverProxyProvider;
+    this.rpcProxy = rpcProxy;
+    this.followerReadEnabled = followerReadEnabled;
+    this.followerReadBackoffMs = followerReadBackoffMs;
   }
 
   @Override
   public OMResponse submitRequest(OMRequest payload) throws IOException {
+    if (followerReadEnabled && OmUtils.isFollowerReadAllowed(payload)) {
+      final OMResponse response = submitFollowerRead(payload);
+      if (response != null) {
+        return response;
+      }
+    }
+
     try {
       OMResponse omResponse =
           rpcProxy.submitRequest(NULL_RPC_CONTROLLER, payload);
@@ -91,6 +136,51 @@ public OMResponse submitRequest(OMRequest payload) throws IOException {
     }
   }
 
+  /**
+   * Submit the read request to an OM chosen in a round-robin fashion,
+   * so that the reads are balanced over all the OMs.
+   * A follower OM serves the request once it has caught up with the leader.
+   * An OM failing a read is skipped for {@link #followerReadBackoffMs}.
+   *
+   * @return the response; or null if the request has to be sent to the leader.
+   */
+  private OMResponse submitFollowerRead(OMRequest payload) {
+    final List<String> nodeIds = omFailoverProxyProvider.getOMNodeIds();
+    if (nodeIds.size() <= 1) {
+      return null;
+    }
+    final String nodeId = chooseFollowerReadNode(nodeIds);
+    if (nodeId == null) {
+      // all the OMs have failed recently
+      return null;
+    }
+    try {
+      final OMResponse response = omFailoverProxyProvider.getProxy(nodeId)
+          .submitRequest(NULL_RPC_CONTROLLER, payload);
+      followerReadBackoffs.remove(nodeId);
+      return response;
+    } catch (ServiceException | RuntimeException e) {
+      LOG.debug("Failed to read from OM {}, skip it for {} ms and fall back to the leader",
+          nodeId, followerReadBackoffMs, e);
+      followerReadBackoffs.put(nodeId, Time.monotonicNow() + followerReadBackoffMs);
+      return null;
+    }
+  }
+
+  /** @return the next OM in round-robin order which is not backed off; or null if there is none. */
+  private String chooseFollowerReadNode(List<String> nodeIds) {
+    final long now = Time.monotonicNow();
+    for (int i = 0; i < nodeIds.size(); i++) {
+      final String nodeId = nodeIds.get(
+          Math.floorMod(followerReadIndex.getAndIncrement(), nodeIds.size()));
+      final Long backoffUntil = followerReadBackoffs.get(nodeId);
+      if (backoffUntil == null || backoffUntil <= now) {
+        return nodeId;
+      }
+    }
+    return null;
+  }
+
   @Override
   public Text getDelegationTokenService() {
     return omFailoverProxyProvider.getCurrentProxyDelegationToken();
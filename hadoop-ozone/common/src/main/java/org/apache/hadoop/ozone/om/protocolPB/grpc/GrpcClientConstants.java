@@ -36,6 +36,10 @@ public final class GrpcClientConstants {
   public static final Metadata.Key<String> CLIENT_IP_ADDRESS_METADATA_KEY =
       Metadata.Key.of("CLIENT_IP_ADDRESS", Metadata.ASCII_STRING_MARSHALLER);
 
+  /** Set for the write requests, which are served by a separated executor. */
+  public static final Metadata.Key<String> WRITE_REQUEST_METADATA_KEY =
+      Metadata.Key.of("WRITE_REQUEST", Metadata.ASCII_STRING_MARSHALLER);
+
   private GrpcClientConstants() {
   }
 }
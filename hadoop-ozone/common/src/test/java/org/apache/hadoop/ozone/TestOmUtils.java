@@ -42,6 +42,8 @@
 import java.util.TreeSet;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -218,5 +220,22 @@ void getOmSocketAddressEmpty() {
     assertEquals("0.0.0.0", addr.getHostString());
     assertEquals(OMConfigKeys.OZONE_OM_PORT_DEFAULT, addr.getPort());
   }
-}
 
+  @Test
+  void followerReadAllowedOnlyForReadOnlyRequests() {
+    for (Type type : Type.values()) {
+      final OMRequest request = OMRequest.newBuilder()
+          .setCmdType(type)
+          .setClientId("test-client-id")
+          .build();
+      if (OmUtils.isFollowerReadAllowed(request)) {
+        assertTrue(OmUtils.isReadOnly(request), type::name);
+      }
+    }
+    final OMRequest lookupKey = OMRequest.newBuilder()
+        .setCmdType(Type.LookupKey)
+        .setClientId("test-client-id")
+        .build();
+    assertTrue(OmUtils.isFollowerReadAllowed(lookupKey));
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.protocolPB;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ServiceException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
+import org.apache.hadoop.ozone.om.ha.HadoopRpcOMFailoverProxyProvider;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the follower reads of {@link Hadoop3OmTransport}.
+ */
+public class TestHadoop3OmTransport {
+  private static final List<String> NODE_IDS = Arrays.asList("om1", "om2", "om3");
+  private static final long BACKOFF_MS = 60_000;
+
+  private HadoopRpcOMFailoverProxyProvider<OzoneManagerProtocolPB> proxyProvider;
+  private final Map<String, OzoneManagerProtocolPB> proxies = new HashMap<>();
+  /** The retry proxy which sends the requests to the leader. */
+  private OzoneManagerProtocolPB leader;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    proxyProvider = mock(HadoopRpcOMFailoverProxyProvider.class);
+    when(proxyProvider.getOMNodeIds()).thenReturn(NODE_IDS);
+    for (String nodeId : NODE_IDS) {
+      final OzoneManagerProtocolPB proxy = mock(OzoneManagerProtocolPB.class);
+      proxies.put(nodeId, proxy);
+      when(proxyProvider.getProxy(nodeId)).thenReturn(proxy);
+    }
+    leader = mock(OzoneManagerProtocolPB.class);
+  }
+
+  private Hadoop3OmTransport newTransport(boolean followerReadEnabled) {
+    return new Hadoop3OmTransport(proxyProvider, leader, followerReadEnabled, BACKOFF_MS);
+  }
+
+  private static OMRequest newRequest(Type type) {
+    return OMRequest.newBuilder()
+        .setCmdType(type)
+        .setClientId("test-client-id")
+        .build();
+  }
+
+  private static OMResponse newResponse(Type type) {
+    return OMResponse.newBuilder()
+        .setCmdType(type)
+        .setStatus(Status.OK)
+        .build();
+  }
+
+  @Test
+  public void testReadsAreSpreadOverAllOMs() throws Exception {
+    final Hadoop3OmTransport transport = newTransport(true);
+    final OMRequest request = newRequest(Type.LookupKey);
+    final OMResponse response = newResponse(Type.LookupKey);
+    for (OzoneManagerProtocolPB proxy : proxies.values()) {
+      when(proxy.submitRequest(any(), any())).thenReturn(response);
+    }
+
+    for (int i = 0; i < 2 * NODE_IDS.size(); i++) {
+      assertSame(response, transport.submitRequest(request));
+    }
+    for (OzoneManagerProtocolPB proxy : proxies.values()) {
+      verify(proxy, times(2)).submitRequest(any(), any());
+    }
+    verify(leader, never()).submitRequest(any(), any());
+  }
+
+  @Test
+  public void testFallbackToLeader() throws Exception {
+    final Hadoop3OmTransport transport = newTransport(true);
+    final OMRequest request = newRequest(Type.LookupKey);
+    final OMResponse response = newResponse(Type.LookupKey);
+    // the follower cannot obtain the read index
+    for (OzoneManagerProtocolPB proxy : proxies.values()) {
+      when(proxy.submitRequest(any(), any())).thenThrow(
+          new ServiceException(new OMNotLeaderException("not leader")));
+    }
+    when(leader.submitRequest(any(), any())).thenReturn(response);
+
+    assertSame(response, transport.submitRequest(request));
+    verify(proxies.get(NODE_IDS.get(0))).submitRequest(any(), any());
+    verify(leader).submitRequest(any(), any());
+  }
+
+  @Test
+  public void testFailedOMIsSkipped() throws Exception {
+    final Hadoop3OmTransport transport = newTransport(true);
+    final OMRequest request = newRequest(Type.LookupKey);
+    final OMResponse response = newResponse(Type.LookupKey);
+    final OzoneManagerProtocolPB failed = proxies.get(NODE_IDS.get(0));
+    when(failed.submitRequest(any(), any())).thenThrow(new ServiceException("failed"));
+    for (int i = 1; i < NODE_IDS.size(); i++) {
+      when(proxies.get(NODE_IDS.get(i)).submitRequest(any(), any())).thenReturn(response);
+    }
+    when(leader.submitRequest(any(), any())).thenReturn(response);
+
+    // the first read fails over to the leader
+    assertSame(response, transport.submitRequest(request));
+    verify(leader).submitRequest(any(), any());
+    // the following reads skip the failed OM
+    for (int i = 0; i < 2 * (NODE_IDS.size() - 1); i++) {
+      assertSame(response, transport.submitRequest(request));
+    }
+    verify(failed).submitRequest(any(), any());
+    for (int i = 1; i < NODE_IDS.size(); i++) {
+      verify(proxies.get(NODE_IDS.get(i)), times(2)).submitRequest(any(), any());
+    }
+    verify(leader).submitRequest(any(), any());
+  }
+
+  @Test
+  public void testWritesAreSentToLeader() throws Exception {
+    final Hadoop3OmTransport transport = newTransport(true);
+    for (Type type : new Type[] {Type.CreateKey, Type.CommitKey, Type.DeleteKey, Type.CreateBucket}) {
+      final OMResponse response = newResponse(type);
+      when(leader.submitRequest(any(), any())).thenReturn(response);
+      assertSame(response, transport.submitRequest(newRequest(type)));
+    }
+    verify(proxyProvider, never()).getProxy(anyString());
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    final Hadoop3OmTransport transport = newTransport(false);
+    final OMResponse response = newResponse(Type.LookupKey);
+    when(leader.submitRequest(any(), any())).thenReturn(response);
+
+    assertSame(response, transport.submitRequest(newRequest(Type.LookupKey)));
+    verify(proxyProvider, never()).getProxy(anyString());
+  }
+}
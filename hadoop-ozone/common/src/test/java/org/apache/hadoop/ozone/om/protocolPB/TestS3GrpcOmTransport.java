@@ -21,21 +21,34 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_MAXIMUM_RESPONSE_LENGTH;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_MAXIMUM_RESPONSE_LENGTH_DEFAULT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.Mockito.mock;
 
 import com.google.protobuf.ServiceException;
 import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
 import io.grpc.inprocess.InProcessChannelBuilder;
 import io.grpc.inprocess.InProcessServerBuilder;
 import io.grpc.testing.GrpcCleanupRule;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
+import org.apache.hadoop.ozone.om.protocolPB.grpc.GrpcClientConstants;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceListRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerServiceGrpc;
@@ -109,6 +122,59 @@ public void submitRequest(org.apache.hadoop.ozone.protocol.proto
 
   private GrpcOmTransport client;
 
+  /** The connection of each call received by the servers. */
+  private final List<Integer> callConnections =
+      Collections.synchronizedList(new ArrayList<>());
+  /** The write request header of each call received by the servers. */
+  private final List<String> callWriteHeaders =
+      Collections.synchronizedList(new ArrayList<>());
+
+  /** Start a server recording the calls as the given connection. */
+  private ManagedChannel startServer(String name, int connection)
+      throws IOException {
+    final ServerInterceptor recorder = new ServerInterceptor() {
+      @Override
+      public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+          ServerCall<ReqT, RespT> call, Metadata headers,
+          ServerCallHandler<ReqT, RespT> next) {
+        callConnections.add(connection);
+        callWriteHeaders.add(
+            headers.get(GrpcClientConstants.WRITE_REQUEST_METADATA_KEY));
+        return next.startCall(call, headers);
+      }
+    };
+    grpcCleanup.register(InProcessServerBuilder
+        .forName(name)
+        .directExecutor()
+        .addService(ServerInterceptors.intercept(serviceImpl, recorder))
+        .build()
+        .start());
+    return grpcCleanup.register(
+        InProcessChannelBuilder.forName(name).directExecutor().build());
+  }
+
+  private static OMRequest newServiceListRequest() {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.ServiceList)
+        .setVersion(CURRENT_VERSION)
+        .setClientId("test")
+        .setServiceListRequest(ServiceListRequest.newBuilder().build())
+        .build();
+  }
+
+  private static OMRequest newCreateKeyRequest() {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setVersion(CURRENT_VERSION)
+        .setClientId("test")
+        .setCreateKeyRequest(CreateKeyRequest.newBuilder()
+            .setKeyArgs(KeyArgs.newBuilder()
+                .setVolumeName("vol")
+                .setBucketName("bucket")
+                .setKeyName("key")))
+        .build();
+  }
+
   private ServiceException createNotLeaderException() {
     RaftPeerId raftPeerId = RaftPeerId.getRaftPeerId("testNodeId");
 
@@ -125,18 +191,9 @@ public void setUp() throws Exception {
     // Generate a unique in-process server name.
     serverName = InProcessServerBuilder.generateName();
 
-    // Create a server, add service, start,
-    // and register for automatic graceful shutdown.
-    grpcCleanup.register(InProcessServerBuilder
-        .forName(serverName)
-        .directExecutor()
-        .addService(serviceImpl)
-        .build()
-        .start());
-
-    // Create a client channel and register for automatic graceful shutdown.
-    channel = grpcCleanup.register(
-        InProcessChannelBuilder.forName(serverName).directExecutor().build());
+    // Create a server, add service, start, create a client channel
+    // and register them for automatic graceful shutdown.
+    channel = startServer(serverName, 0);
 
     omServiceId = "";
     conf = new OzoneConfiguration();
@@ -241,4 +298,38 @@ public void testGrpcFailoverExceedMaxMesgLen() throws Exception {
     // rather to fail.
     assertThrows(Exception.class, () -> client.submitRequest(omRequest));
   }
+
+  @Test
+  public void testWriteRequestHeader() throws Exception {
+    client = new GrpcOmTransport(conf, ugi, omServiceId);
+    client.startClient(channel);
+
+    client.submitRequest(newServiceListRequest());
+    client.submitRequest(newCreateKeyRequest());
+
+    // only the write request has the header
+    assertEquals(2, callWriteHeaders.size());
+    assertNull(callWriteHeaders.get(0));
+    assertEquals(Boolean.TRUE.toString(), callWriteHeaders.get(1));
+  }
+
+  @Test
+  public void testRoundRobinConnections() throws Exception {
+    final int connections = 3;
+    final List<ManagedChannel> channels = new ArrayList<>();
+    channels.add(channel);
+    for (int i = 1; i < connections; i++) {
+      channels.add(startServer(InProcessServerBuilder.generateName(), i));
+    }
+    client = new GrpcOmTransport(conf, ugi, omServiceId);
+    client.startClient(channels);
+
+    for (int i = 0; i < 2 * connections; i++) {
+      client.submitRequest(i % 2 == 0
+          ? newServiceListRequest() : newCreateKeyRequest());
+    }
+
+    // both the reads and the writes use the connections in turn
+    assertEquals(Arrays.asList(0, 1, 2, 0, 1, 2), callConnections);
+  }
 }
@@ -22,6 +22,8 @@
 import java.util.concurrent.Callable;
 import org.apache.hadoop.hdds.cli.HddsVersionProvider;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.protocolPB.GrpcOmTransportFactory;
 import org.apache.hadoop.ozone.om.protocolPB.OzoneManagerProtocolClientSideTranslatorPB;
 import org.apache.hadoop.ozone.util.PayloadUtils;
 import org.kohsuke.MetaInfServices;
@@ -74,6 +76,12 @@ public class OmRPCLoadGenerator extends BaseFreonGenerator
           "request")
   private boolean writeToRatis = false;
 
+  @Option(names = {"--grpc"},
+      description = "Use the gRPC transport instead of Hadoop RPC, " +
+          "for comparing the two.  It requires the OM gRPC server " +
+          "(ozone.om.s3.grpc.server_enabled)")
+  private boolean useGrpc = false;
+
   @Override
   public Void call() throws Exception {
     Preconditions.checkArgument(payloadReqSizeKB >= 0,
@@ -82,6 +90,10 @@ public Void call() throws Exception {
             "OM echo response payload size should be positive value or zero.");
 
     configuration = createOzoneConfiguration();
+    if (useGrpc) {
+      configuration.set(OMConfigKeys.OZONE_OM_TRANSPORT_CLASS,
+          GrpcOmTransportFactory.class.getName());
+    }
     clients = new OzoneManagerProtocolClientSideTranslatorPB[clientsCount];
     for (int i = 0; i < clientsCount; i++) {
       clients[i] = createOmClient(configuration, null);
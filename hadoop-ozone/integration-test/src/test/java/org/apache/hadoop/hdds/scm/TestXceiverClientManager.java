@@ -110,6 +110,80 @@ public void testCaching(boolean securityEnabled, @TempDir Path metaDir) throws I
     }
   }
 
+  @Test
+  public void testConnectionsPerPipeline(@TempDir Path metaDir) throws IOException {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    ScmClientConfig clientConfig = conf.getObject(ScmClientConfig.class);
+    clientConfig.setConnectionsPerPipeline(2);
+    conf.set(HDDS_METADATA_DIR_NAME, metaDir.toString());
+    try (XceiverClientManager clientManager =
+        new XceiverClientManager(conf, clientConfig, null)) {
+      ContainerWithPipeline container =
+          storageContainerLocationClient.allocateContainer(
+              SCMTestUtils.getReplicationType(conf),
+              HddsProtos.ReplicationFactor.ONE,
+              OzoneConsts.OZONE);
+
+      // the first client is in use, so another client is created
+      XceiverClientSpi client1 = clientManager.acquireClient(container.getPipeline());
+      XceiverClientSpi client2 = clientManager.acquireClient(container.getPipeline());
+      assertNotEquals(client1, client2);
+      assertEquals(2, clientManager.getClientCache().size());
+
+      // the pool is full, the least used client is shared
+      clientManager.releaseClient(client2, false);
+      XceiverClientSpi client3 = clientManager.acquireClient(container.getPipeline());
+      assertEquals(client2, client3);
+      XceiverClientSpi client4 = clientManager.acquireClient(container.getPipeline());
+      assertEquals(client1, client4);
+      assertEquals(2, client4.getRefcount());
+      assertEquals(2, clientManager.getClientCache().size());
+
+      clientManager.releaseClient(client1, true);
+      clientManager.releaseClient(client3, true);
+      clientManager.releaseClient(client4, true);
+      assertEquals(0, clientManager.getClientCache().size());
+    }
+  }
+
+  @Test
+  public void testIdlePooledClientExpires(@TempDir Path metaDir) throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    ScmClientConfig clientConfig = conf.getObject(ScmClientConfig.class);
+    clientConfig.setConnectionsPerPipeline(2);
+    clientConfig.setStaleThreshold(1000);
+    conf.set(HDDS_METADATA_DIR_NAME, metaDir.toString());
+    try (XceiverClientManager clientManager =
+        new XceiverClientManager(conf, clientConfig, null)) {
+      ContainerWithPipeline container =
+          storageContainerLocationClient.allocateContainer(
+              SCMTestUtils.getReplicationType(conf),
+              HddsProtos.ReplicationFactor.ONE,
+              OzoneConsts.OZONE);
+      Cache<String, XceiverClientSpi> cache = clientManager.getClientCache();
+
+      // a burst opens another client
+      XceiverClientSpi client1 = clientManager.acquireClient(container.getPipeline());
+      XceiverClientSpi client2 = clientManager.acquireClient(container.getPipeline());
+      assertNotEquals(client1, client2);
+      clientManager.releaseClient(client1, false);
+      clientManager.releaseClient(client2, false);
+
+      // keep using the first client until the idle client expires
+      final long deadline = System.currentTimeMillis() + 10_000;
+      while (cache.asMap().containsValue(client2)) {
+        assertThat(System.currentTimeMillis()).isLessThan(deadline);
+        XceiverClientSpi client = clientManager.acquireClient(container.getPipeline());
+        assertEquals(client1, client);
+        clientManager.releaseClient(client, false);
+        Thread.sleep(100);
+        cache.cleanUp();
+      }
+      assertEquals(1, cache.size());
+      assertThat(cache.asMap().values()).containsExactly(client1);
+    }
+  }
+
   @Test
   public void testFreeByReference(@TempDir Path metaDir) throws IOException {
     OzoneConfiguration conf = new OzoneConfiguration();
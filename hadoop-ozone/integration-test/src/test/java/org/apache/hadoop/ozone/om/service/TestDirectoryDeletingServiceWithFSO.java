@@ -624,7 +624,7 @@ public void testAOSKeyDeletingWithSnapshotCreateParallelExecution()
     }).when(service).optimizeDirDeletesAndSubmitRequest(anyLong(), anyLong(),
         anyLong(), anyList(), anyList(), eq(null), anyLong(), anyLong(), any(),
         any(ReclaimableDirFilter.class), any(ReclaimableKeyFilter.class), any(),
-        anyLong());
+        anyLong(), anyList(), any());
 
     Mockito.doAnswer(i -> {
       store.createSnapshot(testVolumeName, testBucketName, snap2);
@@ -35,7 +35,9 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.common.BlockGroup;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.ListOpenFilesResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
@@ -280,6 +282,15 @@ ListKeysResult listKeys(String volumeName,
                           int maxKeys)
       throws IOException;
 
+  /**
+   * The same as {@link #listKeys(String, String, String, String, int)}
+   * except that the keys are represented by {@link BasicOmKeyInfo},
+   * which are decoded from the DB without the key locations and the ACLs.
+   */
+  ListKeysLightResult listKeysLight(String volumeName,
+      String bucketName, String startKey, String keyPrefix, int maxKeys)
+      throws IOException;
+
   /**
    * Returns snapshot info for volume/bucket snapshot path.
    * @param volumeName volume name
@@ -384,6 +395,13 @@ List<ExpiredMultipartUploadsBucket> getExpiredMultipartUploads(
 
   Table<String, OmKeyInfo> getKeyTable(BucketLayout bucketLayout);
 
+  /**
+   * A read-only view of {@link #getKeyTable(BucketLayout)}
+   * decoding only the fields in {@link BasicOmKeyInfo}.
+   * The view has no table cache.
+   */
+  Table<String, BasicOmKeyInfo> getBasicKeyTable(BucketLayout bucketLayout);
+
   /**
    * Returns the FileTable.
    *
@@ -25,6 +25,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.ozone.OzoneConsts;
 
 /**
@@ -109,6 +110,18 @@ public final class DeletingServiceMetrics {
   @Metric("Snapshot: No. of not reclaimable keys the last run")
   private MutableGaugeLong snapKeysNotReclaimableLast;
 
+  /*
+   * Key deletion pipeline stage metrics, the ops of a stage are the keys processed by the stage.
+   */
+  @Metric("Key Deleting Service: time to gather the keys from deletedTable (ms per key)")
+  private MutableRate kdsGatherStage;
+  @Metric("Key Deleting Service: time for SCM to ack the deleted blocks (ms per key)")
+  private MutableRate kdsScmStage;
+  @Metric("Key Deleting Service: time to purge the keys from OM DB (ms per key)")
+  private MutableRate kdsPurgeStage;
+  @Metric("Key Deleting Service: no. of key deletion batches in flight")
+  private MutableGaugeLong kdsBatchesInFlight;
+
   private DeletingServiceMetrics() {
     this.registry = new MetricsRegistry(METRICS_SOURCE_NAME);
   }
@@ -287,6 +300,36 @@ public long getSnapKeysNotReclaimableLast() {
     return snapKeysNotReclaimableLast.value();
   }
 
+  /**
+   * Add a batch to the given key deletion stage metric,
+   * so that NumOps counts the keys and the throughput of the stage is 1 / AvgTime keys per ms.
+   */
+  private static void addBatch(MutableRate stage, long numKeys, long elapsedMs) {
+    if (numKeys > 0) {
+      stage.add(numKeys, elapsedMs);
+    }
+  }
+
+  public void addKdsGatherStage(long numKeys, long elapsedMs) {
+    addBatch(kdsGatherStage, numKeys, elapsedMs);
+  }
+
+  public void addKdsScmStage(long numKeys, long elapsedMs) {
+    addBatch(kdsScmStage, numKeys, elapsedMs);
+  }
+
+  public void addKdsPurgeStage(long numKeys, long elapsedMs) {
+    addBatch(kdsPurgeStage, numKeys, elapsedMs);
+  }
+
+  public void incrKdsBatchesInFlight(long delta) {
+    kdsBatchesInFlight.incr(delta);
+  }
+
+  public long getKdsBatchesInFlight() {
+    return kdsBatchesInFlight.value();
+  }
+
   @VisibleForTesting
   public void resetDirectoryMetrics() {
     numDirsPurged.set(0);
@@ -23,13 +23,20 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_BOSSGROUP_SIZE_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_MAXIMUM_RESPONSE_LENGTH;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_MAXIMUM_RESPONSE_LENGTH_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_MAX_CONCURRENT_CALLS_PER_CONNECTION_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_MAX_CONCURRENT_CALLS_PER_CONNECTION_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_READ_THREAD_NUM_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_READ_THREAD_NUM_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_WORKERGROUP_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_WORKERGROUP_SIZE_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_WRITE_THREAD_NUM_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GRPC_WRITE_THREAD_NUM_KEY;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Metadata;
 import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallExecutorSupplier;
 import io.grpc.ServerInterceptors;
 import io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.NettyServerBuilder;
@@ -40,6 +47,7 @@
 import io.netty.handler.ssl.SslProvider;
 import java.io.IOException;
 import java.util.OptionalInt;
+import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -55,6 +63,7 @@
 import org.apache.hadoop.ozone.ha.ConfUtils;
 import org.apache.hadoop.ozone.om.protocolPB.GrpcOmTransport;
 import org.apache.hadoop.ozone.om.protocolPB.grpc.ClientAddressServerInterceptor;
+import org.apache.hadoop.ozone.om.protocolPB.grpc.GrpcClientConstants;
 import org.apache.hadoop.ozone.protocolPB.OzoneManagerProtocolServerSideTranslatorPB;
 import org.apache.hadoop.ozone.security.OzoneDelegationTokenSecretManager;
 import org.slf4j.Logger;
@@ -74,6 +83,11 @@ public class GrpcOzoneManagerServer {
   private final String threadNamePrefix;
 
   private ThreadPoolExecutor readExecutors;
+  /**
+   * Write requests wait for Ratis in a separated pool
+   * so that they do not block the read requests.
+   */
+  private ThreadPoolExecutor writeExecutors;
   private EventLoopGroup bossEventLoopGroup;
   private EventLoopGroup workerEventLoopGroup;
 
@@ -116,6 +130,14 @@ public void init(OzoneManagerProtocolServerSideTranslatorPB omTranslator,
     int poolSize = omServerConfig.getInt(OZONE_OM_GRPC_READ_THREAD_NUM_KEY,
         OZONE_OM_GRPC_READ_THREAD_NUM_DEFAULT);
 
+    int writePoolSize = omServerConfig.getInt(
+        OZONE_OM_GRPC_WRITE_THREAD_NUM_KEY,
+        OZONE_OM_GRPC_WRITE_THREAD_NUM_DEFAULT);
+
+    int maxConcurrentCallsPerConnection = omServerConfig.getInt(
+        OZONE_OM_GRPC_MAX_CONCURRENT_CALLS_PER_CONNECTION_KEY,
+        OZONE_OM_GRPC_MAX_CONCURRENT_CALLS_PER_CONNECTION_DEFAULT);
+
     int bossGroupSize = omServerConfig.getInt(OZONE_OM_GRPC_BOSSGROUP_SIZE_KEY,
         OZONE_OM_GRPC_BOSSGROUP_SIZE_DEFAULT);
 
@@ -130,6 +152,13 @@ public void init(OzoneManagerProtocolServerSideTranslatorPB omTranslator,
             .setNameFormat(threadNamePrefix + "OmRpcReader-%d")
             .build());
 
+    writeExecutors = new ThreadPoolExecutor(writePoolSize, writePoolSize,
+        60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat(threadNamePrefix + "OmRpcWriter-%d")
+            .build());
+
     ThreadFactory bossFactory = new ThreadFactoryBuilder().setDaemon(true)
         .setNameFormat(threadNamePrefix + "OmRpcBoss-ELG-%d")
         .build();
@@ -147,6 +176,18 @@ public void init(OzoneManagerProtocolServerSideTranslatorPB omTranslator,
         .workerEventLoopGroup(workerEventLoopGroup)
         .channelType(NioServerSocketChannel.class)
         .executor(readExecutors)
+        .callExecutor(new ServerCallExecutorSupplier() {
+          @Override
+          public <ReqT, RespT> Executor getExecutor(
+              ServerCall<ReqT, RespT> call, Metadata metadata) {
+            // null means the default executor, i.e. readExecutors
+            return metadata.containsKey(
+                GrpcClientConstants.WRITE_REQUEST_METADATA_KEY)
+                ? writeExecutors : null;
+          }
+        })
+        // HTTP/2 flow control: the clients hold further calls
+        .maxConcurrentCallsPerConnection(maxConcurrentCallsPerConnection)
         .addService(ServerInterceptors.intercept(
             new OzoneManagerServiceGrpc(omTranslator),
             new ClientAddressServerInterceptor(),
@@ -184,6 +225,8 @@ public void stop() {
     try {
       readExecutors.shutdown();
       readExecutors.awaitTermination(5L, TimeUnit.SECONDS);
+      writeExecutors.shutdown();
+      writeExecutors.awaitTermination(5L, TimeUnit.SECONDS);
       server.shutdown().awaitTermination(10L, TimeUnit.SECONDS);
       bossEventLoopGroup.shutdownGracefully().sync();
       workerEventLoopGroup.shutdownGracefully().sync();
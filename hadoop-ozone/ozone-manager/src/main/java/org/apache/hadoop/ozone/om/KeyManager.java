@@ -28,7 +28,9 @@
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.fs.OzoneManagerFS;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
@@ -111,6 +113,13 @@ ListKeysResult listKeys(String volumeName, String bucketName, String startKey,
                           String keyPrefix, int maxKeys)
       throws IOException;
 
+  /**
+   * The same as {@link #listKeys(String, String, String, String, int)}
+   * except that the keys are represented by {@link BasicOmKeyInfo}.
+   */
+  ListKeysLightResult listKeysLight(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys) throws IOException;
+
   /**
    * Retrieves pending deletion keys that match a given filter function.
    *
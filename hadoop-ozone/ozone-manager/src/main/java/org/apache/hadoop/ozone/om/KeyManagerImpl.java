@@ -142,6 +142,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.helpers.BucketEncryptionKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
@@ -699,6 +700,29 @@ protected Map<Long, ContainerWithPipeline> refreshPipeline(
   public ListKeysResult listKeys(String volumeName, String bucketName,
       String startKey, String keyPrefix,
       int maxKeys) throws IOException {
+    ListKeysResult listKeysResult = listKeys(volumeName, bucketName,
+        startKey, keyPrefix, maxKeys, metadataManager::listKeys);
+    List<OmKeyInfo> keyList = listKeysResult.getKeys();
+
+    // For listKeys, we return the latest Key Location by default
+    for (OmKeyInfo omKeyInfo : keyList) {
+      slimLocationVersion(omKeyInfo);
+    }
+
+    return listKeysResult;
+  }
+
+  @Override
+  public ListKeysLightResult listKeysLight(String volumeName,
+      String bucketName, String startKey, String keyPrefix, int maxKeys)
+      throws IOException {
+    return listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys,
+        metadataManager::listKeysLight);
+  }
+
+  private <R> R listKeys(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys,
+      ListKeysFunction<R> listFunction) throws IOException {
     Preconditions.checkNotNull(volumeName);
     Preconditions.checkNotNull(bucketName);
     OmBucketInfo omBucketInfo = getBucketInfo(volumeName, bucketName);
@@ -716,17 +740,15 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
       keyPrefix = OmUtils.normalizeKey(keyPrefix, true);
     }
 
-    ListKeysResult listKeysResult =
-        metadataManager.listKeys(volumeName, bucketName, startKey, keyPrefix,
-            maxKeys);
-    List<OmKeyInfo> keyList = listKeysResult.getKeys();
-
-    // For listKeys, we return the latest Key Location by default
-    for (OmKeyInfo omKeyInfo : keyList) {
-      slimLocationVersion(omKeyInfo);
-    }
+    return listFunction.apply(volumeName, bucketName, startKey, keyPrefix,
+        maxKeys);
+  }
 
-    return listKeysResult;
+  /** A function listing the keys of a bucket. */
+  @FunctionalInterface
+  interface ListKeysFunction<R> {
+    R apply(String volumeName, String bucketName, String startKey,
+        String keyPrefix, int maxKeys) throws IOException;
   }
 
   @Override
@@ -745,6 +767,7 @@ public PendingKeysDeletion getPendingDeletionKeys(
     Map<String, RepeatedOmKeyInfo> keysToModify = new HashMap<>();
     Map<String, Long> keyBlockReplicatedSize = new HashMap<>();
     int notReclaimableKeyCount = 0;
+    String nextKey = null;
 
     // Bucket prefix would be empty if volume is empty i.e. either null or "".
     Optional<String> bucketPrefix = getBucketPrefix(volume, bucket, false);
@@ -793,8 +816,12 @@ public PendingKeysDeletion getPendingDeletionKeys(
           notReclaimableKeyCount += notReclaimableKeyInfoList.size();
         }
       }
+      if (delKeyIter.hasNext()) {
+        nextKey = delKeyIter.next().getKey();
+      }
     }
-    return new PendingKeysDeletion(keyBlocksList, keysToModify, keyBlockReplicatedSize, notReclaimableKeyCount);
+    return new PendingKeysDeletion(keyBlocksList, keysToModify, keyBlockReplicatedSize, notReclaimableKeyCount,
+        nextKey);
   }
 
   private <V, R> List<KeyValue<String, R>> getTableEntries(String startKey,
@@ -94,6 +94,9 @@ public class OMPerformanceMetrics {
   @Metric(about = "Ratis latency in nano seconds")
   private MutableRate submitToRatisLatencyNs;
 
+  @Metric(about = "Follower read index latency in nano seconds")
+  private MutableRate followerReadIndexLatencyNs;
+
   @Metric(about = "Convert om request to ratis request nano seconds")
   private MutableRate createRatisRequestLatencyNs;
 
@@ -244,6 +247,10 @@ public MutableRate getSubmitToRatisLatencyNs() {
     return submitToRatisLatencyNs;
   }
 
+  public MutableRate getFollowerReadIndexLatencyNs() {
+    return followerReadIndexLatencyNs;
+  }
+
   public MutableRate getCreateRatisRequestLatencyNs() {
     return createRatisRequestLatencyNs;
   }
@@ -58,6 +58,8 @@
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
@@ -71,6 +73,7 @@
 import org.apache.hadoop.hdds.utils.db.DBStore;
 import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
 import org.apache.hadoop.hdds.utils.db.RDBCheckpointUtils;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
@@ -78,6 +81,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.ozone.ClientVersion;
 import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConsts;
@@ -85,7 +89,9 @@
 import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.ListOpenFilesResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
@@ -133,6 +139,8 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
       LoggerFactory.getLogger(OmMetadataManagerImpl.class);
 
   private DBStore store;
+  /** The column family options of a snapshot DB, or null if it is not a snapshot DB. */
+  private ManagedColumnFamilyOptions snapshotDbColumnFamilyOptions;
 
   private final IOzoneManagerLock lock;
 
@@ -149,6 +157,9 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private TypedTable<String, OmKeyInfo> fileTable;
   private TypedTable<String, OmKeyInfo> openFileTable;
   private TypedTable<String, OmKeyInfo> deletedDirTable;
+  // Read-only views of keyTable and fileTable, see getBasicKeyTable.
+  private TypedTable<String, BasicOmKeyInfo> basicKeyTable;
+  private TypedTable<String, BasicOmKeyInfo> basicFileTable;
 
   private TypedTable<String, S3SecretValue> s3SecretTable;
   private TypedTable<OzoneTokenIdentifier, Long> dTokenTable;
@@ -256,9 +267,12 @@ private OmMetadataManagerImpl(OzoneConfiguration conf, File dir, String name)
     perfMetrics = null;
   }
 
-  // metadata constructor for snapshots
+  // metadata constructor for snapshots.
+  // The sharedColumnFamilyOptions, if not null, are copied for this DB,
+  // so that all the snapshot DBs share the table config, including the block cache.
   OmMetadataManagerImpl(OzoneConfiguration conf, String snapshotDirName,
-      boolean isSnapshotInCache, int maxOpenFiles) throws IOException {
+      boolean isSnapshotInCache, int maxOpenFiles,
+      ManagedColumnFamilyOptions sharedColumnFamilyOptions) throws IOException {
     try {
       lock = new OmReadOnlyLock();
       omEpoch = 0;
@@ -285,7 +299,16 @@ private OmMetadataManagerImpl(OzoneConfiguration conf, File dir, String name)
       final boolean enableRocksDBMetrics = conf.getBoolean(
           OZONE_OM_SNAPSHOT_ROCKSDB_METRICS_ENABLED,
           OZONE_OM_SNAPSHOT_ROCKSDB_METRICS_ENABLED_DEFAULT);
-      this.store = newDBStoreBuilder(conf, dbName, metaDir)
+      final DBStoreBuilder dbStoreBuilder = newDBStoreBuilder(conf, dbName, metaDir);
+      if (sharedColumnFamilyOptions != null) {
+        // DBStoreBuilder changes the options, e.g. the write buffer size,
+        // so that each DB has its own copy.
+        snapshotDbColumnFamilyOptions = new ManagedColumnFamilyOptions(sharedColumnFamilyOptions);
+        // Not to be closed with the DB, which would close the shared table config; see stop().
+        snapshotDbColumnFamilyOptions.setReused(true);
+        dbStoreBuilder.setDefaultCFOptions(snapshotDbColumnFamilyOptions);
+      }
+      this.store = dbStoreBuilder
           .setOpenReadOnly(false)
           .disableDefaultCFAutoCompaction(true)
           .setMaxNumberOfOpenFiles(maxOpenFiles)
@@ -334,6 +357,14 @@ public Table<String, OmKeyInfo> getKeyTable(BucketLayout bucketLayout) {
     return keyTable;
   }
 
+  @Override
+  public Table<String, BasicOmKeyInfo> getBasicKeyTable(BucketLayout bucketLayout) {
+    if (bucketLayout.isFileSystemOptimized()) {
+      return basicFileTable;
+    }
+    return basicKeyTable;
+  }
+
   @Override
   public Table<String, OmKeyInfo> getFileTable() {
     return fileTable;
@@ -454,6 +485,11 @@ protected void initializeOmTables(CacheType cacheType,
     fileTable = initializer.get(OMDBDefinition.FILE_TABLE_DEF);
     openFileTable = initializer.get(OMDBDefinition.OPEN_FILE_TABLE_DEF);
     deletedDirTable = initializer.get(OMDBDefinition.DELETED_DIR_TABLE_DEF);
+    // Not added to the tableMap since they are not separate tables.
+    basicKeyTable = store.getTable(OMDBDefinition.KEY_TABLE, StringCodec.get(),
+        BasicOmKeyInfo.getCodec(), CacheType.NO_CACHE);
+    basicFileTable = store.getTable(OMDBDefinition.FILE_TABLE, StringCodec.get(),
+        BasicOmKeyInfo.getCodec(), CacheType.NO_CACHE);
 
     dTokenTable = initializer.get(OMDBDefinition.DELEGATION_TOKEN_TABLE_DEF);
     s3SecretTable = initializer.get(OMDBDefinition.S3_SECRET_TABLE_DEF);
@@ -493,6 +529,11 @@ public void stop() throws IOException {
       store.close();
       store = null;
     }
+    if (snapshotDbColumnFamilyOptions != null) {
+      // close only the copy but not the shared table config.
+      snapshotDbColumnFamilyOptions.close();
+      snapshotDbColumnFamilyOptions = null;
+    }
     tableCacheMetricsMap.values().forEach(TableCacheMetrics::unregister);
     // OzoneManagerLock cleanup
     lock.cleanup();
@@ -509,6 +550,11 @@ public DBStore getStore() {
     return store;
   }
 
+  @VisibleForTesting
+  ManagedColumnFamilyOptions getSnapshotDbColumnFamilyOptions() {
+    return snapshotDbColumnFamilyOptions;
+  }
+
   /**
    * Given a volume return the corresponding DB key.
    *
@@ -987,10 +1033,34 @@ public ListOpenFilesResult listOpenFiles(BucketLayout bucketLayout,
   public ListKeysResult listKeys(String volumeName, String bucketName,
                                  String startKey, String keyPrefix, int maxKeys)
       throws IOException {
+    return listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys,
+        getKeyTable(getBucketLayout()), Function.identity(), ListKeysResult::new);
+  }
+
+  @Override
+  public ListKeysLightResult listKeysLight(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys) throws IOException {
+    return listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys,
+        getBasicKeyTable(getBucketLayout()), BasicOmKeyInfo::fromOmKeyInfo,
+        ListKeysLightResult::new);
+  }
+
+  /**
+   * List the keys by merging the keyTable cache and the given DB table.
+   *
+   * @param dbTable the table for reading the DB, which decodes the values to V.
+   * @param fromCache the conversion for the values in the keyTable cache.
+   * @param newResult the constructor of the result.
+   */
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  private <V, R> R listKeys(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys,
+      Table<String, V> dbTable, Function<OmKeyInfo, V> fromCache,
+      BiFunction<List<V>, Boolean, R> newResult) throws IOException {
     long startNanos = Time.monotonicNowNanos();
-    List<OmKeyInfo> result = new ArrayList<>();
+    List<V> result = new ArrayList<>();
     if (maxKeys <= 0) {
-      return new ListKeysResult(result, false);
+      return newResult.apply(result, false);
     }
 
     if (Strings.isNullOrEmpty(volumeName)) {
@@ -1030,7 +1100,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     int currentCount = 0;
 
 
-    TreeMap<String, OmKeyInfo> cacheKeyMap = new TreeMap<>();
+    TreeMap<String, V> cacheKeyMap = new TreeMap<>();
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> iterator =
         keyTable.cacheIterator();
 
@@ -1053,15 +1123,15 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
       if (omKeyInfo != null
           && key.startsWith(seekPrefix)
           && key.compareTo(seekKey) >= 0) {
-        cacheKeyMap.put(key, omKeyInfo);
+        cacheKeyMap.put(key, fromCache.apply(omKeyInfo));
       }
     }
     long readFromRDbStartNs, readFromRDbStopNs = 0;
     // Get maxKeys from DB if it has.
-    try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
-             keyIter = getKeyTable(getBucketLayout()).iterator()) {
+    try (TableIterator<String, ? extends KeyValue<String, V>>
+             keyIter = dbTable.iterator()) {
       readFromRDbStartNs = Time.monotonicNowNanos();
-      KeyValue< String, OmKeyInfo > kv;
+      KeyValue<String, V> kv;
       keyIter.seek(seekKey);
       // we need to iterate maxKeys + 1 here because if skipStartKey is true,
       // we should skip that entry and return the result.
@@ -1105,7 +1175,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     // of maxKeys from the sorted map.
     currentCount = 0;
 
-    for (Map.Entry<String, OmKeyInfo>  cacheKey : cacheKeyMap.entrySet()) {
+    for (Map.Entry<String, V> cacheKey : cacheKeyMap.entrySet()) {
       if (cacheKey.getKey().equals(seekKey) && skipStartKey) {
         continue;
       }
@@ -1121,7 +1191,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     // Clear map and set.
     cacheKeyMap.clear();
 
-    return new ListKeysResult(result, isTruncated);
+    return newResult.apply(result, isTruncated);
   }
 
   @Override
@@ -18,6 +18,8 @@
 package org.apache.hadoop.ozone.om;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_DB_PROFILE;
+import static org.apache.hadoop.hdds.utils.db.DBStoreBuilder.HDDS_DEFAULT_DB_PROFILE;
 import static org.apache.hadoop.hdds.utils.db.DBStoreBuilder.DEFAULT_COLUMN_FAMILY_NAME;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_DB_NAME;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
@@ -33,6 +35,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_CACHE_MAX_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_COMPACT_NON_SNAPSHOT_DIFF_TABLES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_COMPACT_NON_SNAPSHOT_DIFF_TABLES_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_CLEANUP_SERVICE_RUN_INTERVAL;
@@ -80,11 +84,13 @@
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.server.ServerUtils;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.CodecRegistry;
 import org.apache.hadoop.hdds.utils.db.DBCheckpoint;
+import org.apache.hadoop.hdds.utils.db.DBProfile;
 import org.apache.hadoop.hdds.utils.db.RDBStore;
 import org.apache.hadoop.hdds.utils.db.RocksDBCheckpoint;
 import org.apache.hadoop.hdds.utils.db.RocksDatabase;
@@ -92,8 +98,10 @@
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedBlockBasedTableConfig;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedDBOptions;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedLRUCache;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksDB;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -183,6 +191,11 @@ public final class OmSnapshotManager implements AutoCloseable {
 
   private final long diffCleanupServiceInterval;
   private final int maxOpenSstFilesInSnapshotDb;
+  /**
+   * Column family options copied by each of the snapshot DBs,
+   * so that the snapshot DBs share a single block cache.
+   */
+  private final ManagedColumnFamilyOptions snapshotDbColumnFamilyOptions;
   private final ManagedColumnFamilyOptions columnFamilyOptions;
   private final ManagedDBOptions options;
   private final List<ColumnFamilyDescriptor> columnFamilyDescriptors;
@@ -233,6 +246,8 @@ public OmSnapshotManager(OzoneManager ozoneManager) {
     );
     Preconditions.checkArgument(this.maxOpenSstFilesInSnapshotDb >= -1,
         OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES + " value should be larger than or equal to -1.");
+    this.snapshotDbColumnFamilyOptions = createSnapshotDbColumnFamilyOptions(
+        ozoneManager.getConfiguration());
 
     ColumnFamilyHandle snapDiffJobCf;
     ColumnFamilyHandle snapDiffReportCf;
@@ -405,7 +420,7 @@ public OmSnapshot load(@Nonnull UUID snapshotId) throws IOException {
         try {
           snapshotMetadataManager = new OmMetadataManagerImpl(conf,
               snapshotInfo.getCheckpointDirName(), isSnapshotInCache,
-              maxOpenSstFilesInSnapshotDb);
+              maxOpenSstFilesInSnapshotDb, snapshotDbColumnFamilyOptions);
         } catch (IOException e) {
           LOG.error("Failed to retrieve snapshot: {}", snapshotTableKey, e);
           throw e;
@@ -1137,6 +1152,33 @@ private void dropUnknownColumnFamilies(
     }
   }
 
+  /**
+   * Create the column family options for the snapshot DBs.
+   * Each snapshot DB uses a copy of the options with the same table config,
+   * so that all the snapshot DBs share a single block cache,
+   * which also holds the index and filter blocks of the snapshot SST files.
+   * Otherwise, every column family of every open snapshot DB would have its
+   * own block cache and table readers.
+   */
+  @VisibleForTesting
+  static ManagedColumnFamilyOptions createSnapshotDbColumnFamilyOptions(
+      OzoneConfiguration conf) {
+    final DBProfile profile = conf.getEnum(HDDS_DB_PROFILE,
+        HDDS_DEFAULT_DB_PROFILE);
+    final long blockCacheSize = (long) conf.getStorageSize(
+        OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE,
+        OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE_DEFAULT, StorageUnit.BYTES);
+
+    final ManagedBlockBasedTableConfig tableConfig =
+        profile.getBlockBasedTableConfig();
+    tableConfig.closeAndSetBlockCache(new ManagedLRUCache(blockCacheSize));
+    tableConfig.setCacheIndexAndFilterBlocks(true);
+
+    final ManagedColumnFamilyOptions options = profile.getColumnFamilyOptions();
+    options.setReused(true);
+    return options.closeAndSetTableFormatConfig(tableConfig);
+  }
+
   private void closeColumnFamilyOptions(
       final ManagedColumnFamilyOptions managedColumnFamilyOptions) {
     Preconditions.checkArgument(!managedColumnFamilyOptions.isReused());
@@ -1153,6 +1195,10 @@ public void close() {
       snapshotCache.close();
     }
 
+    if (snapshotDbColumnFamilyOptions != null) {
+      ManagedColumnFamilyOptions.closeDeeply(snapshotDbColumnFamilyOptions);
+    }
+
     if (snapshotDiffCleanupService != null) {
       snapshotDiffCleanupService.shutdown();
     }
@@ -226,6 +226,7 @@
 import org.apache.hadoop.ozone.OzoneManagerVersion;
 import org.apache.hadoop.ozone.OzoneSecurityUtil;
 import org.apache.hadoop.ozone.audit.AuditAction;
+import org.apache.hadoop.ozone.audit.AuditLogMetrics;
 import org.apache.hadoop.ozone.audit.AuditLogger;
 import org.apache.hadoop.ozone.audit.AuditLoggerType;
 import org.apache.hadoop.ozone.audit.AuditMessage;
@@ -675,6 +676,7 @@ private OzoneManager(OzoneConfiguration conf, StartupOption startupOption)
         OMMultiTenantManager.checkAndEnableMultiTenancy(this, conf);
 
     metrics = OMMetrics.create();
+    AuditLogMetrics.acquire();
     omSnapshotIntMetrics = OmSnapshotInternalMetrics.create();
     perfMetrics = OMPerformanceMetrics.register();
     omDeletionMetrics = DeletingServiceMetrics.create();
@@ -2423,6 +2425,7 @@ public boolean stop() {
       metadataManager.stop();
       omSnapshotManager.close();
       metrics.unRegister();
+      AuditLogMetrics.release();
       omClientProtocolMetrics.unregister();
       unregisterMXBean();
       if (omRatisSnapshotProvider != null) {
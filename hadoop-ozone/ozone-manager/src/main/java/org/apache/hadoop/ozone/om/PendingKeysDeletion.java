@@ -39,15 +39,25 @@ public class PendingKeysDeletion {
   private List<BlockGroup> keyBlocksList;
   private Map<String, Long> keyBlockReplicatedSize;
   private int notReclaimableKeyCount;
+  /** The next key to be iterated in the deletedTable, or null if all the keys have been iterated. */
+  private final String nextKey;
 
   public PendingKeysDeletion(List<BlockGroup> keyBlocksList,
        Map<String, RepeatedOmKeyInfo> keysToModify,
        Map<String, Long> keyBlockReplicatedSize,
        int notReclaimableKeyCount) {
+    this(keyBlocksList, keysToModify, keyBlockReplicatedSize, notReclaimableKeyCount, null);
+  }
+
+  public PendingKeysDeletion(List<BlockGroup> keyBlocksList,
+       Map<String, RepeatedOmKeyInfo> keysToModify,
+       Map<String, Long> keyBlockReplicatedSize,
+       int notReclaimableKeyCount, String nextKey) {
     this.keysToModify = keysToModify;
     this.keyBlocksList = keyBlocksList;
     this.keyBlockReplicatedSize = keyBlockReplicatedSize;
     this.notReclaimableKeyCount = notReclaimableKeyCount;
+    this.nextKey = nextKey;
   }
 
   public Map<String, RepeatedOmKeyInfo> getKeysToModify() {
@@ -65,4 +75,12 @@ public Map<String, Long> getKeyBlockReplicatedSize() {
   public int getNotReclaimableKeyCount() {
     return notReclaimableKeyCount;
   }
+
+  /**
+   * @return the key to start the next batch from,
+   *         or null if all the keys in the deletedTable have been iterated.
+   */
+  public String getNextKey() {
+    return nextKey;
+  }
 }
@@ -71,6 +71,7 @@ public final class OzoneManagerDoubleBuffer {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(OzoneManagerDoubleBuffer.class);
+  static final int MIN_FLUSH_BATCH_SIZE = 100;
 
   private Queue<Entry> currentBuffer;
   private Queue<Entry> readyBuffer;
@@ -96,6 +97,18 @@ public final class OzoneManagerDoubleBuffer {
 
   private final OzoneManagerDoubleBufferMetrics metrics = OzoneManagerDoubleBufferMetrics.create();
 
+  /**
+   * The target time to add a batch to the DB and commit it.
+   * When it is positive, the ready buffer is flushed in batches of at most
+   * {@link #maxFlushBatchSize} transactions, so that the un-flushed
+   * transactions are released sooner when the flushes are slow.
+   */
+  private final long flushLatencyTargetMs;
+  /** The upper bound of {@link #maxFlushBatchSize}. */
+  private final int flushBatchSizeLimit;
+  /** Adjusted after each flush by {@link #adjustMaxFlushBatchSize(int, long)}. */
+  private int maxFlushBatchSize;
+
   /** Accumulative count (for testing and debug only). */
   private final AtomicLong flushedTransactionCount = new AtomicLong();
   /** The number of flush iterations (for testing and debug only). */
@@ -128,6 +141,7 @@ public static final class Builder {
     private Consumer<TermIndex> updateLastAppliedIndex = termIndex -> { };
     private boolean isTracingEnabled = false;
     private int maxUnFlushedTransactionCount = 0;
+    private long flushLatencyTargetMs = 0;
     private FlushNotifier flushNotifier;
     private S3SecretManager s3SecretManager;
     private String threadPrefix = "";
@@ -154,6 +168,11 @@ public Builder setMaxUnFlushedTransactionCount(int maxUnFlushedTransactionCount)
       return this;
     }
 
+    public Builder setFlushLatencyTargetMs(long flushLatencyTargetMs) {
+      this.flushLatencyTargetMs = flushLatencyTargetMs;
+      return this;
+    }
+
     Builder setFlushNotifier(FlushNotifier flushNotifier) {
       this.flushNotifier = flushNotifier;
       return this;
@@ -199,6 +218,9 @@ private OzoneManagerDoubleBuffer(Builder b) {
     this.unFlushedTransactions = newSemaphore(b.maxUnFlushedTransactionCount);
 
     this.isTracingEnabled = b.isTracingEnabled;
+    this.flushLatencyTargetMs = b.flushLatencyTargetMs;
+    this.flushBatchSizeLimit = flushLatencyTargetMs > 0 ? b.maxUnFlushedTransactionCount : Integer.MAX_VALUE;
+    this.maxFlushBatchSize = flushBatchSizeLimit;
 
     // Daemon thread which runs in background and flushes transactions to DB.
     daemon = new Daemon(this::flushTransactions);
@@ -310,7 +332,7 @@ void flushCurrentBuffer() {
       // Flush #5: [request4]
       final List<Queue<Entry>> bufferQueues = splitReadyBufferAtCreateSnapshot();
       for (Queue<Entry> buffer : bufferQueues) {
-        flushBatch(buffer);
+        flushInBatches(buffer);
       }
 
       clearReadyBuffer();
@@ -322,6 +344,43 @@ void flushCurrentBuffer() {
     }
   }
 
+  /** Flush the given buffer in batches of at most {@link #maxFlushBatchSize} transactions. */
+  private void flushInBatches(Queue<Entry> buffer) throws IOException {
+    while (buffer.size() > maxFlushBatchSize) {
+      final Queue<Entry> batch = new LinkedList<>();
+      for (int i = 0; i < maxFlushBatchSize; i++) {
+        batch.add(buffer.remove());
+      }
+      flushBatch(batch);
+    }
+    if (!buffer.isEmpty()) {
+      flushBatch(buffer);
+    }
+  }
+
+  /**
+   * Adjust {@link #maxFlushBatchSize} for the next batch:
+   * halve it when the given batch missed the {@link #flushLatencyTargetMs},
+   * and double it when a full batch met the target.
+   */
+  @VisibleForTesting
+  void adjustMaxFlushBatchSize(int batchSize, long elapsedMs) {
+    if (flushLatencyTargetMs <= 0) {
+      return;
+    }
+    if (elapsedMs > flushLatencyTargetMs) {
+      maxFlushBatchSize = Math.max(1, Math.max(Math.min(MIN_FLUSH_BATCH_SIZE, flushBatchSizeLimit), batchSize / 2));
+    } else if (batchSize >= maxFlushBatchSize) {
+      maxFlushBatchSize = (int) Math.min(flushBatchSizeLimit, 2L * maxFlushBatchSize);
+    }
+    metrics.setMaxFlushBatchSize(maxFlushBatchSize);
+  }
+
+  @VisibleForTesting
+  int getMaxFlushBatchSize() {
+    return maxFlushBatchSize;
+  }
+
   private void flushBatch(Queue<Entry> buffer) throws IOException {
     Map<String, List<Long>> cleanupEpochs = new HashMap<>();
     // Commit transaction info to DB.
@@ -332,10 +391,12 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
     final int flushedTransactionsSize = flushedTransactions.size();
     final TermIndex lastTransaction = flushedTransactions.get(flushedTransactionsSize - 1);
 
+    final long batchStartTime = Time.monotonicNow();
     try (BatchOperation batchOperation = omMetadataManager.getStore()
         .initBatchOperation()) {
 
       String lastTraceId = addToBatch(buffer, batchOperation);
+      metrics.updateAddToBatchTime(Time.monotonicNow() - batchStartTime);
 
       buffer.iterator().forEachRemaining(
           entry -> addCleanupEntry(entry, cleanupEpochs));
@@ -353,6 +414,7 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
 
       metrics.updateFlushTime(Time.monotonicNow() - startTime);
     }
+    adjustMaxFlushBatchSize(flushedTransactionsSize, Time.monotonicNow() - batchStartTime);
 
     final long accumulativeCount = flushedTransactionCount.addAndGet(flushedTransactionsSize);
     final long flushedIterations = flushIterations.incrementAndGet();
@@ -360,7 +422,9 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
         flushedIterations, flushedTransactionsSize, accumulativeCount);
 
     // Clean up committed transactions.
+    final long cleanupStartTime = Time.monotonicNow();
     cleanupCache(cleanupEpochs);
+    metrics.updateCleanupCacheTime(Time.monotonicNow() - cleanupStartTime);
 
     releaseUnFlushedTransactions(flushedTransactionsSize);
     // update the last updated index in OzoneManagerStateMachine.
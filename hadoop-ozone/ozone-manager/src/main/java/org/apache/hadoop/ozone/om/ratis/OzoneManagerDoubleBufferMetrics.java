@@ -22,6 +22,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeFloat;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.metrics2.lib.MutableStat;
 
@@ -52,6 +53,18 @@ public class OzoneManagerDoubleBufferMetrics {
       " rocksdb batch commit time.")
   private MutableRate flushTime;
 
+  @Metric(about = "DoubleBuffer addToBatchTime. This metrics captures the time" +
+      " to add the responses of a flush iteration to the rocksdb batch.")
+  private MutableRate addToBatchTime;
+
+  @Metric(about = "DoubleBuffer cleanupCacheTime. This metrics captures the" +
+      " time to clean up the table caches after a flush iteration.")
+  private MutableRate cleanupCacheTime;
+
+  @Metric(about = "Max number of transactions in a flush iteration, adjusted" +
+      " to meet the flush latency target.")
+  private MutableGaugeInt maxFlushBatchSize;
+
   @Metric(about = "Average number of transactions flushed in a single " +
       "iteration")
   private MutableGaugeFloat avgFlushTransactionsInOneIteration;
@@ -115,6 +128,26 @@ MutableRate getFlushTime() {
     return flushTime;
   }
 
+  public void updateAddToBatchTime(long time) {
+    addToBatchTime.add(time);
+  }
+
+  MutableRate getAddToBatchTime() {
+    return addToBatchTime;
+  }
+
+  public void updateCleanupCacheTime(long time) {
+    cleanupCacheTime.add(time);
+  }
+
+  MutableRate getCleanupCacheTime() {
+    return cleanupCacheTime;
+  }
+
+  public void setMaxFlushBatchSize(int size) {
+    maxFlushBatchSize.set(size);
+  }
+
   public float getAvgFlushTransactionsInOneIteration() {
     return avgFlushTransactionsInOneIteration.value();
   }
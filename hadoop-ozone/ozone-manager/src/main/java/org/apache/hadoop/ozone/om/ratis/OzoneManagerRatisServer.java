@@ -321,6 +321,45 @@ public OMResponse submitRequest(OMRequest omRequest, ClientId cliId, long callId
     return createOmResponse(omRequest, raftClientReply);
   }
 
+  /**
+   * Wait until this OM has applied all the transactions committed
+   * before this call, so that a follower can serve a read request
+   * as consistently as the leader.
+   * <p>
+   * It submits an empty read request to Ratis, which obtains the read index
+   * from the leader and waits for it to be applied before querying
+   * the state machine, see {@link OzoneManagerStateMachine#query}.
+   *
+   * @throws ServiceException with {@link OMNotLeaderException}
+   *         if the read index cannot be obtained.
+   */
+  public void waitForReadIndex() throws ServiceException {
+    final RaftClientRequest request = RaftClientRequest.newBuilder()
+        .setClientId(clientId)
+        .setServerId(server.getId())
+        .setGroupId(raftGroupId)
+        .setCallId(nextCallId())
+        .setMessage(Message.EMPTY)
+        .setType(RaftClientRequest.readRequestType())
+        .build();
+    final RaftClientReply reply;
+    try {
+      reply = captureLatencyNs(
+          perfMetrics.getFollowerReadIndexLatencyNs(),
+          () -> submitRequestToRatisImpl(request));
+    } catch (ServiceException e) {
+      if (e.getCause() instanceof InterruptedException) {
+        throw e;
+      }
+      LOG.debug("Failed to get the read index", e);
+      throw new ServiceException(newOMNotLeaderException());
+    }
+    if (!reply.isSuccess()) {
+      LOG.debug("Failed to get the read index", reply.getException());
+      throw new ServiceException(newOMNotLeaderException());
+    }
+  }
+
   private RaftClientReply submitRequestToRatisImpl(
       RaftClientRequest raftClientRequest) throws ServiceException {
     try {
@@ -668,6 +707,8 @@ public static RaftProperties newRaftProperties(ConfigurationSource conf,
 
     setRaftLeaderElectionProperties(properties, conf);
 
+    setRaftReadProperties(properties, conf);
+
     setRaftRpcProperties(properties, conf);
 
     setRaftRetryCacheProperties(properties, conf);
@@ -687,6 +728,14 @@ private static void setRaftLeaderElectionProperties(RaftProperties properties, C
         OMConfigKeys.OZONE_OM_RATIS_SERVER_ELECTION_PRE_VOTE_DEFAULT));
   }
 
+  private static void setRaftReadProperties(RaftProperties properties, ConfigurationSource conf) {
+    // Followers serve reads after obtaining the read index from the leader
+    if (conf.getBoolean(OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED,
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_DEFAULT)) {
+      RaftServerConfigKeys.Read.setOption(properties, RaftServerConfigKeys.Read.Option.LINEARIZABLE);
+    }
+  }
+
   private static void setRaftLogProperties(RaftProperties properties,
       int logAppenderQueueByteLimit, ConfigurationSource conf) {
     // Set RAFT segment size
@@ -415,9 +415,14 @@ private static void terminate(OMResponse omResponse, OMException.ResultCodes res
 
   /**
    * Query the state machine. The request must be read-only.
+   * An empty request is a read barrier,
+   * see {@link OzoneManagerRatisServer#waitForReadIndex()}.
    */
   @Override
   public CompletableFuture<Message> query(Message request) {
+    if (request.getContent().isEmpty()) {
+      return CompletableFuture.completedFuture(Message.EMPTY);
+    }
     try {
       OMRequest omRequest = OMRatisHelper.convertByteStringToOMRequest(
           request.getContent());
@@ -466,10 +471,14 @@ public OzoneManagerDoubleBuffer buildDoubleBufferForRatis() {
     final int maxUnFlushedTransactionCount = ozoneManager.getConfiguration()
         .getInt(OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT,
             OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT);
+    final long flushLatencyTargetMs = ozoneManager.getConfiguration()
+        .getTimeDuration(OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_LATENCY_TARGET,
+            OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_LATENCY_TARGET_DEFAULT, TimeUnit.MILLISECONDS);
     return OzoneManagerDoubleBuffer.newBuilder()
         .setOmMetadataManager(ozoneManager.getMetadataManager())
         .setUpdateLastAppliedIndex(this::updateLastAppliedTermIndex)
         .setMaxUnFlushedTransactionCount(maxUnFlushedTransactionCount)
+        .setFlushLatencyTargetMs(flushLatencyTargetMs)
         .setThreadPrefix(threadPrefix)
         .setS3SecretManager(ozoneManager.getS3SecretManager())
         .enableTracing(isTracingEnabled)
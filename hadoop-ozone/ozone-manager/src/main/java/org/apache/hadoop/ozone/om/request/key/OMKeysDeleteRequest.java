@@ -35,9 +35,11 @@
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
@@ -96,7 +98,6 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
     OzoneManagerProtocolProtos.DeleteKeyArgs deleteKeyArgs =
         deleteKeyRequest.getDeleteKeys();
 
-    List<String> deleteKeys = new ArrayList<>(deleteKeyArgs.getKeysList());
     List<OmKeyInfo> deleteKeysInfo = new ArrayList<>();
 
     Exception exception = null;
@@ -126,7 +127,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
     boolean acquiredLock = false;
 
     int indexFailed = 0;
-    int length = deleteKeys.size();
+    int length = deleteKeyArgs.getKeysCount();
     OzoneManagerProtocolProtos.DeleteKeyArgs.Builder unDeletedKeys =
         OzoneManagerProtocolProtos.DeleteKeyArgs.newBuilder()
             .setVolumeName(volumeName).setBucketName(bucketName);
@@ -148,19 +149,29 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
       // Validate bucket and volume exists or not.
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
       String volumeOwner = getVolumeOwner(omMetadataManager, volumeName);
+      // The owners are the same for all the keys; look them up once.
+      String bucketOwner = ozoneManager.getAclsEnabled()
+          ? ozoneManager.getBucketOwner(volumeName, bucketName,
+              IAccessAuthorizer.ACLType.DELETE, OzoneObj.ResourceType.KEY)
+          : null;
+      // A key listed more than once is deleted once.
+      Set<String> processedKeys = new HashSet<>();
 
       for (indexFailed = 0; indexFailed < length; indexFailed++) {
         String keyName = deleteKeyArgs.getKeys(indexFailed);
+        if (!processedKeys.add(keyName)) {
+          continue;
+        }
         String objectKey =
             omMetadataManager.getOzoneKey(volumeName, bucketName, keyName);
-        OmKeyInfo omKeyInfo = getOmKeyInfo(ozoneManager, omMetadataManager,
-            volumeName, bucketName, keyName);
+        // Resolve the key only once; for FSO this walks the directory table.
+        OzoneFileStatus fileStatus = getOzoneKeyStatus(
+            ozoneManager, omMetadataManager, volumeName, bucketName, keyName);
 
-        if (omKeyInfo == null) {
+        if (fileStatus == null) {
           deleteStatus = false;
           LOG.error("Received a request to delete a Key does not exist {}",
               objectKey);
-          deleteKeys.remove(keyName);
           unDeletedKeys.addKeys(keyName);
           keyToError.put(keyName, new ErrorInfo(OMException.ResultCodes.KEY_NOT_FOUND.name(), "Key does not exist"));
           continue;
@@ -169,19 +180,19 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
         try {
           // check Acl
           long startNanosDeleteKeysAclCheckLatency = Time.monotonicNowNanos();
-          checkKeyAcls(ozoneManager, volumeName, bucketName, keyName,
-              IAccessAuthorizer.ACLType.DELETE, OzoneObj.ResourceType.KEY,
-              volumeOwner);
+          if (ozoneManager.getAclsEnabled()) {
+            checkAcls(ozoneManager, OzoneObj.ResourceType.KEY,
+                OzoneObj.StoreType.OZONE, IAccessAuthorizer.ACLType.DELETE,
+                volumeName, bucketName, keyName, volumeOwner, bucketOwner);
+          }
           perfMetrics.setDeleteKeysAclCheckLatencyNs(Time.monotonicNowNanos() - startNanosDeleteKeysAclCheckLatency);
-          OzoneFileStatus fileStatus = getOzoneKeyStatus(
-              ozoneManager, omMetadataManager, volumeName, bucketName, keyName);
+          OmKeyInfo omKeyInfo = fileStatus.getKeyInfo();
           addKeyToAppropriateList(omKeyInfoList, omKeyInfo, dirList,
               fileStatus);
           deleteKeysInfo.add(omKeyInfo);
         } catch (Exception ex) {
           deleteStatus = false;
           LOG.error("Acl check failed for Key: {}", objectKey, ex);
-          deleteKeys.remove(keyName);
           unDeletedKeys.addKeys(keyName);
           keyToError.put(keyName, new ErrorInfo(OMException.ResultCodes.ACCESS_DENIED.name(), "ACL check failed"));
         }
@@ -212,8 +223,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
       exception = ex;
       createErrorOMResponse(omResponse, exception);
 
-      // reset deleteKeys as request failed.
-      deleteKeys = new ArrayList<>();
+      // reset deleteKeysInfo as request failed.
       deleteKeysInfo.clear();
       // Add all keys which are failed due to any other exception .
       for (int i = indexFailed; i < length; i++) {
@@ -246,7 +256,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
 
     switch (result) {
     case SUCCESS:
-      omMetrics.decNumKeys(deleteKeys.size());
+      omMetrics.decNumKeys(deleteKeysInfo.size());
       if (LOG.isDebugEnabled()) {
         LOG.debug("Keys delete success. Volume:{}, Bucket:{}, Keys:{}",
             volumeName, bucketName, auditMap.get(DELETED_KEYS_LIST));
@@ -269,11 +279,15 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
     return omClientResponse;
   }
 
+  /**
+   * @return the status of the given key, or null if the key does not exist.
+   */
   protected OzoneFileStatus getOzoneKeyStatus(
       OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
       String volumeName, String bucketName, String keyName) throws IOException {
-    // implemented in child class
-    return null;
+    String objectKey = omMetadataManager.getOzoneKey(volumeName, bucketName, keyName);
+    OmKeyInfo omKeyInfo = omMetadataManager.getKeyTable(getBucketLayout()).get(objectKey);
+    return omKeyInfo != null ? new OzoneFileStatus(omKeyInfo, 0, false) : null;
   }
 
   @Nonnull
@@ -339,13 +353,6 @@ protected void addKeyToAppropriateList(List<OmKeyInfo> omKeyInfoList,
     omKeyInfoList.add(omKeyInfo);
   }
 
-  protected OmKeyInfo getOmKeyInfo(
-      OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
-      String volume, String bucket, String key) throws IOException {
-    String objectKey = omMetadataManager.getOzoneKey(volume, bucket, key);
-    return omMetadataManager.getKeyTable(getBucketLayout()).get(objectKey);
-  }
-
   /**
    * Add key info to audit map for DeleteKeys request.
    */
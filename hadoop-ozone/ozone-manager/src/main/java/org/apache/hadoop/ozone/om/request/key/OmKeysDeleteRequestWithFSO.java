@@ -57,16 +57,6 @@ public OmKeysDeleteRequestWithFSO(
     super(omRequest, bucketLayout);
   }
 
-  @Override
-  protected OmKeyInfo getOmKeyInfo(
-      OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
-      String volumeName, String bucketName, String keyName)
-      throws IOException {
-    OzoneFileStatus keyStatus = getOzoneKeyStatus(
-        ozoneManager, omMetadataManager, volumeName, bucketName, keyName);
-    return keyStatus != null ? keyStatus.getKeyInfo() : null;
-  }
-
   @Override
   protected void addKeyToAppropriateList(List<OmKeyInfo> omKeyInfoList,
       OmKeyInfo omKeyInfo, List<OmKeyInfo> dirList, OzoneFileStatus keyStatus) {
@@ -28,8 +28,10 @@
 import com.google.protobuf.ServiceException;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -101,6 +103,8 @@
  *   <li>Processes deleted directories in both the active OM and all snapshots
  *       with deep cleaning enabled.</li>
  *   <li>Uses a thread pool to parallelize deletion tasks within each store or snapshot.</li>
+ *   <li>Splits large subtrees across the threads: the unfinished directories of a purge request
+ *       are handed over to the other threads once the request has been applied.</li>
  *   <li>Employs filters to determine reclaimability of directories and files,
  *       ensuring safety with respect to snapshot chains.</li>
  *   <li>Tracks and updates exclusive size and replicated exclusive size for each
@@ -146,6 +150,8 @@
 public class DirectoryDeletingService extends AbstractKeyDeletingService {
   private static final Logger LOG =
       LoggerFactory.getLogger(DirectoryDeletingService.class);
+  /** The maximum number of directories handed over between the threads in a run. */
+  private static final int MAX_HANDED_OVER_DIRS = 10_000;
 
   // Using multi thread for DirDeletion. Multiple threads would read
   // from parent directory info from deleted directory table concurrently
@@ -262,13 +268,13 @@ void optimizeDirDeletesAndSubmitRequest(
       long remainingBufLimit, KeyManager keyManager,
       CheckedFunction<KeyValue<String, OmKeyInfo>, Boolean, IOException> reclaimableDirChecker,
       CheckedFunction<KeyValue<String, OmKeyInfo>, Boolean, IOException> reclaimableFileChecker,
-      UUID expectedPreviousSnapshotId, long rnCnt) throws InterruptedException {
+      UUID expectedPreviousSnapshotId, long rnCnt,
+      List<Pair<String, OmKeyInfo>> unfinishedDirList, DeletedDirSupplier dirSupplier) throws InterruptedException {
 
     // Optimization to handle delete sub-dir and keys to remove quickly
     // This case will be useful to handle when depth of directory is high
     int subdirDelNum = 0;
     int subDirRecursiveCnt = 0;
-    int consumedSize = 0;
     while (subDirRecursiveCnt < allSubDirList.size() && remainingBufLimit > 0) {
       try {
         Pair<String, OmKeyInfo> stringOmKeyInfoPair = allSubDirList.get(subDirRecursiveCnt++);
@@ -281,12 +287,13 @@ void optimizeDirDeletesAndSubmitRequest(
           continue;
         }
         PurgePathRequest requestVal = request.get();
-        consumedSize += requestVal.getSerializedSize();
-        remainingBufLimit -= consumedSize;
+        remainingBufLimit -= requestVal.getSerializedSize();
         purgePathRequestList.add(requestVal);
         // Count up the purgeDeletedDir, subDirs and subFiles
         if (requestVal.hasDeletedDir() && !StringUtils.isBlank(requestVal.getDeletedDir())) {
           subdirDelNum++;
+        } else {
+          unfinishedDirList.add(stringOmKeyInfoPair);
         }
         subDirNum += requestVal.getMarkDeletedSubDirsCount();
         subFileNum += requestVal.getDeletedSubFilesCount();
@@ -296,8 +303,15 @@ void optimizeDirDeletesAndSubmitRequest(
         break;
       }
     }
+    // The sub-dirs not processed in this request
+    unfinishedDirList.addAll(allSubDirList.subList(subDirRecursiveCnt, allSubDirList.size()));
     if (!purgePathRequestList.isEmpty()) {
-      submitPurgePaths(purgePathRequestList, snapTableKey, expectedPreviousSnapshotId);
+      OzoneManagerProtocolProtos.OMResponse response =
+          submitPurgePaths(purgePathRequestList, snapTableKey, expectedPreviousSnapshotId);
+      // Once applied, the unfinished dirs are in the deleted dir table and can be processed by any thread.
+      if (dirSupplier != null && response != null && response.getSuccess()) {
+        dirSupplier.handOver(unfinishedDirList);
+      }
     }
 
     if (dirNum != 0 || subDirNum != 0 || subFileNum != 0) {
@@ -318,27 +332,69 @@ void optimizeDirDeletesAndSubmitRequest(
     }
   }
 
-  private static final class DeletedDirSupplier implements Closeable {
+  /**
+   * Supply the pending deleted dirs to the threads:
+   * first the dirs handed over by the threads in the current run,
+   * and then the dirs from the deleted dir table.
+   */
+  static final class DeletedDirSupplier implements Closeable {
     private final TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
         deleteTableIterator;
+    /**
+     * The unfinished dirs of the applied purge requests.
+     * They were added to the deleted dir table after the iterator was created,
+     * so they are not returned by the iterator.
+     */
+    private final Deque<KeyValue<String, OmKeyInfo>> handedOverDirs = new ArrayDeque<>();
 
     private DeletedDirSupplier(TableIterator<String, ? extends KeyValue<String, OmKeyInfo>> deleteTableIterator) {
       this.deleteTableIterator = deleteTableIterator;
     }
 
     private synchronized Table.KeyValue<String, OmKeyInfo> get() {
+      // Depth-first, to keep the number of handed over dirs small.
+      final KeyValue<String, OmKeyInfo> handedOver = handedOverDirs.pollLast();
+      if (handedOver != null) {
+        return handedOver;
+      }
       if (deleteTableIterator.hasNext()) {
         return deleteTableIterator.next();
       }
       return null;
     }
 
+    private synchronized void handOver(List<Pair<String, OmKeyInfo>> dirs) {
+      for (Pair<String, OmKeyInfo> dir : dirs) {
+        if (handedOverDirs.size() >= MAX_HANDED_OVER_DIRS) {
+          // The remaining dirs will be processed in the next run.
+          return;
+        }
+        handedOverDirs.add(Table.newKeyValue(dir.getKey(), dir.getValue()));
+      }
+    }
+
     @Override
     public synchronized void close() {
       IOUtils.closeQuietly(deleteTableIterator);
     }
   }
 
+  /** The progress of deleting the dirs of a store in a run. */
+  private static final class DeletionProgress {
+    private final long startTime = Time.monotonicNow();
+    private final AtomicLong deletedDirs = new AtomicLong();
+    private final AtomicLong movedFiles = new AtomicLong();
+
+    void add(List<PurgePathRequest> requests) {
+      for (PurgePathRequest request : requests) {
+        if (request.hasDeletedDir() && !StringUtils.isBlank(request.getDeletedDir())) {
+          deletedDirs.incrementAndGet();
+        }
+        movedFiles.addAndGet(request.getDeletedSubFilesCount());
+      }
+    }
+  }
+
   /**
    * Returns the number of dirs deleted by the background service.
    *
@@ -541,13 +597,14 @@ void processDeletedDirsForStore(SnapshotInfo currentSnapshotInfo, KeyManager key
             snapshotChainManager.getLatestGlobalSnapshotId() :
             SnapshotUtils.getPreviousSnapshotId(currentSnapshotInfo, snapshotChainManager);
         Map<UUID, Pair<Long, Long>> exclusiveSizeMap = Maps.newConcurrentMap();
+        DeletionProgress progress = new DeletionProgress();
 
         CompletableFuture<Boolean> processedAllDeletedDirs = CompletableFuture.completedFuture(true);
         for (int i = 0; i < numberOfParallelThreadsPerStore; i++) {
           CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> {
             try {
               return processDeletedDirectories(currentSnapshotInfo, keyManager, dirSupplier, remainingBufLimit,
-                  expectedPreviousSnapshotId, exclusiveSizeMap, rnCnt);
+                  expectedPreviousSnapshotId, exclusiveSizeMap, rnCnt, progress);
             } catch (InterruptedException e) {
               Thread.currentThread().interrupt();
               return false;
@@ -559,7 +616,9 @@ void processDeletedDirsForStore(SnapshotInfo currentSnapshotInfo, KeyManager key
         }
         // If AOS or all directories have been processed for snapshot, update snapshot size delta and deep clean flag
         // if it is a snapshot.
-        if (processedAllDeletedDirs.get()) {
+        final boolean noPendingDirs = processedAllDeletedDirs.get();
+        logProgress(keyManager, snapshotTableKey, progress);
+        if (noPendingDirs) {
           List<OzoneManagerProtocolProtos.SetSnapshotPropertyRequest> setSnapshotPropertyRequests = new ArrayList<>();
 
           for (Map.Entry<UUID, Pair<Long, Long>> entry : exclusiveSizeMap.entrySet()) {
@@ -582,6 +641,25 @@ void processDeletedDirsForStore(SnapshotInfo currentSnapshotInfo, KeyManager key
       }
     }
 
+    /**
+     * Log the progress of this run and the estimated time to delete the remaining dirs.
+     */
+    private void logProgress(KeyManager keyManager, String snapshotTableKey, DeletionProgress progress)
+        throws IOException {
+      final long deletedDirs = progress.deletedDirs.get();
+      final long movedFiles = progress.movedFiles.get();
+      if (deletedDirs == 0 && movedFiles == 0) {
+        return;
+      }
+      final long elapsedMs = Math.max(1, Time.monotonicNow() - progress.startTime);
+      final long pendingDirs = keyManager.getMetadataManager().getDeletedDirTable().getEstimatedKeyCount();
+      final long etaSeconds = deletedDirs == 0 ? -1 : pendingDirs * elapsedMs / deletedDirs / 1000;
+      LOG.info("Deleted {} dirs and moved {} files to DeletedTable in {}ms for store {}; " +
+              "about {} deleted dirs pending, ETA {}s",
+          deletedDirs, movedFiles, elapsedMs, snapshotTableKey == null ? "AOS" : snapshotTableKey,
+          pendingDirs, etaSeconds);
+    }
+
     /**
      * Processes deleted directories for snapshot management, determining whether
      * directories and files can be purged, and calculates exclusive size mappings
@@ -595,11 +673,14 @@ void processDeletedDirsForStore(SnapshotInfo currentSnapshotInfo, KeyManager key
      * @param totalExclusiveSizeMap A map for storing total exclusive size and exclusive replicated size
      *                              for each snapshot.
      * @param runCount The number of times the processing task has been executed.
+     * @param progress For counting the deleted dirs and the moved files.
      * @return A boolean indicating whether the processed directory list is empty.
      */
+    @SuppressWarnings("checkstyle:ParameterNumber")
     private boolean processDeletedDirectories(SnapshotInfo currentSnapshotInfo, KeyManager keyManager,
         DeletedDirSupplier dirSupplier, long remainingBufLimit, UUID expectedPreviousSnapshotId,
-        Map<UUID, Pair<Long, Long>> totalExclusiveSizeMap, long runCount) throws InterruptedException {
+        Map<UUID, Pair<Long, Long>> totalExclusiveSizeMap, long runCount, DeletionProgress progress)
+        throws InterruptedException {
       OmSnapshotManager omSnapshotManager = getOzoneManager().getOmSnapshotManager();
       IOzoneManagerLock lock = getOzoneManager().getMetadataManager().getLock();
       String snapshotTableKey = currentSnapshotInfo == null ? null : currentSnapshotInfo.getTableKey();
@@ -607,43 +688,58 @@ private boolean processDeletedDirectories(SnapshotInfo currentSnapshotInfo, KeyM
           omSnapshotManager, snapshotChainManager, currentSnapshotInfo, keyManager, lock);
           ReclaimableKeyFilter reclaimableFileFilter = new ReclaimableKeyFilter(getOzoneManager(),
               omSnapshotManager, snapshotChainManager, currentSnapshotInfo, keyManager, lock)) {
-        long startTime = Time.monotonicNow();
-        long dirNum = 0L;
-        long subDirNum = 0L;
-        long subFileNum = 0L;
-        int consumedSize = 0;
-        List<PurgePathRequest> purgePathRequestList = new ArrayList<>();
-        List<Pair<String, OmKeyInfo>> allSubDirList = new ArrayList<>();
-        while (remainingBufLimit > 0) {
-          KeyValue<String, OmKeyInfo> pendingDeletedDirInfo = dirSupplier.get();
-          if (pendingDeletedDirInfo == null) {
-            break;
+        boolean noPendingDirs = true;
+        // Each iteration submits a purge request of up to remainingBufLimit bytes,
+        // until there are no more pending deleted dirs.
+        while (true) {
+          long startTime = Time.monotonicNow();
+          long dirNum = 0L;
+          long subDirNum = 0L;
+          long subFileNum = 0L;
+          long requestBufLimit = remainingBufLimit;
+          List<PurgePathRequest> purgePathRequestList = new ArrayList<>();
+          List<Pair<String, OmKeyInfo>> allSubDirList = new ArrayList<>();
+          List<Pair<String, OmKeyInfo>> unfinishedDirList = new ArrayList<>();
+          while (requestBufLimit > 0) {
+            KeyValue<String, OmKeyInfo> pendingDeletedDirInfo = dirSupplier.get();
+            if (pendingDeletedDirInfo == null) {
+              break;
+            }
+            boolean isDirReclaimable = reclaimableDirFilter.apply(pendingDeletedDirInfo);
+            Optional<PurgePathRequest> request = prepareDeleteDirRequest(
+                pendingDeletedDirInfo.getValue(),
+                pendingDeletedDirInfo.getKey(), isDirReclaimable, allSubDirList,
+                getOzoneManager().getKeyManager(), reclaimableFileFilter, requestBufLimit);
+            if (!request.isPresent()) {
+              continue;
+            }
+            PurgePathRequest purgePathRequest = request.get();
+            requestBufLimit -= purgePathRequest.getSerializedSize();
+            purgePathRequestList.add(purgePathRequest);
+            // Count up the purgeDeletedDir, subDirs and subFiles
+            if (purgePathRequest.hasDeletedDir() && !StringUtils.isBlank(purgePathRequest.getDeletedDir())) {
+              dirNum++;
+            } else {
+              unfinishedDirList.add(Pair.of(pendingDeletedDirInfo.getKey(), pendingDeletedDirInfo.getValue()));
+            }
+            subDirNum += purgePathRequest.getMarkDeletedSubDirsCount();
+            subFileNum += purgePathRequest.getDeletedSubFilesCount();
           }
-          boolean isDirReclaimable = reclaimableDirFilter.apply(pendingDeletedDirInfo);
-          Optional<PurgePathRequest> request = prepareDeleteDirRequest(
-              pendingDeletedDirInfo.getValue(),
-              pendingDeletedDirInfo.getKey(), isDirReclaimable, allSubDirList,
-              getOzoneManager().getKeyManager(), reclaimableFileFilter, remainingBufLimit);
-          if (!request.isPresent()) {
-            continue;
+          if (purgePathRequestList.isEmpty()) {
+            break;
           }
-          PurgePathRequest purgePathRequest = request.get();
-          consumedSize += purgePathRequest.getSerializedSize();
-          remainingBufLimit -= consumedSize;
-          purgePathRequestList.add(purgePathRequest);
-          // Count up the purgeDeletedDir, subDirs and subFiles
-          if (purgePathRequest.hasDeletedDir() && !StringUtils.isBlank(purgePathRequest.getDeletedDir())) {
-            dirNum++;
+          noPendingDirs = false;
+
+          optimizeDirDeletesAndSubmitRequest(dirNum, subDirNum,
+              subFileNum, allSubDirList, purgePathRequestList, snapshotTableKey,
+              startTime, requestBufLimit, getOzoneManager().getKeyManager(),
+              reclaimableDirFilter, reclaimableFileFilter, expectedPreviousSnapshotId,
+              runCount, unfinishedDirList, dirSupplier);
+          progress.add(purgePathRequestList);
+          if (!shouldRun()) {
+            break;
           }
-          subDirNum += purgePathRequest.getMarkDeletedSubDirsCount();
-          subFileNum += purgePathRequest.getDeletedSubFilesCount();
         }
-
-        optimizeDirDeletesAndSubmitRequest(dirNum, subDirNum,
-            subFileNum, allSubDirList, purgePathRequestList, snapshotTableKey,
-            startTime, remainingBufLimit, getOzoneManager().getKeyManager(),
-            reclaimableDirFilter, reclaimableFileFilter, expectedPreviousSnapshotId,
-            runCount);
         Map<UUID, Long> exclusiveReplicatedSizeMap = reclaimableFileFilter.getExclusiveReplicatedSizeMap();
         Map<UUID, Long> exclusiveSizeMap = reclaimableFileFilter.getExclusiveSizeMap();
         List<UUID> previousPathSnapshotsInChain =
@@ -660,7 +756,7 @@ startTime, remainingBufLimit, getOzoneManager().getKeyManager(),
           });
         }
 
-        return purgePathRequestList.isEmpty();
+        return noPendingDirs;
       } catch (IOException e) {
         LOG.error("Error while running delete directories for store : {} and files background task. " +
                 "Will retry at next run. ", snapshotTableKey, e);
@@ -19,21 +19,33 @@
 
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_PIPELINE_DEPTH;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_PIPELINE_DEPTH_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_PIPELINE_SCM_SLOW_THRESHOLD;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_PIPELINE_SCM_SLOW_THRESHOLD_DEFAULT;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ServiceException;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -78,6 +90,11 @@
  * periodically to get the keys from DeletedTable and ask scm to delete
  * metadata accordingly, if scm returns success for keys, then clean up those
  * keys.
+ * <p>
+ * When {@link org.apache.hadoop.ozone.om.OMConfigKeys#OZONE_KEY_DELETING_PIPELINE_DEPTH} is greater than 1,
+ * the deleted keys of the active object store are processed in a pipeline:
+ * the next batch is gathered from the DeletedTable
+ * while the previous batches are being sent to SCM and purged.
  */
 public class KeyDeletingService extends AbstractKeyDeletingService {
   private static final Logger LOG =
@@ -92,6 +109,12 @@ public class KeyDeletingService extends AbstractKeyDeletingService {
   private long latestRunTimestamp = 0L;
   private final DeletionStats aosDeletionStats = new DeletionStats();
   private final DeletionStats snapshotDeletionStats = new DeletionStats();
+  /** The max number of batches in flight; 1 means no pipelining. */
+  private final int pipelineDepth;
+  private final long scmSlowThresholdMs;
+  /** The executors of the SCM and the purge stages; null if there is no pipelining. */
+  private final ExecutorService scmStageExecutor;
+  private final ExecutorService purgeStageExecutor;
 
   public KeyDeletingService(OzoneManager ozoneManager,
       ScmBlockLocationProtocol scmClient, long serviceInterval,
@@ -108,6 +131,22 @@ public KeyDeletingService(OzoneManager ozoneManager,
     this.deepCleanSnapshots = deepCleanSnapshots;
     this.snapshotChainManager = ((OmMetadataManagerImpl)ozoneManager.getMetadataManager()).getSnapshotChainManager();
     this.scmClient = scmClient;
+
+    this.pipelineDepth = conf.getInt(OZONE_KEY_DELETING_PIPELINE_DEPTH, OZONE_KEY_DELETING_PIPELINE_DEPTH_DEFAULT);
+    Preconditions.checkArgument(pipelineDepth >= 1, OZONE_KEY_DELETING_PIPELINE_DEPTH + " must be positive.");
+    this.scmSlowThresholdMs = conf.getTimeDuration(OZONE_KEY_DELETING_PIPELINE_SCM_SLOW_THRESHOLD,
+        OZONE_KEY_DELETING_PIPELINE_SCM_SLOW_THRESHOLD_DEFAULT, TimeUnit.MILLISECONDS);
+    if (pipelineDepth > 1) {
+      final String prefix = ozoneManager.getThreadNamePrefix() + "KeyDeletingService";
+      this.scmStageExecutor = Executors.newFixedThreadPool(pipelineDepth,
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat(prefix + "Scm-%d").build());
+      // The purge requests go through Ratis one by one anyway.
+      this.purgeStageExecutor = Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat(prefix + "Purge-%d").build());
+    } else {
+      this.scmStageExecutor = null;
+      this.purgeStageExecutor = null;
+    }
   }
 
   /**
@@ -126,6 +165,21 @@ Pair<Pair<Integer, Long>, Boolean> processKeyDeletes(List<BlockGroup> keyBlocksL
       throws IOException, InterruptedException {
     long startTime = Time.monotonicNow();
     Pair<Pair<Integer, Long>, Boolean> purgeResult = Pair.of(Pair.of(0, 0L), false);
+    List<DeleteBlockGroupResult> blockDeletionResults = deleteKeyBlocks(keyBlocksList);
+    if (blockDeletionResults != null) {
+      purgeResult = purgeKeys(blockDeletionResults,
+          keysToModify, renameEntries, snapTableKey, expectedPreviousSnapshotId, keyBlockReplicatedSize);
+    }
+    getPerfMetrics().setKeyDeletingServiceLatencyMs(Time.monotonicNow() - startTime);
+    return purgeResult;
+  }
+
+  /**
+   * The SCM stage: send the blocks of the keys to SCM for deletion.
+   * @return the results from SCM.
+   */
+  private List<DeleteBlockGroupResult> deleteKeyBlocks(List<BlockGroup> keyBlocksList) throws IOException {
+    long startTime = Time.monotonicNow();
     if (LOG.isDebugEnabled()) {
       LOG.debug("Send {} key(s) to SCM: {}",
           keyBlocksList.size(), keyBlocksList);
@@ -139,21 +193,47 @@ Pair<Pair<Integer, Long>, Boolean> processKeyDeletes(List<BlockGroup> keyBlocksL
     }
     List<DeleteBlockGroupResult> blockDeletionResults =
         scmClient.deleteKeyBlocks(keyBlocksList);
+    final long elapsed = Time.monotonicNow() - startTime;
     LOG.info("{} BlockGroup deletion are acked by SCM in {} ms",
-        keyBlocksList.size(), Time.monotonicNow() - startTime);
-    if (blockDeletionResults != null) {
-      long purgeStartTime = Time.monotonicNow();
-      purgeResult = submitPurgeKeysRequest(blockDeletionResults,
-          keysToModify, renameEntries, snapTableKey, expectedPreviousSnapshotId, keyBlockReplicatedSize);
-      int limit = getOzoneManager().getConfiguration().getInt(OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK,
-          OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT);
-      LOG.info("Blocks for {} (out of {}) keys are deleted from DB in {} ms. Limit per task is {}.",
-          purgeResult.getKey().getKey(), blockDeletionResults.size(), Time.monotonicNow() - purgeStartTime, limit);
-    }
-    getPerfMetrics().setKeyDeletingServiceLatencyMs(Time.monotonicNow() - startTime);
+        keyBlocksList.size(), elapsed);
+    getMetrics().addKdsScmStage(keyBlocksList.size(), elapsed);
+    return blockDeletionResults;
+  }
+
+  /** The purge stage: purge the keys whose blocks have been deleted by SCM. */
+  private Pair<Pair<Integer, Long>, Boolean> purgeKeys(List<DeleteBlockGroupResult> blockDeletionResults,
+      Map<String, RepeatedOmKeyInfo> keysToModify, List<String> renameEntries,
+      String snapTableKey, UUID expectedPreviousSnapshotId, Map<String, Long> keyBlockReplicatedSize)
+      throws InterruptedException {
+    long purgeStartTime = Time.monotonicNow();
+    Pair<Pair<Integer, Long>, Boolean> purgeResult = submitPurgeKeysRequest(blockDeletionResults,
+        keysToModify, renameEntries, snapTableKey, expectedPreviousSnapshotId, keyBlockReplicatedSize);
+    int limit = getOzoneManager().getConfiguration().getInt(OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK,
+        OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT);
+    final long elapsed = Time.monotonicNow() - purgeStartTime;
+    LOG.info("Blocks for {} (out of {}) keys are deleted from DB in {} ms. Limit per task is {}.",
+        purgeResult.getKey().getKey(), blockDeletionResults.size(), elapsed, limit);
+    getMetrics().addKdsPurgeStage(blockDeletionResults.size(), elapsed);
     return purgeResult;
   }
 
+  private void updateDeletionStats(Pair<Pair<Integer, Long>, Boolean> purgeResult,
+      PendingKeysDeletion pendingKeysDeletion, boolean isAos) {
+    final int purgedKeys = purgeResult.getKey().getKey();
+    final int numKeys = pendingKeysDeletion.getKeyBlocksList().size();
+    getMetrics().incrNumKeysProcessed(numKeys);
+    getMetrics().incrNumKeysSentForPurge(purgedKeys);
+
+    DeletionStats statsToUpdate = isAos ? aosDeletionStats : snapshotDeletionStats;
+    statsToUpdate.updateDeletionStats(purgedKeys, purgeResult.getKey().getValue(),
+        numKeys + pendingKeysDeletion.getNotReclaimableKeyCount(),
+        pendingKeysDeletion.getNotReclaimableKeyCount()
+    );
+    if (purgeResult.getValue()) {
+      deletedKeyCount.addAndGet(purgedKeys);
+    }
+  }
+
   /**
    * Submits PurgeKeys request for the keys whose blocks have been deleted
    * by SCM.
@@ -317,6 +397,106 @@ public void setKeyLimitPerTask(int keyLimitPerTask) {
     this.keyLimitPerTask = keyLimitPerTask;
   }
 
+  @Override
+  public void shutdown() {
+    super.shutdown();
+    if (scmStageExecutor != null) {
+      scmStageExecutor.shutdownNow();
+      purgeStageExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * The batches in flight of a pipelined run.
+   * Each batch is sent to SCM by the SCM stage executor
+   * and then purged by the purge stage executor.
+   */
+  private final class DeletionPipeline {
+    private final Semaphore permits = new Semaphore(pipelineDepth);
+    private final List<CompletableFuture<Void>> batches = new ArrayList<>();
+    private final UUID expectedPreviousSnapshotId;
+    /** Set when a batch has failed or SCM is slow, then no more batches are gathered in this run. */
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicBoolean allSucceeded = new AtomicBoolean(true);
+
+    private DeletionPipeline(UUID expectedPreviousSnapshotId) {
+      this.expectedPreviousSnapshotId = expectedPreviousSnapshotId;
+    }
+
+    /** Wait until the number of batches in flight is less than the pipeline depth. */
+    private void acquire() throws InterruptedException {
+      permits.acquire();
+    }
+
+    private void release() {
+      permits.release();
+    }
+
+    private boolean isStopped() {
+      return stopped.get();
+    }
+
+    private boolean isAllSucceeded() {
+      return allSucceeded.get();
+    }
+
+    private void fail() {
+      allSucceeded.set(false);
+      stopped.set(true);
+    }
+
+    /** Submit a gathered batch, which must have acquired a permit. */
+    private void submit(PendingKeysDeletion pendingKeysDeletion, List<String> renamedTableEntries) {
+      final List<BlockGroup> keyBlocksList = pendingKeysDeletion.getKeyBlocksList();
+      getMetrics().incrKdsBatchesInFlight(1);
+      batches.add(CompletableFuture.supplyAsync(() -> {
+        final long startTime = Time.monotonicNow();
+        final List<DeleteBlockGroupResult> results;
+        try {
+          results = deleteKeyBlocks(keyBlocksList);
+        } catch (IOException e) {
+          throw new CompletionException(e);
+        }
+        final long elapsed = Time.monotonicNow() - startTime;
+        if (elapsed > scmSlowThresholdMs && stopped.compareAndSet(false, true)) {
+          LOG.warn("SCM took {} ms (> {} ms) to ack {} BlockGroup deletion, stop gathering keys until next run.",
+              elapsed, scmSlowThresholdMs, keyBlocksList.size());
+        }
+        return results;
+      }, scmStageExecutor).thenAcceptAsync(results -> {
+        if (results == null) {
+          fail();
+          return;
+        }
+        final Pair<Pair<Integer, Long>, Boolean> purgeResult;
+        try {
+          purgeResult = purgeKeys(results, pendingKeysDeletion.getKeysToModify(), renamedTableEntries,
+              null, expectedPreviousSnapshotId, pendingKeysDeletion.getKeyBlockReplicatedSize());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new CompletionException(e);
+        }
+        updateDeletionStats(purgeResult, pendingKeysDeletion, true);
+        if (!purgeResult.getValue()) {
+          fail();
+        }
+      }, purgeStageExecutor).handle((result, e) -> {
+        if (e != null) {
+          LOG.error("Failed to delete a batch of {} keys. Will retry at next run.", keyBlocksList.size(), e);
+          fail();
+        }
+        getMetrics().incrKdsBatchesInFlight(-1);
+        release();
+        return null;
+      }));
+    }
+
+    /** Wait for all the batches to complete. */
+    private void awaitBatches() {
+      CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+    }
+  }
+
   /**
    * A key deleting task scans OM DB and looking for a certain number of
    * pending-deletion keys, sends these keys along with their associated blocks
@@ -392,10 +572,14 @@ private void processDeletedKeysForStore(SnapshotInfo currentSnapshotInfo, KeyMan
           remainNum -= renamedTableEntries.size();
 
           // Get pending keys that can be deleted
+          final long gatherStartTime = Time.monotonicNow();
           PendingKeysDeletion pendingKeysDeletion = currentSnapshotInfo == null
               ? keyManager.getPendingDeletionKeys(reclaimableKeyFilter, remainNum)
               : keyManager.getPendingDeletionKeys(volume, bucket, null, reclaimableKeyFilter, remainNum);
           List<BlockGroup> keyBlocksList = pendingKeysDeletion.getKeyBlocksList();
+          if (keyBlocksList != null) {
+            getMetrics().addKdsGatherStage(keyBlocksList.size(), Time.monotonicNow() - gatherStartTime);
+          }
           //submit purge requests if there are renamed entries to be purged or keys to be purged.
           if (!renamedTableEntries.isEmpty() || keyBlocksList != null && !keyBlocksList.isEmpty()) {
             // Validating if the previous snapshot is still the same before purging the blocks.
@@ -406,43 +590,107 @@ private void processDeletedKeysForStore(SnapshotInfo currentSnapshotInfo, KeyMan
                 expectedPreviousSnapshotId, pendingKeysDeletion.getKeyBlockReplicatedSize());
             remainNum -= purgeResult.getKey().getKey();
             successStatus = purgeResult.getValue();
-            getMetrics().incrNumKeysProcessed(keyBlocksList.size());
-            getMetrics().incrNumKeysSentForPurge(purgeResult.getKey().getKey());
-
-            DeletionStats statsToUpdate = currentSnapshotInfo == null ? aosDeletionStats : snapshotDeletionStats;
-            statsToUpdate.updateDeletionStats(purgeResult.getKey().getKey(), purgeResult.getKey().getValue(),
-                keyBlocksList.size() + pendingKeysDeletion.getNotReclaimableKeyCount(),
-                pendingKeysDeletion.getNotReclaimableKeyCount()
-            );
-            if (successStatus) {
-              deletedKeyCount.addAndGet(purgeResult.getKey().getKey());
-            }
+            updateDeletionStats(purgeResult, pendingKeysDeletion, currentSnapshotInfo == null);
           }
 
           // Checking remainNum is greater than zero and not equal to the initial value if there were some keys to
           // reclaim. This is to check if all keys have been iterated over and all the keys necessary have been
           // reclaimed.
           if (remainNum > 0 && successStatus) {
-            List<SetSnapshotPropertyRequest> setSnapshotPropertyRequests = new ArrayList<>();
-            Map<UUID, Long> exclusiveReplicatedSizeMap = reclaimableKeyFilter.getExclusiveReplicatedSizeMap();
-            Map<UUID, Long> exclusiveSizeMap = reclaimableKeyFilter.getExclusiveSizeMap();
-            List<UUID> previousPathSnapshotsInChain =
-                Stream.of(exclusiveSizeMap.keySet(), exclusiveReplicatedSizeMap.keySet())
-                .flatMap(Collection::stream).distinct().collect(Collectors.toList());
-            for (UUID snapshot : previousPathSnapshotsInChain) {
-              setSnapshotPropertyRequests.add(getSetSnapshotRequestUpdatingExclusiveSize(exclusiveSizeMap,
-                  exclusiveReplicatedSizeMap, snapshot));
-            }
+            submitDeepCleanedRequests(currentSnapshotInfo, reclaimableKeyFilter);
+          }
+        }
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+
+    /**
+     * Once all the keys of a store have been reclaimed,
+     * update the exclusive sizes of the previous snapshots and the deep clean flag of the snapshot.
+     */
+    private void submitDeepCleanedRequests(SnapshotInfo currentSnapshotInfo,
+        ReclaimableKeyFilter reclaimableKeyFilter) {
+      List<SetSnapshotPropertyRequest> setSnapshotPropertyRequests = new ArrayList<>();
+      Map<UUID, Long> exclusiveReplicatedSizeMap = reclaimableKeyFilter.getExclusiveReplicatedSizeMap();
+      Map<UUID, Long> exclusiveSizeMap = reclaimableKeyFilter.getExclusiveSizeMap();
+      List<UUID> previousPathSnapshotsInChain =
+          Stream.of(exclusiveSizeMap.keySet(), exclusiveReplicatedSizeMap.keySet())
+          .flatMap(Collection::stream).distinct().collect(Collectors.toList());
+      for (UUID snapshot : previousPathSnapshotsInChain) {
+        setSnapshotPropertyRequests.add(getSetSnapshotRequestUpdatingExclusiveSize(exclusiveSizeMap,
+            exclusiveReplicatedSizeMap, snapshot));
+      }
+
+      // Updating directory deep clean flag of snapshot.
+      if (currentSnapshotInfo != null) {
+        setSnapshotPropertyRequests.add(OzoneManagerProtocolProtos.SetSnapshotPropertyRequest.newBuilder()
+            .setSnapshotKey(currentSnapshotInfo.getTableKey())
+            .setDeepCleanedDeletedKey(true)
+            .build());
+      }
+      submitSetSnapshotRequests(setSnapshotPropertyRequests);
+    }
 
-            // Updating directory deep clean flag of snapshot.
-            if (currentSnapshotInfo != null) {
-              setSnapshotPropertyRequests.add(OzoneManagerProtocolProtos.SetSnapshotPropertyRequest.newBuilder()
-                  .setSnapshotKey(snapshotTableKey)
-                  .setDeepCleanedDeletedKey(true)
-                  .build());
+    /**
+     * Process the deleted keys of the active object store in a pipeline.
+     * This thread gathers the batches from the DeletedTable,
+     * while the previous batches are being sent to SCM and purged by the stage executors.
+     * The run ends when all the keys have been iterated,
+     * a batch has failed or SCM is slow to ack the deleted blocks.
+     * All the batches are completed before returning,
+     * so that the next run does not gather the keys in flight again.
+     */
+    private void processDeletedKeysPipelined(KeyManager keyManager) throws IOException, InterruptedException {
+      OmSnapshotManager omSnapshotManager = getOzoneManager().getOmSnapshotManager();
+      UUID expectedPreviousSnapshotId = snapshotChainManager.getLatestGlobalSnapshotId();
+      IOzoneManagerLock lock = getOzoneManager().getMetadataManager().getLock();
+      DeletionPipeline pipeline = new DeletionPipeline(expectedPreviousSnapshotId);
+      boolean iteratedAll = false;
+
+      try (ReclaimableKeyFilter reclaimableKeyFilter = new ReclaimableKeyFilter(getOzoneManager(),
+          omSnapshotManager, snapshotChainManager, null, keyManager, lock);
+           ReclaimableRenameEntryFilter renameEntryFilter = new ReclaimableRenameEntryFilter(
+               getOzoneManager(), omSnapshotManager, snapshotChainManager, null, keyManager, lock)) {
+        // The rename entries are purged with the first batch.
+        List<String> renamedTableEntries =
+            keyManager.getRenamesKeyEntries(null, null, null, renameEntryFilter, keyLimitPerTask).stream()
+                .map(Table.KeyValue::getKey)
+                .collect(Collectors.toList());
+        String startKey = null;
+        try {
+          while (shouldRun() && !pipeline.isStopped()) {
+            pipeline.acquire();
+            final long gatherStartTime = Time.monotonicNow();
+            PendingKeysDeletion pendingKeysDeletion = keyManager.getPendingDeletionKeys(null, null, startKey,
+                reclaimableKeyFilter, keyLimitPerTask - renamedTableEntries.size());
+            List<BlockGroup> keyBlocksList = pendingKeysDeletion.getKeyBlocksList();
+            getMetrics().addKdsGatherStage(keyBlocksList.size(), Time.monotonicNow() - gatherStartTime);
+            startKey = pendingKeysDeletion.getNextKey();
+
+            if (renamedTableEntries.isEmpty() && keyBlocksList.isEmpty()) {
+              pipeline.release();
+              iteratedAll = startKey == null;
+              break;
+            }
+            // Validating if the previous snapshot is still the same before purging the blocks.
+            if (!SnapshotUtils.validatePreviousSnapshotId(null, snapshotChainManager, expectedPreviousSnapshotId)) {
+              pipeline.release();
+              break;
+            }
+            pipeline.submit(pendingKeysDeletion, renamedTableEntries);
+            renamedTableEntries = Collections.emptyList();
+            if (startKey == null) {
+              iteratedAll = true;
+              break;
             }
-            submitSetSnapshotRequests(setSnapshotPropertyRequests);
           }
+        } finally {
+          pipeline.awaitBatches();
+        }
+
+        if (iteratedAll && pipeline.isAllSucceeded()) {
+          submitDeepCleanedRequests(null, reclaimableKeyFilter);
         }
       } catch (UncheckedIOException e) {
         throw e.getCause();
@@ -493,7 +741,11 @@ public BackgroundTaskResult call() {
                   snapInfo.getName())) {
             KeyManager keyManager = snapInfo == null ? getOzoneManager().getKeyManager()
                 : omSnapshot.get().getKeyManager();
-            processDeletedKeysForStore(snapInfo, keyManager, remainNum);
+            if (snapInfo == null && pipelineDepth > 1) {
+              processDeletedKeysPipelined(keyManager);
+            } else {
+              processDeletedKeysForStore(snapInfo, keyManager, remainNum);
+            }
           }
         } catch (IOException e) {
           LOG.error("Error while running delete files background task for store {}. Will retry at next run.",
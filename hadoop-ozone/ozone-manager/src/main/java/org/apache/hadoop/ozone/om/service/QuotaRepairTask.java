@@ -54,9 +54,9 @@
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
-import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.util.Time;
@@ -306,11 +306,12 @@ private void repairCount(
           new CountPair()));
       
       List<Future<?>> tasks = new ArrayList<>();
+      // only the size and the replication of the keys are needed
       tasks.add(executor.submit(() -> recalculateUsages(
-          metadataManager.getKeyTable(BucketLayout.OBJECT_STORE),
+          metadataManager.getBasicKeyTable(BucketLayout.OBJECT_STORE),
           keyCountMap, "Key usages", true)));
       tasks.add(executor.submit(() -> recalculateUsages(
-          metadataManager.getKeyTable(BucketLayout.FILE_SYSTEM_OPTIMIZED),
+          metadataManager.getBasicKeyTable(BucketLayout.FILE_SYSTEM_OPTIMIZED),
           fileCountMap, "File usages", true)));
       tasks.add(executor.submit(() -> recalculateUsages(
           metadataManager.getDirectoryTable(),
@@ -408,8 +409,8 @@ private static <VALUE> void extractCount(
     // avoid decode of value
     if (haveValue) {
       VALUE value = kv.getValue();
-      if (value instanceof OmKeyInfo) {
-        usage.incrSpace(((OmKeyInfo) value).getReplicatedSize());
+      if (value instanceof BasicOmKeyInfo) {
+        usage.incrSpace(((BasicOmKeyInfo) value).getReplicatedSize());
       }
     }
   }
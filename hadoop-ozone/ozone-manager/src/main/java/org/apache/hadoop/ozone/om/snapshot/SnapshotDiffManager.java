@@ -32,6 +32,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_FORCE_FULL_DIFF;
@@ -70,14 +72,18 @@
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -86,11 +92,14 @@
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -150,6 +159,7 @@ public class SnapshotDiffManager implements AutoCloseable {
   private static final String RENAME_DIFF_TABLE_SUFFIX = "-rename-diff";
   private static final String CREATE_DIFF_TABLE_SUFFIX = "-create-diff";
   private static final String MODIFY_DIFF_TABLE_SUFFIX = "-modify-diff";
+  private static final int OBJECT_ID_MAP_BATCH_SIZE = 1000;
 
   private final ManagedRocksDB db;
   private final RocksDBCheckpointDiffer differ;
@@ -176,6 +186,15 @@ public class SnapshotDiffManager implements AutoCloseable {
   private final PersistentMap<String, SnapshotDiffJob> snapDiffJobTable;
   private final ExecutorService snapDiffExecutor;
 
+  /**
+   * Executor shared by the snapshot diff jobs to look up the keys of the delta
+   * SST files in the snapshot tables, in batches of
+   * {@link #OBJECT_ID_MAP_BATCH_SIZE} keys.
+   * It is null when the keys are looked up in the job thread.
+   */
+  private final ExecutorService objectIdMapExecutor;
+  private final int maxPendingObjectIdMapBatches;
+
   /**
    * Directory to keep hardlinks of SST files for a snapDiff job temporarily.
    * It is to make sure that SST files don't get deleted for the in_progress
@@ -257,6 +276,24 @@ public SnapshotDiffManager(ManagedRocksDB db,
             .build()
     );
 
+    final int objectIdMapThreadPoolSize = ozoneManager.getConfiguration()
+        .getInt(OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE,
+            OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE_DEFAULT);
+    if (objectIdMapThreadPoolSize > 1) {
+      this.objectIdMapExecutor = Executors.newFixedThreadPool(
+          objectIdMapThreadPoolSize,
+          new ThreadFactoryBuilder()
+              .setNameFormat(ozoneManager.getThreadNamePrefix() +
+                  "snapshot-diff-object-id-map-thread-id-%d")
+              .setDaemon(true)
+              .build());
+      // Keep every worker busy while the job thread merges a batch.
+      this.maxPendingObjectIdMapBatches = 2 * objectIdMapThreadPoolSize;
+    } else {
+      this.objectIdMapExecutor = null;
+      this.maxPendingObjectIdMapBatches = 0;
+    }
+
     RDBStore rdbStore = (RDBStore) ozoneManager.getMetadataManager().getStore();
     Objects.requireNonNull(rdbStore, "DBStore can't be null.");
     Path path = Paths.get(rdbStore.getSnapshotMetadataDir(), "snapDiff");
@@ -1113,52 +1150,60 @@ void addToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
     try (Stream<String> keysToCheck = nativeRocksToolsLoaded ?
         sstFileReader.getKeyStreamWithTombstone(sstFileReaderLowerBound, sstFileReaderUpperBound)
         : sstFileReader.getKeyStream(sstFileReaderLowerBound, sstFileReaderUpperBound)) {
-      AtomicLong keysProcessed = new AtomicLong(0);
-      keysToCheck.forEach(key -> {
-        if (totalEstimatedKeysToProcess > 0) {
-          double progressPct = (double) keysProcessed.get() / totalEstimatedKeysToProcess;
-          if (progressPct >= checkpoint[0]) {
-            updateProgress(jobKey, progressPct);
-            checkpoint[0] += stepIncreasePct;
+      // The keys are looked up in batches, possibly in parallel.
+      // The results are merged in the key order by this thread.
+      final Iterator<String> keys = keysToCheck.iterator();
+      final Deque<Future<ObjectIdMapBatch>> pendingBatches = new ArrayDeque<>();
+      long keysProcessed = 0;
+      try {
+        while (keys.hasNext() || !pendingBatches.isEmpty()) {
+          if (keys.hasNext()
+              && pendingBatches.size() <= maxPendingObjectIdMapBatches) {
+            pendingBatches.add(lookUpObjectIdMapBatch(nextBatch(keys),
+                fsTable, tsTable, tablePrefixes));
+            continue;
           }
-        }
 
-        try {
-          final WithParentObjectId fromObjectId = fsTable.get(key);
-          final WithParentObjectId toObjectId = tsTable.get(key);
-          if (areKeysEqual(fromObjectId, toObjectId) || !isKeyInBucket(key,
-              tablePrefixes, fsTable.getName())) {
-            keysProcessed.getAndIncrement();
-            return;
-          }
-          if (fromObjectId != null) {
-            byte[] rawObjId = codecRegistry.asRawData(
-                fromObjectId.getObjectID());
+          final ObjectIdMapBatch batch = awaitObjectIdMapBatch(
+              pendingBatches.remove());
+          for (ObjectIdMapEntry entry : batch.changedKeys) {
             // Removing volume bucket info by removing the table bucket Prefix
             // from the key.
             // For FSO buckets will be left with the parent id/keyname.
             // For OBS buckets will be left with the complete path
-            byte[] rawValue = codecRegistry.asRawData(
-                key.substring(tablePrefix.length()));
-            oldObjIdToKeyMap.put(rawObjId, rawValue);
-            objectIdToIsDirMap.put(rawObjId, isDirectoryTable);
-            oldParentIds.ifPresent(set -> set.add(
-                fromObjectId.getParentObjectID()));
+            final byte[] rawValue = codecRegistry.asRawData(
+                entry.key.substring(tablePrefix.length()));
+            final WithParentObjectId fromObjectId = entry.fromObjectId;
+            if (fromObjectId != null) {
+              byte[] rawObjId = codecRegistry.asRawData(
+                  fromObjectId.getObjectID());
+              oldObjIdToKeyMap.put(rawObjId, rawValue);
+              objectIdToIsDirMap.put(rawObjId, isDirectoryTable);
+              oldParentIds.ifPresent(set -> set.add(
+                  fromObjectId.getParentObjectID()));
+            }
+            final WithParentObjectId toObjectId = entry.toObjectId;
+            if (toObjectId != null) {
+              byte[] rawObjId = codecRegistry.asRawData(toObjectId.getObjectID());
+              newObjIdToKeyMap.put(rawObjId, rawValue);
+              objectIdToIsDirMap.put(rawObjId, isDirectoryTable);
+              newParentIds.ifPresent(set -> set.add(toObjectId
+                  .getParentObjectID()));
+            }
           }
-          if (toObjectId != null) {
-            byte[] rawObjId = codecRegistry.asRawData(toObjectId.getObjectID());
-            byte[] rawValue = codecRegistry.asRawData(
-                key.substring(tablePrefix.length()));
-            newObjIdToKeyMap.put(rawObjId, rawValue);
-            objectIdToIsDirMap.put(rawObjId, isDirectoryTable);
-            newParentIds.ifPresent(set -> set.add(toObjectId
-                .getParentObjectID()));
+
+          keysProcessed += batch.numKeys;
+          if (totalEstimatedKeysToProcess > 0) {
+            double progressPct = (double) keysProcessed / totalEstimatedKeysToProcess;
+            if (progressPct >= checkpoint[0]) {
+              updateProgress(jobKey, progressPct);
+              checkpoint[0] += stepIncreasePct;
+            }
           }
-          keysProcessed.getAndIncrement();
-        } catch (IOException e) {
-          throw new RuntimeException(e);
         }
-      });
+      } finally {
+        pendingBatches.forEach(f -> f.cancel(true));
+      }
     } catch (RocksDBException rocksDBException) {
       // TODO: [SNAPSHOT] Gracefully handle exception
       //  e.g. when input files do not exist
@@ -1166,6 +1211,92 @@ void addToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
     }
   }
 
+  private static List<String> nextBatch(Iterator<String> keys) {
+    final List<String> batch = new ArrayList<>(OBJECT_ID_MAP_BATCH_SIZE);
+    while (keys.hasNext() && batch.size() < OBJECT_ID_MAP_BATCH_SIZE) {
+      batch.add(keys.next());
+    }
+    return batch;
+  }
+
+  /**
+   * Look up the given keys in the from and to snapshot tables,
+   * in {@link #objectIdMapExecutor} if it is enabled;
+   * otherwise, in the current thread.
+   */
+  private Future<ObjectIdMapBatch> lookUpObjectIdMapBatch(List<String> keys,
+      Table<String, ? extends WithParentObjectId> fsTable,
+      Table<String, ? extends WithParentObjectId> tsTable,
+      Map<String, String> tablePrefixes) throws IOException {
+    if (objectIdMapExecutor == null) {
+      return CompletableFuture.completedFuture(
+          lookUpKeys(keys, fsTable, tsTable, tablePrefixes));
+    }
+    return objectIdMapExecutor.submit(
+        () -> lookUpKeys(keys, fsTable, tsTable, tablePrefixes));
+  }
+
+  private ObjectIdMapBatch lookUpKeys(List<String> keys,
+      Table<String, ? extends WithParentObjectId> fsTable,
+      Table<String, ? extends WithParentObjectId> tsTable,
+      Map<String, String> tablePrefixes) throws IOException {
+    final List<ObjectIdMapEntry> changedKeys = new ArrayList<>();
+    for (String key : keys) {
+      final WithParentObjectId fromObjectId = fsTable.get(key);
+      final WithParentObjectId toObjectId = tsTable.get(key);
+      if (!areKeysEqual(fromObjectId, toObjectId) && isKeyInBucket(key,
+          tablePrefixes, fsTable.getName())) {
+        changedKeys.add(new ObjectIdMapEntry(key, fromObjectId, toObjectId));
+      }
+    }
+    return new ObjectIdMapBatch(keys.size(), changedKeys);
+  }
+
+  private static ObjectIdMapBatch awaitObjectIdMapBatch(
+      Future<ObjectIdMapBatch> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(
+          "Interrupted while looking up keys for the object ID map");
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("Failed to look up keys for the object ID map",
+          cause);
+    }
+  }
+
+  /** The keys of a batch which are changed between the snapshots. */
+  private static final class ObjectIdMapBatch {
+    private final int numKeys;
+    private final List<ObjectIdMapEntry> changedKeys;
+
+    ObjectIdMapBatch(int numKeys, List<ObjectIdMapEntry> changedKeys) {
+      this.numKeys = numKeys;
+      this.changedKeys = changedKeys;
+    }
+  }
+
+  /** A changed key with its values in the from and to snapshots. */
+  private static final class ObjectIdMapEntry {
+    private final String key;
+    private final WithParentObjectId fromObjectId;
+    private final WithParentObjectId toObjectId;
+
+    ObjectIdMapEntry(String key, WithParentObjectId fromObjectId,
+        WithParentObjectId toObjectId) {
+      this.key = key;
+      this.fromObjectId = fromObjectId;
+      this.toObjectId = toObjectId;
+    }
+  }
+
   @VisibleForTesting
   @SuppressWarnings("checkstyle:ParameterNumber")
   Set<String> getDeltaFiles(OmSnapshot fromSnapshot,
@@ -1726,6 +1857,7 @@ public void close() {
     if (snapDiffExecutor != null) {
       closeExecutorService(snapDiffExecutor, "SnapDiffExecutor");
     }
+    closeExecutorService(objectIdMapExecutor, "SnapDiffObjectIdMapExecutor");
   }
 
   private void closeExecutorService(ExecutorService executorService,
@@ -34,6 +34,7 @@
 import org.apache.hadoop.ipc.ProcessingDetails.Timing;
 import org.apache.hadoop.ipc.Server;
 import org.apache.hadoop.ozone.OmUtils;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OMPerformanceMetrics;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
@@ -67,6 +68,7 @@ public class OzoneManagerProtocolServerSideTranslatorPB implements OzoneManagerP
       ProtocolMessageEnum> dispatcher;
   private final RequestValidations requestValidations;
   private final OMPerformanceMetrics perfMetrics;
+  private final boolean followerReadEnabled;
 
   private OMRequest lastRequestToSubmit;
 
@@ -81,6 +83,9 @@ public OzoneManagerProtocolServerSideTranslatorPB(
       ProtocolMessageMetrics<ProtocolMessageEnum> metrics) {
     this.ozoneManager = impl;
     this.perfMetrics = impl.getPerfMetrics();
+    this.followerReadEnabled = impl.getConfiguration().getBoolean(
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED,
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_DEFAULT);
 
     this.handler = new OzoneManagerRequestHandler(impl);
     this.omRatisServer = ratisServer;
@@ -189,6 +194,11 @@ private OMResponse submitReadRequestToOM(OMRequest request)
     if (raftServerStatus == LEADER_AND_READY ||
         request.getCmdType().equals(PrepareStatus)) {
       return handler.handleReadRequest(request);
+    } else if (raftServerStatus == NOT_LEADER && followerReadEnabled
+        && OmUtils.isFollowerReadAllowed(request)) {
+      // Catch up with the leader before serving the read from this follower.
+      omRatisServer.waitForReadIndex();
+      return handler.handleReadRequest(request);
     } else {
       throw createLeaderErrorException(raftServerStatus);
     }
@@ -17,9 +17,23 @@
 
 package org.apache.hadoop.ozone.om;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.protocolPB.grpc.GrpcClientConstants;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
 import org.apache.hadoop.ozone.protocolPB.OzoneManagerProtocolServerSideTranslatorPB;
 import org.junit.jupiter.api.Test;
 
@@ -50,4 +64,51 @@ public void testStartStop() throws Exception {
     }
   }
 
+  @Test
+  public void testWriteRequestsOnWriteExecutor() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OMConfigKeys.OZONE_OM_GRPC_PORT_KEY, 0);
+    omServerProtocol = mock(OzoneManagerProtocolServerSideTranslatorPB.class);
+    // request type -> the thread serving it
+    final Map<Type, String> threads = new ConcurrentHashMap<>();
+    when(omServerProtocol.submitRequest(any(), any())).thenAnswer(invocation -> {
+      final OMRequest request = invocation.getArgument(1);
+      threads.put(request.getCmdType(), Thread.currentThread().getName());
+      return OMResponse.newBuilder()
+          .setCmdType(request.getCmdType())
+          .setStatus(Status.OK)
+          .build();
+    });
+
+    server = new GrpcOzoneManagerServer(conf, omServerProtocol, null, null, "");
+    server.start();
+    final ManagedChannel channel = NettyChannelBuilder
+        .forAddress("localhost", server.getPort())
+        .usePlaintext()
+        .build();
+    try {
+      final org.apache.hadoop.ozone.protocol.proto.OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub stub =
+          org.apache.hadoop.ozone.protocol.proto.OzoneManagerServiceGrpc.newBlockingStub(channel);
+      final Metadata writeHeaders = new Metadata();
+      writeHeaders.put(GrpcClientConstants.WRITE_REQUEST_METADATA_KEY,
+          Boolean.TRUE.toString());
+
+      stub.submitRequest(newRequest(Type.ServiceList));
+      stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(writeHeaders))
+          .submitRequest(newRequest(Type.CreateVolume));
+
+      assertThat(threads.get(Type.ServiceList)).contains("OmRpcReader");
+      assertThat(threads.get(Type.CreateVolume)).contains("OmRpcWriter");
+    } finally {
+      channel.shutdownNow();
+      server.stop();
+    }
+  }
+
+  private static OMRequest newRequest(Type type) {
+    return OMRequest.newBuilder()
+        .setCmdType(type)
+        .setClientId("test")
+        .build();
+  }
 }
@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.om;
 
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
+import static org.apache.hadoop.ozone.OzoneConsts.OM_SNAPSHOT_CHECKPOINT_DIR;
 import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_DIRS;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_MPU_EXPIRE_THRESHOLD;
@@ -52,12 +53,15 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -79,10 +83,15 @@
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedBlockBasedTableConfig;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.ListOpenFilesResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -603,6 +612,42 @@ public void testListKeysWithFewDeleteEntriesInCache() throws Exception {
 
   }
 
+  @Test
+  public void testListKeysLight() throws Exception {
+    String volumeName = "volumeA";
+    String bucketName = "ozoneBucket";
+    OMRequestTestUtils.addVolumeToDB(volumeName, omMetadataManager);
+    addBucketsToCache(volumeName, bucketName);
+
+    // the even keys are in the DB and the odd keys are in the cache.
+    for (int i = 0; i < 20; i++) {
+      addKeysToOM(volumeName, bucketName, "key-" + i, i);
+    }
+
+    String startKey = null;
+    for (int i = 0; i < 3; i++) {
+      ListKeysResult expected = omMetadataManager.listKeys(volumeName,
+          bucketName, startKey, "key-", 8);
+      ListKeysLightResult light = omMetadataManager.listKeysLight(volumeName,
+          bucketName, startKey, "key-", 8);
+
+      assertEquals(expected.isTruncated(), light.isTruncated());
+      assertEquals(expected.getKeys().size(), light.getKeys().size());
+      for (int k = 0; k < light.getKeys().size(); k++) {
+        OmKeyInfo keyInfo = expected.getKeys().get(k);
+        BasicOmKeyInfo basic = light.getKeys().get(k);
+        assertEquals(keyInfo.getKeyName(), basic.getKeyName());
+        assertEquals(keyInfo.getDataSize(), basic.getDataSize());
+        assertEquals(keyInfo.getReplicationConfig(), basic.getReplicationConfig());
+        assertEquals(keyInfo.getModificationTime(), basic.getModificationTime());
+        assertEquals(keyInfo.isFile(), basic.isFile());
+        assertEquals(keyInfo.getOwnerName(), basic.getOwnerName());
+        startKey = basic.getKeyName();
+      }
+    }
+    assertEquals("key-9", startKey);
+  }
+
   /**
    * Tests inner impl of listOpenFiles with different bucket types with and
    * without pagination. NOTE: This UT does NOT test hsync here since the hsync
@@ -1222,4 +1267,47 @@ public void testGetMultipartUploadKeys() throws Exception {
 
     assertEquals(25, noPagination.size());
   }
+
+  @Test
+  public void testSnapshotDbsShareBlockCache() throws Exception {
+    Files.createDirectories(new File(OMStorage.getOmDbDir(ozoneConfiguration),
+        OM_SNAPSHOT_CHECKPOINT_DIR).toPath());
+    final ManagedColumnFamilyOptions shared =
+        OmSnapshotManager.createSnapshotDbColumnFamilyOptions(ozoneConfiguration);
+    final long writeBufferSize = shared.writeBufferSize();
+    final boolean autoCompactionsDisabled = shared.disableAutoCompactions();
+
+    final OmMetadataManagerImpl snapshot1 = new OmMetadataManagerImpl(
+        ozoneConfiguration, "-snapshot1", false, -1, shared);
+    final OmMetadataManagerImpl snapshot2 = new OmMetadataManagerImpl(
+        ozoneConfiguration, "-snapshot2", false, -1, shared);
+    try {
+      final ManagedColumnFamilyOptions options1 = snapshot1.getSnapshotDbColumnFamilyOptions();
+      final ManagedColumnFamilyOptions options2 = snapshot2.getSnapshotDbColumnFamilyOptions();
+      assertNotSame(shared, options1);
+      assertNotSame(shared, options2);
+      assertNotSame(options1, options2);
+
+      // the same table config, i.e. the same block cache
+      assertSame(shared.tableFormatConfig(), options1.tableFormatConfig());
+      assertSame(shared.tableFormatConfig(), options2.tableFormatConfig());
+
+      // the settings of a DB do not change the others
+      assertTrue(options1.disableAutoCompactions());
+      assertEquals(autoCompactionsDisabled, shared.disableAutoCompactions());
+      options1.setWriteBufferSize(writeBufferSize + 1);
+      assertEquals(writeBufferSize + 1, options1.writeBufferSize());
+      assertNotEquals(options1.writeBufferSize(), options2.writeBufferSize());
+      assertEquals(writeBufferSize, shared.writeBufferSize());
+
+      // closing a DB does not close the shared block cache
+      snapshot1.stop();
+      assertFalse(((ManagedBlockBasedTableConfig) shared.tableFormatConfig()).isClosed());
+      assertNull(snapshot2.getBucketTable().get(snapshot2.getBucketKey("vol", "bucket")));
+    } finally {
+      snapshot1.stop();
+      snapshot2.stop();
+      ManagedColumnFamilyOptions.closeDeeply(shared);
+    }
+  }
 }
@@ -24,6 +24,7 @@
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -46,6 +47,8 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * This class tests OzoneManagerDoubleBuffer implementation with
@@ -110,6 +113,8 @@ public void testDoubleBufferWithDummyResponse() throws Exception {
         omMetadataManager.getBucketTable()));
     assertThat(doubleBuffer.getFlushIterationsForTesting()).isGreaterThan(0);
     assertThat(metrics.getFlushTime().lastStat().numSamples()).isGreaterThan(0);
+    assertThat(metrics.getAddToBatchTime().lastStat().numSamples()).isGreaterThan(0);
+    assertThat(metrics.getCleanupCacheTime().lastStat().numSamples()).isGreaterThan(0);
     assertThat(metrics.getAvgFlushTransactionsInOneIteration()).isGreaterThan(0);
     assertEquals(bucketCount, (long) metrics.getQueueSize().lastStat().total());
     assertThat(metrics.getQueueSize().lastStat().numSamples()).isGreaterThan(0);
@@ -127,6 +132,78 @@ public void testDoubleBufferWithDummyResponse() throws Exception {
     assertEquals(term, transactionInfo.getTerm());
   }
 
+  @Test
+  public void testAdjustMaxFlushBatchSize() {
+    final OzoneManagerDoubleBuffer buffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setMaxUnFlushedTransactionCount(1000)
+        .setFlushLatencyTargetMs(100)
+        .build();
+    assertEquals(1000, buffer.getMaxFlushBatchSize());
+
+    // missed the target: halve
+    buffer.adjustMaxFlushBatchSize(1000, 200);
+    assertEquals(500, buffer.getMaxFlushBatchSize());
+    // met the target with a partial batch: unchanged
+    buffer.adjustMaxFlushBatchSize(300, 10);
+    assertEquals(500, buffer.getMaxFlushBatchSize());
+    // met the target with a full batch: double, up to the limit
+    buffer.adjustMaxFlushBatchSize(500, 10);
+    assertEquals(1000, buffer.getMaxFlushBatchSize());
+    buffer.adjustMaxFlushBatchSize(1000, 10);
+    assertEquals(1000, buffer.getMaxFlushBatchSize());
+    // never below the minimum
+    buffer.adjustMaxFlushBatchSize(50, 200);
+    assertEquals(OzoneManagerDoubleBuffer.MIN_FLUSH_BATCH_SIZE, buffer.getMaxFlushBatchSize());
+
+    // without a target, the batch size is not limited
+    final OzoneManagerDoubleBuffer unlimited = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setMaxUnFlushedTransactionCount(1000)
+        .build();
+    unlimited.adjustMaxFlushBatchSize(1000, 200);
+    assertEquals(Integer.MAX_VALUE, unlimited.getMaxFlushBatchSize());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, -1})
+  public void testNonPositiveMaxUnFlushedTransactionCount(int maxCount) {
+    final OzoneManagerDoubleBuffer.Builder builder = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setMaxUnFlushedTransactionCount(maxCount)
+        .setFlushLatencyTargetMs(100);
+    assertThrows(IllegalStateException.class, builder::build);
+  }
+
+  @Test
+  public void testFlushInBatches() throws Exception {
+    final OzoneManagerDoubleBuffer buffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setMaxUnFlushedTransactionCount(1000)
+        .setFlushLatencyTargetMs(60_000)
+        .build();
+    // a slow batch of 200 limits the next batch to 100 transactions
+    buffer.adjustMaxFlushBatchSize(200, 120_000);
+    assertEquals(100, buffer.getMaxFlushBatchSize());
+
+    final String volumeName = UUID.randomUUID().toString();
+    final int bucketCount = 250;
+    for (int i = 0; i < bucketCount; i++) {
+      buffer.add(createDummyBucketResponse(volumeName),
+          TermIndex.valueOf(term, trxId.incrementAndGet()));
+    }
+    buffer.flushCurrentBuffer();
+
+    // the first batch has 100 transactions; then the size is doubled.
+    assertEquals(2, buffer.getFlushIterationsForTesting());
+    assertEquals(bucketCount, buffer.getFlushedTransactionCountForTesting());
+    assertEquals(200, buffer.getMaxFlushBatchSize());
+    assertEquals(bucketCount, omMetadataManager.countRowsInTable(
+        omMetadataManager.getBucketTable()));
+    assertEquals(bucketCount, omMetadataManager.getTransactionInfoTable()
+        .get(TRANSACTION_INFO_KEY).getTransactionIndex());
+  }
+
   /**
    * Create DummyBucketCreate response.
    */
@@ -130,6 +130,33 @@ protected void checkDeleteKeysResponseForFailure(
     assertEquals("dummy", unDeletedKeys.getKeys(0));
   }
 
+  @Test
+  public void testKeysDeleteRequestWithDuplicateKeys() throws Exception {
+    createPreRequisites();
+    setOmRequest(withDuplicateKeys(omRequest));
+
+    OMKeysDeleteRequest omKeysDeleteRequest =
+        new OMKeysDeleteRequest(omRequest, getBucketLayout());
+    checkDeleteKeysResponseWithDuplicateKeys(omKeysDeleteRequest);
+  }
+
+  /** @return the given request with every key listed twice. */
+  protected OMRequest withDuplicateKeys(OMRequest request) {
+    DeleteKeyArgs keys = request.getDeleteKeysRequest().getDeleteKeys();
+    return request.toBuilder()
+        .setDeleteKeysRequest(DeleteKeysRequest.newBuilder()
+            .setDeleteKeys(keys.toBuilder().addAllKeys(keys.getKeysList())))
+        .build();
+  }
+
+  protected void checkDeleteKeysResponseWithDuplicateKeys(
+      OMKeysDeleteRequest omKeysDeleteRequest) throws java.io.IOException {
+    long numKeys = omMetrics.getNumKeys();
+    checkDeleteKeysResponse(omKeysDeleteRequest);
+    // each key is deleted once
+    assertEquals(numKeys - deleteKeyList.size(), omMetrics.getNumKeys());
+  }
+
   protected void createPreRequisites() throws Exception {
 
     deleteKeyList = new ArrayList<>();
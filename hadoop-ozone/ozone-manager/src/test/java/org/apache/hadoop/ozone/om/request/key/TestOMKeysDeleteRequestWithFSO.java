@@ -62,6 +62,18 @@ public void testKeysDeleteRequestFail() throws Exception {
     checkDeleteKeysResponseForFailure(omKeysDeleteRequest);
   }
 
+  @Override
+  @Test
+  public void testKeysDeleteRequestWithDuplicateKeys() throws Exception {
+    createPreRequisites();
+    setOmRequest(withDuplicateKeys(getOmRequest()));
+
+    OmKeysDeleteRequestWithFSO omKeysDeleteRequest =
+        new OmKeysDeleteRequestWithFSO(getOmRequest(),
+            getBucketLayout());
+    checkDeleteKeysResponseWithDuplicateKeys(omKeysDeleteRequest);
+  }
+
   @Override
   protected void createPreRequisites() throws Exception {
     setDeleteKeyList(new ArrayList<>());
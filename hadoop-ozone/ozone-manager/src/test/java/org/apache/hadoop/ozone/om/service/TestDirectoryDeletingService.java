@@ -21,6 +21,7 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_THREAD_NUMBER_DIR_DELETION;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
@@ -178,6 +179,84 @@ public void testDeleteDirectoryCrossingSizeLimit() throws Exception {
     assertThat(dirDeletingService.getRunCount().get()).isGreaterThanOrEqualTo(1);
   }
 
+  @Test
+  public void testDeleteNestedDirectoriesInOneRun() throws Exception {
+    OzoneConfiguration conf = createConfAndInitValues(2);
+    // only run the task manually
+    conf.setTimeDuration(OZONE_DIR_DELETING_SERVICE_INTERVAL, 1, TimeUnit.HOURS);
+    OmTestManagers omTestManagers = new OmTestManagers(conf);
+    KeyManager keyManager = omTestManagers.getKeyManager();
+    writeClient = omTestManagers.getWriteClient();
+    om = omTestManagers.getOzoneManager();
+
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        om.getMetadataManager(), BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    OmBucketInfo bucketInfo = om.getMetadataManager().getBucketTable()
+        .get(om.getMetadataManager().getBucketKey(volumeName, bucketName));
+
+    // create dir0/dir1/.../dir4, each directory has 20 files
+    final int depth = 5;
+    final int filesPerDir = 20;
+    long parentId = bucketInfo.getObjectID();
+    long objectId = 1;
+    String path = "";
+    for (int d = 0; d < depth; d++) {
+      OmDirectoryInfo dir = new OmDirectoryInfo.Builder()
+          .setName("dir" + d)
+          .setCreationTime(Time.now())
+          .setModificationTime(Time.now())
+          .setObjectID(objectId++)
+          .setParentObjectID(parentId)
+          .setUpdateID(0)
+          .build();
+      OMRequestTestUtils.addDirKeyToDirTable(true, dir, volumeName, bucketName,
+          1L, om.getMetadataManager());
+      path = path.isEmpty() ? dir.getName() : path + "/" + dir.getName();
+      for (int i = 0; i < filesPerDir; ++i) {
+        String keyName = path + "/key" + i;
+        OmKeyInfo omKeyInfo =
+            OMRequestTestUtils.createOmKeyInfo(volumeName, bucketName, keyName, RatisReplicationConfig.getInstance(ONE))
+                .setObjectID(objectId++)
+                .setParentObjectID(dir.getObjectID())
+                .setUpdateID(100L)
+                .build();
+        OMRequestTestUtils.addFileToKeyTable(false, true, "key" + i,
+            omKeyInfo, 1234L, objectId, om.getMetadataManager());
+      }
+      parentId = dir.getObjectID();
+    }
+
+    // delete dir0 recursively
+    OmKeyArgs delArgs = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName("dir0")
+        .setReplicationConfig(StandaloneReplicationConfig.getInstance(ONE))
+        .setDataSize(0).setRecursive(true)
+        .build();
+    writeClient.deleteKey(delArgs);
+    GenericTestUtils.waitFor(() -> !isDeletedDirTableEmpty(), 100, 10000);
+
+    // a small limit, so that each purge request only covers a part of the tree
+    DirectoryDeletingService dirDeletingService =
+        (DirectoryDeletingService) keyManager.getDirDeletingService();
+    DirectoryDeletingService.DirDeletingTask dirDeletingTask = dirDeletingService.new DirDeletingTask(null);
+    dirDeletingTask.processDeletedDirsForStore(null, keyManager, 4096, 1);
+
+    // the unfinished dirs are handed over, so that the whole tree is deleted in one run
+    assertEquals(depth * filesPerDir, dirDeletingService.getMovedFilesCount());
+    assertEquals(depth, dirDeletingService.getDeletedDirsCount());
+    GenericTestUtils.waitFor(this::isDeletedDirTableEmpty, 100, 10000);
+  }
+
+  private boolean isDeletedDirTableEmpty() {
+    try {
+      return om.getMetadataManager().getDeletedDirTable().isEmpty();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   @Test
   public void testMultithreadedDirectoryDeletion() throws Exception {
     int threadCount = 10;
@@ -22,6 +22,8 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_BLOCK_DELETING_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SNAPSHOT_DELETING_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_INTERVAL;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_PIPELINE_DEPTH;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_DEEP_CLEANING_ENABLED;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_SST_FILTERING_SERVICE_INTERVAL;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -1038,6 +1040,49 @@ void testLastRunAnd24hMetrics() throws Exception {
     }
   }
 
+  /**
+   * Tests the pipelined key deletion.
+   */
+  @Nested
+  @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+  class Pipelined {
+
+    @BeforeAll
+    void setup(@TempDir File testDir) throws Exception {
+      scmBlockTestingClient = new ScmBlockLocationTestingClient(null, null, 0);
+      createConfig(testDir, 3600_000);
+      conf.setInt(OZONE_KEY_DELETING_LIMIT_PER_TASK, 10);
+      conf.setInt(OZONE_KEY_DELETING_PIPELINE_DEPTH, 3);
+      createSubject();
+    }
+
+    @AfterAll
+    void cleanup() {
+      if (om.stop()) {
+        om.join();
+      }
+    }
+
+    @Test
+    void testDeleteAllKeysInOneRun() throws Exception {
+      keyDeletingService.suspend();
+      final long initialDeletedCount = getDeletedKeyCount();
+      final long initialRunCount = getRunCount();
+
+      // 10 times of the limit per task
+      final int keyCount = 100;
+      createAndDeleteKeys(keyCount, 1);
+      GenericTestUtils.waitFor(() -> countKeysPendingDeletion() == keyCount, 100, 10000);
+
+      keyDeletingService.resume();
+      keyDeletingService.runPeriodicalTaskNow();
+      assertEquals(initialDeletedCount + keyCount, getDeletedKeyCount());
+      assertEquals(initialRunCount + 1, getRunCount());
+      assertEquals(0, metrics.getKdsBatchesInFlight());
+      GenericTestUtils.waitFor(() -> countKeysPendingDeletion() == 0, 100, 10000);
+    }
+  }
+
   private void createAndDeleteKeys(int keyCount, int numBlocks) throws IOException {
     for (int x = 0; x < keyCount; x++) {
       final String volumeName = getTestName();
@@ -25,6 +25,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_FORCE_FULL_DIFF;
@@ -97,6 +99,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -769,6 +772,87 @@ public void testObjectIdMapWithTombstoneEntries(boolean nativeLibraryLoaded,
     }
   }
 
+  /**
+   * Test that looking up the keys in parallel batches generates the expected
+   * object ID maps.
+   * The fromSnapshot Table contains keys 0-2000 and the toSnapshot Table
+   * contains keys 500-2500, where the keys 1500-2000 are modified.
+   */
+  @Test
+  public void testObjectIdMapWithParallelLookUp()
+      throws IOException, RocksDBException {
+    when(configuration.getInt(
+        OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE,
+        OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREAD_POOL_SIZE_DEFAULT))
+        .thenReturn(4);
+    List<String> keys = IntStream.range(0, 2500).boxed()
+        .map(i -> String.format("/key%05d", i)).collect(Collectors.toList());
+
+    try (MockedConstruction<SstFileSetReader> mockedSSTFileReader =
+             mockConstruction(SstFileSetReader.class,
+                 (mock, context) -> when(mock.getKeyStream(any(), any()))
+                     .thenReturn(keys.stream()));
+         SnapshotDiffManager diffManager = new SnapshotDiffManager(db, differ,
+             ozoneManager, snapDiffJobTable, snapDiffReportTable,
+             columnFamilyOptions, codecRegistry)) {
+      Map<String, WithParentObjectId> fromSnapshotTableMap =
+          IntStream.range(0, 2000).boxed().collect(Collectors.toMap(keys::get,
+              i -> getKeyInfo(i, i, i + 10000, KEY_TABLE)));
+      Map<String, WithParentObjectId> toSnapshotTableMap =
+          IntStream.range(500, 2500).boxed().collect(Collectors.toMap(keys::get,
+              i -> getKeyInfo(i, i < 1500 ? i : i + 1, i + 10000, KEY_TABLE)));
+
+      SnapshotDiffManager spy = spy(diffManager);
+      Set<String> lookUpThreads = ConcurrentHashMap.newKeySet();
+      doAnswer(invocation -> {
+        lookUpThreads.add(Thread.currentThread().getName());
+        return true;
+      }).when(spy).isKeyInBucket(anyString(), anyMap(), anyString());
+
+      PersistentMap<byte[], byte[]> oldObjectIdKeyMap =
+          new StubbedPersistentMap<>();
+      PersistentMap<byte[], byte[]> newObjectIdKeyMap =
+          new StubbedPersistentMap<>();
+      PersistentMap<byte[], Boolean> objectIdsToCheck =
+          new StubbedPersistentMap<>();
+      Set<Long> oldParentIds = new HashSet<>();
+      Set<Long> newParentIds = new HashSet<>();
+
+      spy.addToObjectIdMap(getMockedTable(fromSnapshotTableMap, KEY_TABLE),
+          getMockedTable(toSnapshotTableMap, KEY_TABLE),
+          Sets.newHashSet("dummy.sst"), false, oldObjectIdKeyMap,
+          newObjectIdKeyMap, objectIdsToCheck, Optional.of(oldParentIds),
+          Optional.of(newParentIds),
+          ImmutableMap.of(DIRECTORY_TABLE, "", KEY_TABLE, "", FILE_TABLE, ""),
+          "");
+
+      Set<Long> expectedOldIds = LongStream.concat(LongStream.range(0, 500),
+          LongStream.range(1500, 2000)).boxed().collect(Collectors.toSet());
+      Set<Long> expectedNewIds = LongStream.range(1500, 2500).boxed()
+          .collect(Collectors.toSet());
+      assertEquals(expectedOldIds, getObjectIds(oldObjectIdKeyMap));
+      assertEquals(expectedNewIds, getObjectIds(newObjectIdKeyMap));
+      assertEquals(Sets.union(expectedOldIds, expectedNewIds),
+          getObjectIds(objectIdsToCheck));
+      assertEquals(expectedOldIds.size(), oldParentIds.size());
+      assertEquals(expectedNewIds.size(), newParentIds.size());
+      assertThat(lookUpThreads).isNotEmpty().allMatch(
+          name -> name.contains("snapshot-diff-object-id-map-thread"));
+    }
+  }
+
+  private static <V> Set<Long> getObjectIds(PersistentMap<byte[], V> map)
+      throws IOException {
+    Set<Long> objectIds = new HashSet<>();
+    try (ClosableIterator<Map.Entry<byte[], V>> iterator = map.iterator()) {
+      while (iterator.hasNext()) {
+        objectIds.add(codecRegistry.asObject(iterator.next().getKey(),
+            Long.class));
+      }
+    }
+    return objectIds;
+  }
+
   @Test
   public void testGenerateDiffReport() throws IOException {
     PersistentMap<byte[], byte[]> oldObjectIdKeyMap =
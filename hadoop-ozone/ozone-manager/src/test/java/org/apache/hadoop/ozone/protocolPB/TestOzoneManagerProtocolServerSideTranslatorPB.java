@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.protocolPB;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ServiceException;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.ProtocolMessageMetrics;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer.RaftServerStatus;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+/**
+ * Tests the follower reads of {@link OzoneManagerProtocolServerSideTranslatorPB}.
+ */
+public class TestOzoneManagerProtocolServerSideTranslatorPB {
+  private final OzoneConfiguration conf = new OzoneConfiguration();
+  private OzoneManager ozoneManager;
+  private OzoneManagerRatisServer ratisServer;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    conf.setBoolean(OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED, true);
+    ozoneManager = mock(OzoneManager.class);
+    when(ozoneManager.getConfiguration()).thenReturn(conf);
+    when(ozoneManager.getMetadataManager()).thenReturn(mock(OMMetadataManager.class));
+    // the key does not exist, so that the read response is simple to build.
+    when(ozoneManager.lookupKey(any())).thenThrow(
+        new OMException("not found", OMException.ResultCodes.KEY_NOT_FOUND));
+
+    ratisServer = mock(OzoneManagerRatisServer.class);
+    when(ratisServer.getLeaderStatus()).thenReturn(RaftServerStatus.NOT_LEADER);
+    when(ratisServer.newOMNotLeaderException()).thenReturn(new OMNotLeaderException("not leader"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private OzoneManagerProtocolServerSideTranslatorPB newTranslator() {
+    return new OzoneManagerProtocolServerSideTranslatorPB(ozoneManager, ratisServer,
+        mock(ProtocolMessageMetrics.class));
+  }
+
+  private static OMRequest newRequest(Type type) {
+    final OMRequest.Builder request = OMRequest.newBuilder()
+        .setCmdType(type)
+        .setClientId("test-client-id");
+    if (type == Type.LookupKey) {
+      request.setLookupKeyRequest(LookupKeyRequest.newBuilder()
+          .setKeyArgs(KeyArgs.newBuilder()
+              .setVolumeName("vol")
+              .setBucketName("bucket")
+              .setKeyName("key")));
+    }
+    return request.build();
+  }
+
+  @Test
+  public void testFollowerReadAfterReadIndex() throws Exception {
+    final OMResponse response = newTranslator().processRequest(newRequest(Type.LookupKey));
+    assertEquals(Status.KEY_NOT_FOUND, response.getStatus());
+
+    final InOrder inOrder = inOrder(ratisServer, ozoneManager);
+    inOrder.verify(ratisServer).waitForReadIndex();
+    inOrder.verify(ozoneManager).lookupKey(any());
+  }
+
+  @Test
+  public void testReadIndexFailure() throws Exception {
+    doThrow(new ServiceException(new OMNotLeaderException("not leader")))
+        .when(ratisServer).waitForReadIndex();
+
+    assertThrows(ServiceException.class, () -> newTranslator().processRequest(newRequest(Type.LookupKey)));
+    verify(ozoneManager, never()).lookupKey(any());
+  }
+
+  @Test
+  public void testFollowerRejectsOtherRequests() throws Exception {
+    doThrow(new OMNotLeaderException("not leader")).when(ozoneManager).checkLeaderStatus();
+    final OzoneManagerProtocolServerSideTranslatorPB translator = newTranslator();
+    // not a key-level read
+    assertThrows(ServiceException.class, () -> translator.processRequest(newRequest(Type.InfoVolume)));
+    // a write
+    assertThrows(ServiceException.class, () -> translator.processRequest(newRequest(Type.CreateKey)));
+    verify(ratisServer, never()).waitForReadIndex();
+  }
+
+  @Test
+  public void testFollowerReadDisabled() throws Exception {
+    conf.setBoolean(OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED, false);
+
+    assertThrows(ServiceException.class, () -> newTranslator().processRequest(newRequest(Type.LookupKey)));
+    verify(ratisServer, never()).waitForReadIndex();
+    verify(ozoneManager, never()).lookupKey(any());
+  }
+}
@@ -112,6 +112,10 @@ public final class  ReconServerConfigKeys {
       "ozone.recon.om.event.buffer.capacity";
   public static final int OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT = 20000;
 
+  public static final String OZONE_RECON_OM_EVENT_BUFFER_OFFER_TIMEOUT =
+      "ozone.recon.om.event.buffer.offer.timeout";
+  public static final String OZONE_RECON_OM_EVENT_BUFFER_OFFER_TIMEOUT_DEFAULT = "1m";
+
   public static final String OZONE_RECON_HTTP_AUTH_CONFIG_PREFIX =
       "ozone.recon.http.auth.";
 
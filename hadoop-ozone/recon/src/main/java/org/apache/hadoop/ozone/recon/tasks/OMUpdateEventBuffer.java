@@ -20,6 +20,7 @@
 import com.google.common.annotations.VisibleForTesting;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,7 +63,36 @@ public boolean offer(OMUpdateEventBatch eventBatch) {
     }
     return added;
   }
-  
+
+  /**
+   * Add an event batch to the buffer, waiting up to the given timeout for space to become available.
+   * This applies back-pressure to the OM sync thread instead of dropping the batch
+   * when the buffer is only temporarily full, e.g. during a burst of OM updates.
+   *
+   * @param eventBatch The event batch to buffer
+   * @param timeoutMs the maximum time to wait in milliseconds; a non-positive value does not wait
+   * @return true if successfully buffered, false if the queue is still full after the timeout
+   * @throws InterruptedException if interrupted while waiting, in which case the batch is neither
+   *         buffered nor counted as dropped
+   */
+  public boolean offer(OMUpdateEventBatch eventBatch, long timeoutMs) throws InterruptedException {
+    if (timeoutMs <= 0) {
+      return offer(eventBatch);
+    }
+    final boolean added = eventQueue.offer(eventBatch, timeoutMs, TimeUnit.MILLISECONDS);
+    if (added) {
+      totalBufferedEvents.addAndGet(eventBatch.getEvents().size());
+      LOG.debug("Buffered event batch with {} events. Queue size: {}, Total buffered events: {}",
+          eventBatch.getEvents().size(), eventQueue.size(), totalBufferedEvents.get());
+    } else {
+      droppedBatches.incrementAndGet();
+      LOG.warn("Event buffer queue is still full (capacity: {}) after waiting {} ms. " +
+              "Dropping event batch with {} events. Total dropped batches: {}",
+          maxCapacity, timeoutMs, eventBatch.getEvents().size(), droppedBatches.get());
+    }
+    return added;
+  }
+
   /**
    * Poll an event batch from the buffer with timeout.
    * 
@@ -71,7 +101,7 @@ public boolean offer(OMUpdateEventBatch eventBatch) {
    */
   public OMUpdateEventBatch poll(long timeoutMs) {
     try {
-      OMUpdateEventBatch batch = eventQueue.poll(timeoutMs, java.util.concurrent.TimeUnit.MILLISECONDS);
+      OMUpdateEventBatch batch = eventQueue.poll(timeoutMs, TimeUnit.MILLISECONDS);
       if (batch != null) {
         totalBufferedEvents.addAndGet(-batch.getEvents().size());
         LOG.debug("Polled event batch with {} events. Queue size: {}, Total buffered events: {}", 
@@ -19,6 +19,8 @@
 
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_CAPACITY;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_OFFER_TIMEOUT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_OFFER_TIMEOUT_DEFAULT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_THREAD_COUNT_DEFAULT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_THREAD_COUNT_KEY;
 
@@ -37,6 +39,7 @@
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
@@ -70,6 +73,8 @@ public class ReconTaskControllerImpl implements ReconTaskController {
   private final int threadCount;
   private final ReconTaskStatusUpdaterManager taskStatusUpdaterManager;
   private final OMUpdateEventBuffer eventBuffer;
+  private final int eventBufferCapacity;
+  private final long eventBufferOfferTimeoutMs;
   private ExecutorService eventProcessingExecutor;
   private final AtomicBoolean deltaTasksFailed = new AtomicBoolean(false);
 
@@ -87,8 +92,10 @@ public ReconTaskControllerImpl(OzoneConfiguration configuration,
     threadCount = configuration.getInt(OZONE_RECON_TASK_THREAD_COUNT_KEY,
         OZONE_RECON_TASK_THREAD_COUNT_DEFAULT);
     this.taskStatusUpdaterManager = taskStatusUpdaterManager;
-    int eventBufferCapacity = configuration.getInt(OZONE_RECON_OM_EVENT_BUFFER_CAPACITY,
+    this.eventBufferCapacity = configuration.getInt(OZONE_RECON_OM_EVENT_BUFFER_CAPACITY,
         OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT);
+    this.eventBufferOfferTimeoutMs = configuration.getTimeDuration(OZONE_RECON_OM_EVENT_BUFFER_OFFER_TIMEOUT,
+        OZONE_RECON_OM_EVENT_BUFFER_OFFER_TIMEOUT_DEFAULT, TimeUnit.MILLISECONDS);
     this.eventBuffer = new OMUpdateEventBuffer(eventBufferCapacity);
     for (ReconOmTask task : tasks) {
       registerTask(task);
@@ -112,17 +119,29 @@ public void registerTask(ReconOmTask task) {
    * @param events set of events
    */
   @Override
-  public synchronized void consumeOMEvents(OMUpdateEventBatch events, OMMetadataManager omMetadataManager) {
+  public void consumeOMEvents(OMUpdateEventBatch events, OMMetadataManager omMetadataManager) {
     if (!events.isEmpty()) {
-      // Always buffer events for async processing
-      boolean buffered = eventBuffer.offer(events);
+      // Always buffer events for async processing.
+      // When the buffer is full, block the OM sync thread (back-pressure) for up to the offer timeout
+      // so that a burst of updates does not force a full snapshot and task reinitialization.
+      // The wait is not synchronized, so that it does not block reInitializeTasks, start and stop.
+      final boolean buffered;
+      try {
+        buffered = eventBuffer.offer(events, eventBufferOfferTimeoutMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.warn("Interrupted while buffering an event batch with {} events.", events.getEvents().size());
+        return;
+      }
       if (!buffered) {
-        LOG.error("Event buffer is full (capacity: {}). Dropping buffered events and signaling full snapshot. " +
-            "Buffer size: {}, Dropped batches: {}", 
-            20000, eventBuffer.getQueueSize(), eventBuffer.getDroppedBatches());
-        
-        // Clear buffer and signal full snapshot requirement
-        eventBuffer.clear();
+        synchronized (this) {
+          LOG.error("Event buffer is full (capacity: {}). Dropping buffered events and signaling full snapshot. " +
+              "Buffer size: {}, Dropped batches: {}",
+              eventBufferCapacity, eventBuffer.getQueueSize(), eventBuffer.getDroppedBatches());
+
+          // Clear buffer and signal full snapshot requirement
+          eventBuffer.clear();
+        }
       } else {
         LOG.debug("Buffered event batch with {} events. Buffer queue size: {}", 
             events.getEvents().size(), eventBuffer.getQueueSize());
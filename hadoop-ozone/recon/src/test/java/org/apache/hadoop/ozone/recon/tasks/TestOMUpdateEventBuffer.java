@@ -19,11 +19,14 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -81,6 +84,57 @@ void testCapacityLimits() {
     assertEquals(1, eventBuffer.getDroppedBatches());
   }
 
+  @Test
+  void testOfferWithTimeoutWaitsForSpace() throws Exception {
+    for (int i = 0; i < TEST_CAPACITY; i++) {
+      List<OMDBUpdateEvent> events = new ArrayList<>();
+      events.add(createTestEvent("test" + i));
+      assertTrue(eventBuffer.offer(new OMUpdateEventBatch(events, i)));
+    }
+
+    // Drain one batch concurrently; the blocked offer should succeed without dropping.
+    CompletableFuture<OMUpdateEventBatch> drained = CompletableFuture.supplyAsync(() -> {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return eventBuffer.poll(100);
+    });
+    List<OMDBUpdateEvent> events = new ArrayList<>();
+    events.add(createTestEvent("backpressure"));
+    assertTrue(eventBuffer.offer(new OMUpdateEventBatch(events, TEST_CAPACITY), 10_000));
+    assertNotNull(drained.get());
+    assertEquals(TEST_CAPACITY, eventBuffer.getQueueSize());
+    assertEquals(0, eventBuffer.getDroppedBatches());
+
+    // Still full: the offer should time out and count a dropped batch.
+    assertFalse(eventBuffer.offer(new OMUpdateEventBatch(events, TEST_CAPACITY + 1), 10));
+    assertEquals(1, eventBuffer.getDroppedBatches());
+  }
+
+  @Test
+  void testInterruptedOfferIsNotDropped() {
+    for (int i = 0; i < TEST_CAPACITY; i++) {
+      List<OMDBUpdateEvent> events = new ArrayList<>();
+      events.add(createTestEvent("test" + i));
+      assertTrue(eventBuffer.offer(new OMUpdateEventBatch(events, i)));
+    }
+
+    List<OMDBUpdateEvent> events = new ArrayList<>();
+    events.add(createTestEvent("interrupted"));
+    Thread.currentThread().interrupt();
+    try {
+      assertThrows(InterruptedException.class,
+          () -> eventBuffer.offer(new OMUpdateEventBatch(events, TEST_CAPACITY), 10_000));
+    } finally {
+      // clear the interrupt flag
+      Thread.interrupted();
+    }
+    assertEquals(TEST_CAPACITY, eventBuffer.getQueueSize());
+    assertEquals(0, eventBuffer.getDroppedBatches());
+  }
+
   @Test
   void testPollTimeout() {
     // Poll from empty buffer should return null after timeout
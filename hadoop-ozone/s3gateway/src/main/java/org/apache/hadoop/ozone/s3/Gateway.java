@@ -34,6 +34,7 @@
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.HddsServerUtil;
 import org.apache.hadoop.ozone.OzoneSecurityUtil;
+import org.apache.hadoop.ozone.audit.AuditLogMetrics;
 import org.apache.hadoop.ozone.s3.metrics.S3GatewayMetrics;
 import org.apache.hadoop.ozone.util.OzoneNetUtils;
 import org.apache.hadoop.ozone.util.OzoneVersionInfo;
@@ -81,6 +82,7 @@ public Void call() throws Exception {
     httpServer = new S3GatewayHttpServer(OzoneConfigurationHolder.configuration(), "s3gateway");
     contentServer = new S3GatewayWebAdminServer(OzoneConfigurationHolder.configuration(), "s3g-web");
     metrics = S3GatewayMetrics.create(OzoneConfigurationHolder.configuration());
+    AuditLogMetrics.acquire();
     start();
 
     ShutdownHookManager.get().addShutdownHook(() -> {
@@ -112,6 +114,7 @@ public void stop() throws Exception {
     contentServer.stop();
     jvmPauseMonitor.stop();
     S3GatewayMetrics.unRegister();
+    AuditLogMetrics.release();
   }
 
   private static void loginS3GUser(OzoneConfiguration conf)
@@ -102,6 +102,26 @@ public final class S3GatewayConfigKeys {
   public static final String OZONE_S3G_LIST_MAX_KEYS_LIMIT = "ozone.s3g.list.max.keys.limit";
   public static final int OZONE_S3G_LIST_MAX_KEYS_LIMIT_DEFAULT = 1000;
 
+  // S3 HeadObject metadata cache
+  public static final String OZONE_S3G_KEY_METADATA_CACHE_ENABLED = "ozone.s3g.key.metadata.cache.enabled";
+  public static final boolean OZONE_S3G_KEY_METADATA_CACHE_ENABLED_DEFAULT = false;
+  public static final String OZONE_S3G_KEY_METADATA_CACHE_SIZE = "ozone.s3g.key.metadata.cache.size";
+  public static final long OZONE_S3G_KEY_METADATA_CACHE_SIZE_DEFAULT = 100_000;
+  public static final String OZONE_S3G_KEY_METADATA_CACHE_TTL = "ozone.s3g.key.metadata.cache.ttl";
+  public static final String OZONE_S3G_KEY_METADATA_CACHE_TTL_DEFAULT = "5s";
+
+  // Parallel multipart upload of large PutObject requests
+  public static final String OZONE_S3G_PARALLEL_PUT_ENABLED = "ozone.s3g.parallel.put.enabled";
+  public static final boolean OZONE_S3G_PARALLEL_PUT_ENABLED_DEFAULT = false;
+  public static final String OZONE_S3G_PARALLEL_PUT_THRESHOLD = "ozone.s3g.parallel.put.threshold";
+  public static final String OZONE_S3G_PARALLEL_PUT_THRESHOLD_DEFAULT = "1GB";
+  public static final String OZONE_S3G_PARALLEL_PUT_PART_SIZE = "ozone.s3g.parallel.put.part.size";
+  public static final String OZONE_S3G_PARALLEL_PUT_PART_SIZE_DEFAULT = "64MB";
+  public static final String OZONE_S3G_PARALLEL_PUT_BUFFER_SIZE = "ozone.s3g.parallel.put.buffer.size";
+  public static final String OZONE_S3G_PARALLEL_PUT_BUFFER_SIZE_DEFAULT = "1GB";
+  public static final String OZONE_S3G_PARALLEL_PUT_THREADS = "ozone.s3g.parallel.put.threads";
+  public static final int OZONE_S3G_PARALLEL_PUT_THREADS_DEFAULT = 16;
+
   /**
    * Never constructed.
    */
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.s3;
+
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_KEY_METADATA_CACHE_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_KEY_METADATA_CACHE_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_KEY_METADATA_CACHE_SIZE;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_KEY_METADATA_CACHE_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_KEY_METADATA_CACHE_TTL;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_KEY_METADATA_CACHE_TTL_DEFAULT;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.OzoneSecurityUtil;
+import org.apache.hadoop.ozone.client.OzoneKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of S3 object metadata ({@link OzoneKey}) used by HeadObject,
+ * so that repeatedly HEAD-ing the same objects does not call OM every time.
+ * <p>
+ * Consistency:
+ * entries expire after a short TTL (a lease),
+ * and writes going through this gateway invalidate the entry of the written key.
+ * Writes from other gateways or clients are visible after the TTL.
+ * <p>
+ * A lookup racing with a write may get the metadata before the write.
+ * In order not to cache such stale metadata,
+ * each invalidation increments a generation, striped by (bucket, key).
+ * A lookup gets the generation before calling OM
+ * and its result is cached only if the generation is unchanged.
+ * <p>
+ * The entries are per access id, since the result of a lookup depends on the ACLs of the requester.
+ * The cache is disabled when security is enabled,
+ * since OM has to verify the signature of each request.
+ */
+@Singleton
+public class S3KeyMetadataCache {
+  private static final Logger LOG = LoggerFactory.getLogger(S3KeyMetadataCache.class);
+  private static final int NUM_GENERATION_STRIPES = 1024;
+
+  private final boolean enabled;
+  /** (bucket, key) -> (access id -> {@link OzoneKey}). */
+  private final Cache<BucketKey, Map<String, OzoneKey>> cache;
+  /** The invalidation generations, striped by {@link BucketKey}. */
+  private final AtomicLongArray generations = new AtomicLongArray(NUM_GENERATION_STRIPES);
+
+  @Inject
+  public S3KeyMetadataCache(OzoneConfiguration conf) {
+    final boolean configured = conf.getBoolean(OZONE_S3G_KEY_METADATA_CACHE_ENABLED,
+        OZONE_S3G_KEY_METADATA_CACHE_ENABLED_DEFAULT);
+    if (configured && OzoneSecurityUtil.isSecurityEnabled(conf)) {
+      LOG.warn("{} is ignored since security is enabled.", OZONE_S3G_KEY_METADATA_CACHE_ENABLED);
+      enabled = false;
+    } else {
+      enabled = configured;
+    }
+
+    final long size = conf.getLong(OZONE_S3G_KEY_METADATA_CACHE_SIZE, OZONE_S3G_KEY_METADATA_CACHE_SIZE_DEFAULT);
+    final long ttlMs = conf.getTimeDuration(OZONE_S3G_KEY_METADATA_CACHE_TTL,
+        OZONE_S3G_KEY_METADATA_CACHE_TTL_DEFAULT, TimeUnit.MILLISECONDS);
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(enabled ? size : 0)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+        .build();
+    LOG.info("S3 key metadata cache: enabled={}, size={}, ttl={}ms", enabled, size, ttlMs);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** @return the cached metadata, or null if it is not in the cache. */
+  public OzoneKey get(String accessId, String bucketName, String keyName) {
+    if (!enabled) {
+      return null;
+    }
+    final Map<String, OzoneKey> perUser = cache.getIfPresent(new BucketKey(bucketName, keyName));
+    return perUser == null ? null : perUser.get(accessId);
+  }
+
+  private static int stripe(BucketKey bucketKey) {
+    return Math.floorMod(bucketKey.hashCode(), NUM_GENERATION_STRIPES);
+  }
+
+  /** @return the invalidation generation of the given key, to be passed to {@link #put}. */
+  public long getGeneration(String bucketName, String keyName) {
+    return enabled ? generations.get(stripe(new BucketKey(bucketName, keyName))) : 0;
+  }
+
+  /**
+   * Cache the metadata looked up from OM,
+   * unless the key has been invalidated since the given generation.
+   *
+   * @param generation the {@link #getGeneration} before the lookup.
+   */
+  public void put(String accessId, String bucketName, String keyName, OzoneKey key, long generation) {
+    if (!enabled || accessId == null) {
+      return;
+    }
+    final BucketKey bucketKey = new BucketKey(bucketName, keyName);
+    final int stripe = stripe(bucketKey);
+    if (generations.get(stripe) != generation) {
+      return;
+    }
+    final Map<String, OzoneKey> perUser = cache.asMap().computeIfAbsent(
+        bucketKey, k -> new ConcurrentHashMap<>());
+    perUser.put(accessId, key);
+    if (generations.get(stripe) != generation) {
+      // invalidated concurrently: the metadata may be stale
+      perUser.remove(accessId, key);
+    }
+  }
+
+  /** Invalidate the given key for all users. */
+  public void invalidate(String bucketName, String keyName) {
+    if (enabled) {
+      final BucketKey bucketKey = new BucketKey(bucketName, keyName);
+      generations.incrementAndGet(stripe(bucketKey));
+      cache.invalidate(bucketKey);
+    }
+  }
+
+  /** Invalidate all the keys in the given bucket. */
+  public void invalidateBucket(String bucketName) {
+    if (enabled) {
+      for (int i = 0; i < NUM_GENERATION_STRIPES; i++) {
+        generations.incrementAndGet(i);
+      }
+      cache.asMap().keySet().removeIf(k -> k.bucketName.equals(bucketName));
+    }
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  /** The cache key: bucket name and key name. */
+  private static final class BucketKey {
+    private final String bucketName;
+    private final String keyName;
+
+    BucketKey(String bucketName, String keyName) {
+      this.bucketName = Objects.requireNonNull(bucketName, "bucketName == null");
+      this.keyName = Objects.requireNonNull(keyName, "keyName == null");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      } else if (!(obj instanceof BucketKey)) {
+        return false;
+      }
+      final BucketKey that = (BucketKey) obj;
+      return bucketName.equals(that.bucketName) && keyName.equals(that.keyName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(bucketName, keyName);
+    }
+  }
+}
@@ -450,6 +450,7 @@ public Response delete(@PathParam("bucket") String bucketName)
         S3Owner.verifyBucketOwnerCondition(headers, bucketName, bucket.getOwner());
       }
       deleteS3Bucket(bucketName);
+      invalidateBucketKeyMetadata(bucketName);
     } catch (OMException ex) {
       AUDIT.logWriteFailure(
           buildAuditMessageForFailure(s3GAction, getAuditParameters(), ex));
@@ -505,6 +506,9 @@ public MultiDeleteResponse multiDelete(@PathParam("bucket") String bucketName,
       try {
         S3Owner.verifyBucketOwnerCondition(headers, bucketName, bucket.getOwner());
         undeletedKeyResultMap = bucket.deleteKeys(deleteKeys, true);
+        for (String key : deleteKeys) {
+          invalidateKeyMetadata(bucketName, key);
+        }
         for (DeleteObject d : request.getObjects()) {
           ErrorInfo error = undeletedKeyResultMap.get(d.getKey());
           boolean deleted = error == null ||
@@ -69,6 +69,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.protocol.S3Auth;
 import org.apache.hadoop.ozone.s3.RequestIdentifier;
+import org.apache.hadoop.ozone.s3.S3KeyMetadataCache;
 import org.apache.hadoop.ozone.s3.exception.OS3Exception;
 import org.apache.hadoop.ozone.s3.exception.S3ErrorTable;
 import org.apache.hadoop.ozone.s3.metrics.S3GatewayMetrics;
@@ -93,6 +94,8 @@ public abstract class EndpointBase implements Auditor {
   private SignatureInfo signatureInfo;
   @Inject
   private RequestIdentifier requestIdentifier;
+  @Inject
+  private S3KeyMetadataCache keyMetadataCache;
 
   private S3Auth s3Auth;
   @Context
@@ -505,6 +508,44 @@ public OzoneClient getClient() {
     return client;
   }
 
+  @VisibleForTesting
+  public void setKeyMetadataCache(S3KeyMetadataCache keyMetadataCache) {
+    this.keyMetadataCache = keyMetadataCache;
+  }
+
+  /** @return the cached key metadata for the current user, or null if it is not cached. */
+  protected OzoneKey getCachedKeyMetadata(String bucketName, String keyName) {
+    return keyMetadataCache == null || s3Auth == null ? null
+        : keyMetadataCache.get(s3Auth.getAccessID(), bucketName, keyName);
+  }
+
+  /** @return the generation of the cached key metadata, to be passed to {@link #cacheKeyMetadata}. */
+  protected long getKeyMetadataGeneration(String bucketName, String keyName) {
+    return keyMetadataCache == null ? 0 : keyMetadataCache.getGeneration(bucketName, keyName);
+  }
+
+  /**
+   * Cache the key metadata looked up from OM for the current user.
+   * @param generation the {@link #getKeyMetadataGeneration} before the lookup.
+   */
+  protected void cacheKeyMetadata(String bucketName, String keyName, OzoneKey key, long generation) {
+    if (keyMetadataCache != null && s3Auth != null) {
+      keyMetadataCache.put(s3Auth.getAccessID(), bucketName, keyName, key, generation);
+    }
+  }
+
+  protected void invalidateKeyMetadata(String bucketName, String keyName) {
+    if (keyMetadataCache != null) {
+      keyMetadataCache.invalidate(bucketName, keyName);
+    }
+  }
+
+  protected void invalidateBucketKeyMetadata(String bucketName) {
+    if (keyMetadataCache != null) {
+      keyMetadataCache.invalidateBucket(bucketName);
+    }
+  }
+
   protected ClientProtocol getClientProtocol() {
     return getClient().getProxy();
   }
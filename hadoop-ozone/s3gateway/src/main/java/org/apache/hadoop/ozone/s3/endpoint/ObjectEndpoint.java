@@ -184,6 +184,9 @@ public class ObjectEndpoint extends EndpointBase {
   @Inject
   private OzoneConfiguration ozoneConfiguration;
 
+  @Inject
+  private ObjectEndpointParallelPut parallelPut;
+
   public ObjectEndpoint() {
     overrideQueryParameter = ImmutableMap.<String, String>builder()
         .put("Content-Type", "response-content-type")
@@ -321,7 +324,13 @@ public Response put(
 
       long putLength;
       String eTag = null;
-      if (datastreamEnabled && !enableEC && length > datastreamMinLength) {
+      if (parallelPut != null && parallelPut.isApplicable(length)) {
+        Pair<String, Long> keyWriteResult = parallelPut.put(getClientProtocol(),
+            bucket, keyPath, length, replicationConfig, customMetadata, tags,
+            digestInputStream, perf);
+        eTag = keyWriteResult.getKey();
+        putLength = keyWriteResult.getValue();
+      } else if (datastreamEnabled && !enableEC && length > datastreamMinLength) {
         perf.appendStreamMode();
         Pair<String, Long> keyWriteResult = ObjectEndpointStreaming
             .put(bucket, keyPath, length, replicationConfig, chunkSize,
@@ -391,6 +400,7 @@ public Response put(
       }
       throw ex;
     } finally {
+      invalidateKeyMetadata(bucketName, keyPath);
       // Reset the thread-local message digest instance in case of exception
       // and MessageDigest#digest is never called
       if (digestInputStream != null) {
@@ -629,7 +639,7 @@ public Response head(
         OzoneBucket bucket = getBucket(bucketName);
         S3Owner.verifyBucketOwnerCondition(headers, bucketName, bucket.getOwner());
       }
-      key = getClientProtocol().headS3Object(bucketName, keyPath);
+      key = headS3Object(bucketName, keyPath);
 
       isFile(keyPath, key);
       // TODO: return the specified range bytes of this object.
@@ -765,6 +775,7 @@ public Response delete(
       }
       getClientProtocol().deleteKey(volume.getName(), bucketName,
           keyPath, false);
+      invalidateKeyMetadata(bucketName, keyPath);
     } catch (OMException ex) {
       AUDIT.logWriteFailure(
           buildAuditMessageForFailure(s3GAction, getAuditParameters(), ex));
@@ -811,6 +822,20 @@ public Response delete(
         .build();
   }
 
+  /** Look up the object metadata from the key metadata cache, or from OM on a cache miss. */
+  private OzoneKey headS3Object(String bucketName, String keyPath) throws IOException {
+    final OzoneKey cached = getCachedKeyMetadata(bucketName, keyPath);
+    if (cached != null) {
+      getMetrics().incHeadKeyCacheHit();
+      return cached;
+    }
+    final long generation = getKeyMetadataGeneration(bucketName, keyPath);
+    final OzoneKey key = getClientProtocol().headS3Object(bucketName, keyPath);
+    getMetrics().incHeadKeyCacheMiss();
+    cacheKeyMetadata(bucketName, keyPath, key, generation);
+    return key;
+  }
+
   /**
    * Initialize MultiPartUpload request.
    * <p>
@@ -912,6 +937,7 @@ public Response completeMultipartUpload(@PathParam("bucket") String bucket,
       }
 
       omMultipartUploadCompleteInfo = ozoneBucket.completeMultipartUpload(key, uploadID, partsMap);
+      invalidateKeyMetadata(bucket, key);
       CompleteMultipartUploadResponse completeMultipartUploadResponse =
           new CompleteMultipartUploadResponse();
       completeMultipartUploadResponse.setBucket(bucket);
@@ -1495,6 +1521,7 @@ private Response deleteObjectTagging(OzoneVolume volume, String bucketName, Stri
 
     try {
       volume.getBucket(bucketName).deleteObjectTagging(keyName);
+      invalidateKeyMetadata(bucketName, keyName);
     } catch (OMException ex) {
       // Unlike normal key deletion that ignores the key not found exception
       // DeleteObjectTagging should throw the exception if the key does not exist
@@ -1513,6 +1540,11 @@ public void setOzoneConfiguration(OzoneConfiguration config) {
     this.ozoneConfiguration = config;
   }
 
+  @VisibleForTesting
+  public void setParallelPut(ObjectEndpointParallelPut parallelPut) {
+    this.parallelPut = parallelPut;
+  }
+
   @VisibleForTesting
   public boolean isDatastreamEnabled() {
     return datastreamEnabled;
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.s3.endpoint;
+
+import static org.apache.hadoop.ozone.OzoneConsts.ETAG;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_BUFFER_SIZE;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_BUFFER_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_PART_SIZE;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_PART_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_THREADS;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_THREADS_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_THRESHOLD;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_THRESHOLD_DEFAULT;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.xml.bind.DatatypeConverter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.audit.AuditLogger.PerformanceStringBuilder;
+import org.apache.hadoop.ozone.client.OzoneBucket;
+import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
+import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
+import org.apache.hadoop.ozone.om.protocol.S3Auth;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Upload a large PutObject body as multipart upload parts written concurrently,
+ * so that a single key is written through multiple pipelines in parallel.
+ * The parts are committed atomically as one key by completing the multipart upload.
+ * <p>
+ * The memory is bounded by {@link #bufferSize} across all the concurrent uploads in this gateway:
+ * each part is buffered in memory until it is written.
+ * <p>
+ * Note that the ETag of the resulting key is a multipart ETag,
+ * i.e. the hash of the part ETags suffixed by the number of parts.
+ */
+@Singleton
+public class ObjectEndpointParallelPut {
+  private static final Logger LOG = LoggerFactory.getLogger(ObjectEndpointParallelPut.class);
+
+  private final boolean enabled;
+  private final long threshold;
+  private final int partSize;
+  private final long bufferSize;
+  /** The number of parts which can be buffered; each permit is a part buffer. */
+  private final Semaphore partBuffers;
+  private final ExecutorService executor;
+
+  @Inject
+  public ObjectEndpointParallelPut(OzoneConfiguration conf) {
+    this.enabled = conf.getBoolean(OZONE_S3G_PARALLEL_PUT_ENABLED, OZONE_S3G_PARALLEL_PUT_ENABLED_DEFAULT);
+    this.threshold = (long) conf.getStorageSize(OZONE_S3G_PARALLEL_PUT_THRESHOLD,
+        OZONE_S3G_PARALLEL_PUT_THRESHOLD_DEFAULT, StorageUnit.BYTES);
+    this.partSize = (int) conf.getStorageSize(OZONE_S3G_PARALLEL_PUT_PART_SIZE,
+        OZONE_S3G_PARALLEL_PUT_PART_SIZE_DEFAULT, StorageUnit.BYTES);
+    this.bufferSize = (long) conf.getStorageSize(OZONE_S3G_PARALLEL_PUT_BUFFER_SIZE,
+        OZONE_S3G_PARALLEL_PUT_BUFFER_SIZE_DEFAULT, StorageUnit.BYTES);
+    final int threads = conf.getInt(OZONE_S3G_PARALLEL_PUT_THREADS, OZONE_S3G_PARALLEL_PUT_THREADS_DEFAULT);
+
+    if (enabled) {
+      if (partSize < OzoneConsts.OM_MULTIPART_MIN_SIZE) {
+        throw new IllegalArgumentException(OZONE_S3G_PARALLEL_PUT_PART_SIZE + " = " + partSize
+            + " is smaller than the minimum multipart upload part size " + OzoneConsts.OM_MULTIPART_MIN_SIZE);
+      }
+      if (bufferSize < partSize) {
+        throw new IllegalArgumentException(OZONE_S3G_PARALLEL_PUT_BUFFER_SIZE + " = " + bufferSize
+            + " is smaller than " + OZONE_S3G_PARALLEL_PUT_PART_SIZE + " = " + partSize);
+      }
+    }
+    this.partBuffers = new Semaphore(Math.toIntExact(Math.max(1, bufferSize / partSize)));
+    this.executor = enabled ? Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setNameFormat("S3GParallelPut-%d").setDaemon(true).build())
+        : null;
+    LOG.info("Parallel put: enabled={}, threshold={}, partSize={}, bufferSize={}, threads={}",
+        enabled, threshold, partSize, bufferSize, threads);
+  }
+
+  /** @return true iff a body of the given length should be uploaded in parallel parts. */
+  boolean isApplicable(long length) {
+    return enabled && length >= threshold && length > partSize;
+  }
+
+  /**
+   * Upload the body as parts of a multipart upload concurrently and then complete the upload.
+   * The multipart upload is aborted on failure.
+   *
+   * @return the ETag and the length of the key.
+   */
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  Pair<String, Long> put(ClientProtocol client, OzoneBucket bucket, String keyPath, long length,
+      ReplicationConfig replicationConfig, Map<String, String> metadata, Map<String, String> tags,
+      InputStream body, PerformanceStringBuilder perf) throws IOException {
+    final long startNanos = Time.monotonicNowNanos();
+    final String uploadID = bucket.initiateMultipartUpload(keyPath, replicationConfig, metadata, tags)
+        .getUploadID();
+    perf.appendMetaLatencyNanos(Time.monotonicNowNanos() - startNanos);
+    final S3Auth s3Auth = client.getThreadLocalS3Auth();
+
+    final List<CompletableFuture<Pair<Integer, String>>> futures = new ArrayList<>();
+    boolean completed = false;
+    try {
+      long offset = 0;
+      for (int partNumber = 1; offset < length; partNumber++) {
+        final int size = Math.toIntExact(Math.min(partSize, length - offset));
+        acquirePartBuffer();
+        final byte[] buffer;
+        try {
+          buffer = new byte[size];
+          IOUtils.readFully(body, buffer);
+        } catch (IOException | RuntimeException e) {
+          partBuffers.release();
+          throw e;
+        }
+        offset += size;
+
+        final int n = partNumber;
+        futures.add(CompletableFuture.supplyAsync(
+            () -> writePart(client, s3Auth, bucket, keyPath, uploadID, n, buffer), executor));
+        checkFailure(futures);
+      }
+
+      final Map<Integer, String> partsMap = new TreeMap<>();
+      for (CompletableFuture<Pair<Integer, String>> f : futures) {
+        final Pair<Integer, String> part = join(f);
+        partsMap.put(part.getKey(), part.getValue());
+      }
+      final OmMultipartUploadCompleteInfo info = bucket.completeMultipartUpload(keyPath, uploadID, partsMap);
+      completed = true;
+      LOG.debug("Uploaded {} with {} parts in parallel, uploadID={}", keyPath, partsMap.size(), uploadID);
+      return Pair.of(info.getHash(), offset);
+    } finally {
+      if (!completed) {
+        abort(bucket, keyPath, uploadID, futures);
+      }
+    }
+  }
+
+  private Pair<Integer, String> writePart(ClientProtocol client, S3Auth s3Auth, OzoneBucket bucket,
+      String keyPath, String uploadID, int partNumber, byte[] buffer) {
+    if (s3Auth != null) {
+      client.setThreadLocalS3Auth(s3Auth);
+    }
+    try {
+      final OzoneOutputStream out = bucket.createMultipartKey(keyPath, buffer.length, partNumber, uploadID);
+      try {
+        out.write(buffer);
+        out.getMetadata().put(ETAG, md5Hex(buffer));
+      } finally {
+        out.close();
+      }
+      final OmMultipartCommitUploadPartInfo commitInfo = out.getCommitUploadPartInfo();
+      final String eTag = commitInfo.getETag() != null && !commitInfo.getETag().isEmpty()
+          ? commitInfo.getETag() : commitInfo.getPartName();
+      return Pair.of(partNumber, eTag);
+    } catch (IOException e) {
+      throw new CompletionException(e);
+    } finally {
+      partBuffers.release();
+      if (s3Auth != null) {
+        client.clearThreadLocalS3Auth();
+      }
+    }
+  }
+
+  private void acquirePartBuffer() throws InterruptedIOException {
+    try {
+      partBuffers.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a part buffer");
+    }
+  }
+
+  /** Fail fast if any part has already failed. */
+  private static void checkFailure(List<CompletableFuture<Pair<Integer, String>>> futures) throws IOException {
+    for (CompletableFuture<Pair<Integer, String>> f : futures) {
+      if (f.isCompletedExceptionally()) {
+        join(f);
+      }
+    }
+  }
+
+  private static <T> T join(CompletableFuture<T> future) throws IOException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("Failed to upload part", cause);
+    }
+  }
+
+  private static void abort(OzoneBucket bucket, String keyPath, String uploadID,
+      List<CompletableFuture<Pair<Integer, String>>> futures) {
+    // wait for the in-flight parts before aborting
+    for (CompletableFuture<Pair<Integer, String>> f : futures) {
+      try {
+        f.join();
+      } catch (RuntimeException ignored) {
+        // already handled
+      }
+    }
+    try {
+      bucket.abortMultipartUpload(keyPath, uploadID);
+    } catch (IOException e) {
+      LOG.warn("Failed to abort multipart upload {} for {}", uploadID, keyPath, e);
+    }
+  }
+
+  private static String md5Hex(byte[] buffer) throws IOException {
+    try {
+      final MessageDigest md5 = MessageDigest.getInstance("MD5");
+      return DatatypeConverter.printHexBinary(md5.digest(buffer)).toLowerCase();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @PreDestroy
+  public void cleanup() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -82,6 +82,8 @@ public final class S3GatewayMetrics implements Closeable, MetricsSource {
   private @Metric MutableCounterLong getKeyFailure;
   private @Metric MutableCounterLong headKeySuccess;
   private @Metric MutableCounterLong headKeyFailure;
+  private @Metric MutableCounterLong headKeyCacheHit;
+  private @Metric MutableCounterLong headKeyCacheMiss;
   private @Metric MutableCounterLong initMultipartUploadSuccess;
   private @Metric MutableCounterLong initMultipartUploadFailure;
   private @Metric MutableCounterLong completeMultipartUploadSuccess;
@@ -384,6 +386,8 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     headKeySuccessLatencyNs.snapshot(recordBuilder, true);
     headKeyFailure.snapshot(recordBuilder, true);
     headKeyFailureLatencyNs.snapshot(recordBuilder, true);
+    headKeyCacheHit.snapshot(recordBuilder, true);
+    headKeyCacheMiss.snapshot(recordBuilder, true);
     initMultipartUploadSuccess.snapshot(recordBuilder, true);
     initMultipartUploadSuccessLatencyNs.snapshot(recordBuilder, true);
     initMultipartUploadFailure.snapshot(recordBuilder, true);
@@ -567,6 +571,14 @@ public void updateHeadKeySuccessStats(long startNanos) {
     headKeySuccessLatencyNs.add(Time.monotonicNowNanos() - startNanos);
   }
 
+  public void incHeadKeyCacheHit() {
+    headKeyCacheHit.incr();
+  }
+
+  public void incHeadKeyCacheMiss() {
+    headKeyCacheMiss.incr();
+  }
+
   public void updateHeadKeyFailureStats(long startNanos) {
     headKeyFailure.incr();
     headKeyFailureLatencyNs.add(Time.monotonicNowNanos() - startNanos);
@@ -695,6 +707,14 @@ public long getHeadKeySuccess() {
     return headKeySuccess.value();
   }
 
+  public long getHeadKeyCacheHit() {
+    return headKeyCacheHit.value();
+  }
+
+  public long getHeadKeyCacheMiss() {
+    return headKeyCacheMiss.value();
+  }
+
   public long getGetBucketSuccess() {
     return getBucketSuccess.value();
   }
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.s3;
+
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_KEY_METADATA_CACHE_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_KEY_METADATA_CACHE_TTL;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.client.OzoneKey;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link S3KeyMetadataCache}.
+ */
+public class TestS3KeyMetadataCache {
+
+  private static S3KeyMetadataCache newCache(boolean enabled) {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_S3G_KEY_METADATA_CACHE_ENABLED, enabled);
+    conf.set(OZONE_S3G_KEY_METADATA_CACHE_TTL, "1h");
+    return new S3KeyMetadataCache(conf);
+  }
+
+  private static void put(S3KeyMetadataCache cache, String accessId, String bucket, String key, OzoneKey value) {
+    cache.put(accessId, bucket, key, value, cache.getGeneration(bucket, key));
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    S3KeyMetadataCache cache = newCache(false);
+    assertFalse(cache.isEnabled());
+    put(cache, "user", "b1", "k1", mock(OzoneKey.class));
+    assertNull(cache.get("user", "b1", "k1"));
+  }
+
+  @Test
+  public void testPerUserEntries() {
+    S3KeyMetadataCache cache = newCache(true);
+    assertTrue(cache.isEnabled());
+    OzoneKey key = mock(OzoneKey.class);
+    put(cache, "user1", "b1", "k1", key);
+
+    assertSame(key, cache.get("user1", "b1", "k1"));
+    assertNull(cache.get("user2", "b1", "k1"));
+    assertNull(cache.get("user1", "b1", "k2"));
+    assertNull(cache.get("user1", "b2", "k1"));
+  }
+
+  @Test
+  public void testInvalidate() {
+    S3KeyMetadataCache cache = newCache(true);
+    put(cache, "user1", "b1", "k1", mock(OzoneKey.class));
+    put(cache, "user2", "b1", "k1", mock(OzoneKey.class));
+    put(cache, "user1", "b1", "k2", mock(OzoneKey.class));
+    put(cache, "user1", "b2", "k1", mock(OzoneKey.class));
+
+    cache.invalidate("b1", "k1");
+    assertNull(cache.get("user1", "b1", "k1"));
+    assertNull(cache.get("user2", "b1", "k1"));
+    assertNotNull(cache.get("user1", "b1", "k2"));
+
+    cache.invalidateBucket("b1");
+    assertNull(cache.get("user1", "b1", "k2"));
+    assertNotNull(cache.get("user1", "b2", "k1"));
+  }
+
+  @Test
+  public void testLookupRacingWithWrite() {
+    S3KeyMetadataCache cache = newCache(true);
+    // a lookup gets the generation and then the metadata from OM ...
+    long generation = cache.getGeneration("b1", "k1");
+    // ... while a write commits and invalidates the key.
+    cache.invalidate("b1", "k1");
+    cache.put("user1", "b1", "k1", mock(OzoneKey.class), generation);
+    assertNull(cache.get("user1", "b1", "k1"));
+
+    generation = cache.getGeneration("b1", "k1");
+    cache.invalidateBucket("b1");
+    cache.put("user1", "b1", "k1", mock(OzoneKey.class), generation);
+    assertNull(cache.get("user1", "b1", "k1"));
+
+    // a lookup after the write
+    OzoneKey key = mock(OzoneKey.class);
+    put(cache, "user1", "b1", "k1", key);
+    assertSame(key, cache.get("user1", "b1", "k1"));
+  }
+}
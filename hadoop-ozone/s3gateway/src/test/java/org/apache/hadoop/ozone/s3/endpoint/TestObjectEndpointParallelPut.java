@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.s3.endpoint;
+
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_BUFFER_SIZE;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_PART_SIZE;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_THREADS;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PARALLEL_PUT_THRESHOLD;
+import static org.apache.hadoop.ozone.s3.util.S3Consts.X_AMZ_CONTENT_SHA256;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.client.OzoneBucket;
+import org.apache.hadoop.ozone.client.OzoneClient;
+import org.apache.hadoop.ozone.client.OzoneClientStub;
+import org.apache.hadoop.ozone.s3.exception.OS3Exception;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link ObjectEndpointParallelPut}.
+ */
+class TestObjectEndpointParallelPut {
+  private static final String BUCKET_NAME = "b1";
+  private static final String KEY_NAME = "key1";
+  private static final int PART_SIZE = OzoneConsts.OM_MULTIPART_MIN_SIZE;
+
+  private OzoneBucket bucket;
+  private ObjectEndpoint objectEndpoint;
+  private ObjectEndpointParallelPut parallelPut;
+
+  @BeforeEach
+  void setup() throws IOException {
+    OzoneConfiguration config = new OzoneConfiguration();
+    config.setBoolean(OZONE_S3G_PARALLEL_PUT_ENABLED, true);
+    config.set(OZONE_S3G_PARALLEL_PUT_THRESHOLD, PART_SIZE + "B");
+    config.set(OZONE_S3G_PARALLEL_PUT_PART_SIZE, PART_SIZE + "B");
+    config.set(OZONE_S3G_PARALLEL_PUT_BUFFER_SIZE, 2 * PART_SIZE + "B");
+    // the bucket stub is not thread-safe
+    config.setInt(OZONE_S3G_PARALLEL_PUT_THREADS, 1);
+    parallelPut = new ObjectEndpointParallelPut(config);
+
+    OzoneClient clientStub = new OzoneClientStub();
+    clientStub.getObjectStore().createS3Bucket(BUCKET_NAME);
+    bucket = clientStub.getObjectStore().getS3Bucket(BUCKET_NAME);
+
+    HttpHeaders headers = mock(HttpHeaders.class);
+    when(headers.getHeaderString(X_AMZ_CONTENT_SHA256)).thenReturn("mockSignature");
+
+    objectEndpoint = EndpointBuilder.newObjectEndpointBuilder()
+        .setClient(clientStub)
+        .setConfig(config)
+        .setHeaders(headers)
+        .build();
+    objectEndpoint.setParallelPut(parallelPut);
+  }
+
+  @AfterEach
+  void cleanup() {
+    parallelPut.cleanup();
+  }
+
+  @Test
+  void testIsApplicable() {
+    assertFalse(parallelPut.isApplicable(0));
+    assertFalse(parallelPut.isApplicable(PART_SIZE - 1));
+    assertFalse(parallelPut.isApplicable(PART_SIZE));
+    assertTrue(parallelPut.isApplicable(PART_SIZE + 1));
+
+    ObjectEndpointParallelPut disabled = new ObjectEndpointParallelPut(new OzoneConfiguration());
+    assertFalse(disabled.isApplicable(Long.MAX_VALUE));
+  }
+
+  @Test
+  void testInvalidPartSize() {
+    OzoneConfiguration config = new OzoneConfiguration();
+    config.setBoolean(OZONE_S3G_PARALLEL_PUT_ENABLED, true);
+    config.set(OZONE_S3G_PARALLEL_PUT_PART_SIZE, "1MB");
+    assertThrows(IllegalArgumentException.class, () -> new ObjectEndpointParallelPut(config));
+  }
+
+  @Test
+  void testPutInParts() throws IOException, OS3Exception {
+    // more parts than part buffers, and a partial last part
+    final byte[] content = new byte[3 * PART_SIZE + 1000];
+    ThreadLocalRandom.current().nextBytes(content);
+
+    Response response = objectEndpoint.put(BUCKET_NAME, KEY_NAME, content.length, 1, null, null, null,
+        new ByteArrayInputStream(content));
+    assertEquals(200, response.getStatus());
+
+    try (InputStream input = bucket.readKey(KEY_NAME)) {
+      assertArrayEquals(content, IOUtils.toByteArray(input));
+    }
+    assertEquals(content.length, bucket.getKey(KEY_NAME).getDataSize());
+  }
+}